@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.sat4j.computation.CompactYASA;
+import de.featjar.analysis.sat4j.computation.ComputeCoreDeadMIG;
+import de.featjar.analysis.sat4j.computation.ComputeCoreSAT4J;
+import de.featjar.analysis.sat4j.computation.YASA;
+import de.featjar.analysis.sat4j.computation.YASALegacy;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks complete analyses, i.e., core and dead variable detection and
+ * t-wise sampling with the different YASA implementations. YASA is measured
+ * with a single solver and with several solvers in parallel.
+ *
+ * @author Sebastian Krieter
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AnalysisBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SamplingParameters {
+
+        @Param({"2"})
+        public int t;
+    }
+
+    @State(Scope.Benchmark)
+    public static class ThreadParameters {
+
+        @Param({"1", "4"})
+        public int threads;
+    }
+
+    @Benchmark
+    public BooleanAssignmentList coreSAT4J(CNFState cnf) {
+        return Computations.of(cnf.clauses).map(ComputeCoreSAT4J::new).compute();
+    }
+
+    @Benchmark
+    public BooleanAssignment coreDeadMIG(CNFState cnf) {
+        return Computations.of(cnf.clauses).map(ComputeCoreDeadMIG::new).compute();
+    }
+
+    @Benchmark
+    public BooleanAssignmentList yasa(CNFState cnf, SamplingParameters parameters, ThreadParameters threads) {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(cnf.clauses);
+        return clauses.map(YASA::new)
+                .set(
+                        YASA.COMBINATION_SET,
+                        clauses.map(VariableCombinationSpecificationComputation::new)
+                                .set(VariableCombinationSpecificationComputation.T, parameters.t))
+                .set(YASA.THREADS, threads.threads)
+                .compute();
+    }
+
+    @Benchmark
+    public BooleanAssignmentList compactYASA(CNFState cnf, SamplingParameters parameters) {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(cnf.clauses);
+        return clauses.map(CompactYASA::new)
+                .set(
+                        CompactYASA.COMBINATION_SET,
+                        clauses.map(VariableCombinationSpecificationComputation::new)
+                                .set(VariableCombinationSpecificationComputation.T, parameters.t))
+                .compute();
+    }
+
+    @Benchmark
+    public BooleanAssignmentList legacyYASA(CNFState cnf, SamplingParameters parameters) {
+        return Computations.of(cnf.clauses)
+                .map(YASALegacy::new)
+                .set(YASALegacy.T, parameters.t)
+                .compute();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared benchmark state holding a CNF and its modal implication graph. Models
+ * are either loaded from the test fixtures of the formula library or generated
+ * synthetically using the format {@code synthetic:<variables>:<clauses>:<seed>}.
+ * Synthetic CNFs consist of random 3-clauses that are all satisfied by a
+ * planted random assignment and are thus guaranteed to be satisfiable.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+public class CNFState extends Common {
+
+    private static final String SYNTHETIC_PREFIX = "synthetic:";
+
+    @Param({"GPL/model.xml", "synthetic:200:600:1", "synthetic:1000:3000:1"})
+    public String model;
+
+    public BooleanAssignmentList clauses;
+    public ModalImplicationGraph mig;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        clauses = model.startsWith(SYNTHETIC_PREFIX) ? createSyntheticCNF(model) : loadCNF(model);
+        mig = Computations.of(clauses).map(MIGBuilder::new).compute();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    private BooleanAssignmentList loadCNF(String path) {
+        return Computations.of(loadFormula(path))
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
+    private static BooleanAssignmentList createSyntheticCNF(String description) {
+        final String[] parameters = description.substring(SYNTHETIC_PREFIX.length()).split(":");
+        final int variableCount = Integer.parseInt(parameters[0]);
+        final int clauseCount = Integer.parseInt(parameters[1]);
+        final Random random = new Random(Long.parseLong(parameters[2]));
+
+        final List<String> names = new ArrayList<>(variableCount);
+        for (int i = 1; i <= variableCount; i++) {
+            names.add("x" + i);
+        }
+        final BooleanAssignmentList cnf = new BooleanAssignmentList(new VariableMap(names));
+
+        final boolean[] plantedSolution = new boolean[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            plantedSolution[i] = random.nextBoolean();
+        }
+        for (int i = 0; i < clauseCount; i++) {
+            final int[] literals = new int[3];
+            boolean satisfied = false;
+            for (int j = 0; j < literals.length; j++) {
+                int variable;
+                do {
+                    variable = random.nextInt(variableCount) + 1;
+                } while (contains(literals, j, variable));
+                final boolean positive = random.nextBoolean();
+                satisfied |= positive == plantedSolution[variable - 1];
+                literals[j] = positive ? variable : -variable;
+            }
+            if (!satisfied) {
+                literals[0] = -literals[0];
+            }
+            cnf.add(new BooleanClause(literals));
+        }
+        return cnf;
+    }
+
+    private static boolean contains(int[] literals, int length, int variable) {
+        for (int i = 0; i < length; i++) {
+            if (Math.abs(literals[i]) == variable) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
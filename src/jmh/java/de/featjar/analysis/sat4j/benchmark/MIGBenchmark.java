@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.RuntimeContradictionException;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.solver.IMIGVisitor;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitPlane;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitSet;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.MIGVisitorInt;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.computation.Computations;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the construction of a {@link ModalImplicationGraph} and unit
+ * propagation with the different {@link IMIGVisitor} implementations.
+ *
+ * @author Sebastian Krieter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MIGBenchmark {
+
+    @State(Scope.Thread)
+    public static class VisitorState {
+
+        @Param({"byte", "bitset", "bitplane", "int"})
+        public String visitorType;
+
+        public IMIGVisitor visitor;
+        public int variableCount;
+
+        @Setup(Level.Trial)
+        public void setup(CNFState cnf) {
+            variableCount = cnf.mig.size();
+            switch (visitorType) {
+                case "byte":
+                    visitor = new MIGVisitorByte(cnf.mig);
+                    break;
+                case "bitset":
+                    visitor = new MIGVisitorBitSet(cnf.mig);
+                    break;
+                case "bitplane":
+                    visitor = new MIGVisitorBitPlane(cnf.mig);
+                    break;
+                case "int":
+                    visitor = new MIGVisitorInt(cnf.mig);
+                    break;
+                default:
+                    throw new IllegalArgumentException(visitorType);
+            }
+        }
+    }
+
+    @Benchmark
+    public ModalImplicationGraph buildMIG(CNFState cnf) {
+        return Computations.of(cnf.clauses).map(MIGBuilder::new).compute();
+    }
+
+    @Benchmark
+    public void propagateAndResetEachLiteral(VisitorState state, Blackhole blackhole) {
+        final IMIGVisitor visitor = state.visitor;
+        for (int variable = 1; variable <= state.variableCount; variable++) {
+            propagate(visitor, variable, blackhole);
+            propagate(visitor, -variable, blackhole);
+        }
+    }
+
+    private static void propagate(IMIGVisitor visitor, int literal, Blackhole blackhole) {
+        try {
+            visitor.propagate(literal);
+            blackhole.consume(visitor.getAddedLiteralCount());
+        } catch (RuntimeContradictionException e) {
+            blackhole.consume(e);
+        }
+        visitor.reset();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.index.SampleBitIndex;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks {@link SampleBitIndex#test(int...)} for random literal pairs on a
+ * sample of random solutions.
+ *
+ * @author Sebastian Krieter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SampleBitIndexBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @State(Scope.Thread)
+    public static class IndexState {
+
+        @Param({"64", "1024"})
+        public int sampleSize;
+
+        public SampleBitIndex index;
+        public int[][] queries;
+
+        @Setup(Level.Trial)
+        public void setup(CNFState cnf) {
+            BooleanAssignmentList sample = Computations.of(cnf.clauses)
+                    .map(ComputeSolutionsSAT4J::new)
+                    .set(ComputeSolutionsSAT4J.SELECTION_STRATEGY, ISelectionStrategy.NonParameterStrategy.FAST_RANDOM)
+                    .set(ComputeSolutionsSAT4J.LIMIT, sampleSize)
+                    .set(ComputeSolutionsSAT4J.RANDOM_SEED, 1L)
+                    .compute();
+            index = new SampleBitIndex(cnf.clauses.getVariableMap());
+            sample.forEach(index::addConfiguration);
+
+            final int variableCount = cnf.clauses.getVariableMap().size();
+            final Random random = new Random(1);
+            queries = new int[QUERY_COUNT][2];
+            for (int[] query : queries) {
+                for (int i = 0; i < query.length; i++) {
+                    final int variable = random.nextInt(variableCount) + 1;
+                    query[i] = random.nextBoolean() ? variable : -variable;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void testLiteralPairs(IndexState state, Blackhole blackhole) {
+        for (int[] query : state.queries) {
+            blackhole.consume(state.index.test(query));
+        }
+    }
+}
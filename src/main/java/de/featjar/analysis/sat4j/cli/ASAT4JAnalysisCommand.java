@@ -58,6 +58,10 @@ public abstract class ASAT4JAnalysisCommand<T> extends AAnalysisCommand<T> {
 
     @Override
     protected IComputation<T> newComputation(OptionList optionParser) {
+        return newAnalysis(optionParser, loadClauseList(optionParser));
+    }
+
+    protected IComputation<BooleanAssignmentList> loadClauseList(OptionList optionParser) {
         Path inputPath = optionParser.getResult(INPUT_OPTION).orElseThrow();
         IComputation<BooleanAssignmentList> computation = IO.load(
                         inputPath, BooleanAssignmentGroupsFormats.getInstance())
@@ -69,7 +73,7 @@ public abstract class ASAT4JAnalysisCommand<T> extends AAnalysisCommand<T> {
                         .map(ComputeCNFFormula::new)
                         .map(ComputeBooleanClauseList::new))
                 .peekResult(getClass(), "variableMap", clauseList -> variableMap = clauseList.getVariableMap());
-        return newAnalysis(optionParser, computation);
+        return computation;
     }
 
     protected abstract IComputation<T> newAnalysis(
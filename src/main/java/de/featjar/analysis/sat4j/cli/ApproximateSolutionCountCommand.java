@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.cli;
+
+import de.featjar.analysis.sat4j.computation.ApproximateCount;
+import de.featjar.analysis.sat4j.computation.ComputeApproximateSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeVariablesByName;
+import de.featjar.base.cli.ListOption;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Approximates the number of solutions for a given formula using SAT4J.
+ *
+ * @author Sebastian Krieter
+ */
+public class ApproximateSolutionCountCommand extends ASAT4JAnalysisCommand<ApproximateCount> {
+
+    /**
+     * Tolerance of the estimate.
+     */
+    public static final Option<Double> EPSILON_OPTION = Option.newOption("epsilon", Double::parseDouble) //
+            .setDescription("Tolerance of the estimate.") //
+            .setValidator(epsilon -> epsilon > 0)
+            .setDefaultValue(0.8);
+
+    /**
+     * Probability that the exact count lies outside the tolerance.
+     */
+    public static final Option<Double> DELTA_OPTION = Option.newOption("delta", Double::parseDouble) //
+            .setDescription("Probability that the exact count lies outside the tolerance.") //
+            .setValidator(delta -> delta > 0 && delta < 1)
+            .setDefaultValue(0.2);
+
+    /**
+     * Number of solvers used in parallel.
+     */
+    public static final Option<Integer> THREADS_OPTION = Option.newOption("threads", Option.IntegerParser) //
+            .setDescription("Number of solvers used in parallel.") //
+            .setValidator(threads -> threads > 0)
+            .setDefaultValue(1);
+
+    /**
+     * Names of the variables onto which the solutions are projected.
+     */
+    public static final ListOption<String> PROJECTION_OPTION = SolutionCountCommand.PROJECTION_OPTION;
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of("Approximates number of solutions for a given formula using SAT4J.");
+    }
+
+    @Override
+    public IComputation<ApproximateCount> newAnalysis(
+            OptionList optionParser, IComputation<BooleanAssignmentList> formula) {
+        List<String> projection = optionParser.getResult(PROJECTION_OPTION).orElse(List.of());
+        IComputation<BooleanAssignment> variablesOfInterest = projection.isEmpty()
+                ? Computations.of(new BooleanAssignment())
+                : new ComputeVariablesByName(formula, projection);
+        return formula.map(ComputeApproximateSolutionCountSAT4J::new)
+                .set(ComputeApproximateSolutionCountSAT4J.VARIABLES_OF_INTEREST, variablesOfInterest)
+                .set(ComputeApproximateSolutionCountSAT4J.EPSILON, optionParser.get(EPSILON_OPTION))
+                .set(ComputeApproximateSolutionCountSAT4J.DELTA, optionParser.get(DELTA_OPTION))
+                .set(ComputeApproximateSolutionCountSAT4J.THREADS, optionParser.get(THREADS_OPTION))
+                .set(ComputeApproximateSolutionCountSAT4J.RANDOM_SEED, optionParser.get(RANDOM_SEED_OPTION))
+                .set(ComputeApproximateSolutionCountSAT4J.SAT_TIMEOUT, optionParser.get(SAT_TIMEOUT_OPTION));
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("approximate-count-sat4j");
+    }
+}
@@ -20,7 +20,10 @@
  */
 package de.featjar.analysis.sat4j.cli;
 
+import de.featjar.analysis.sat4j.computation.ComputeCoreChunkedMIG;
 import de.featjar.analysis.sat4j.computation.ComputeCoreDeadMIG;
+import de.featjar.analysis.sat4j.computation.ComputeCoreSAT4J;
+import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.io.format.IFormat;
@@ -36,6 +39,21 @@ import java.util.Optional;
  */
 public class CoreCommand extends ASAT4JAnalysisCommand<BooleanAssignmentList> {
 
+    /**
+     * Number of solvers used in parallel.
+     */
+    public static final Option<Integer> THREADS_OPTION = Option.newOption("threads", Option.IntegerParser) //
+            .setDescription("Number of solvers used in parallel.") //
+            .setValidator(threads -> threads > 0)
+            .setDefaultValue(1);
+
+    /**
+     * Test multiple candidates with a single solver call. Cannot be combined with
+     * more than one thread.
+     */
+    public static final Option<Boolean> CHUNKED_OPTION = Option.newFlag("chunked") //
+            .setDescription("Test multiple candidates with a single solver call.");
+
     @Override
     public Optional<String> getDescription() {
         return Optional.of("Computes core and dead variables for a given formula using SAT4J.");
@@ -44,6 +62,22 @@ public class CoreCommand extends ASAT4JAnalysisCommand<BooleanAssignmentList> {
     @Override
     public IComputation<BooleanAssignmentList> newAnalysis(
             OptionList optionParser, IComputation<BooleanAssignmentList> formula) {
+        int threads = optionParser.get(THREADS_OPTION);
+        boolean chunked = optionParser.get(CHUNKED_OPTION);
+        if (threads > 1 && chunked) {
+            throw new IllegalArgumentException("Cannot set " + CHUNKED_OPTION.getArgumentName() + " and "
+                    + THREADS_OPTION.getArgumentName() + " greater than 1 at the same time!");
+        }
+        if (threads > 1) {
+            return formula.map(ComputeCoreSAT4J::new)
+                    .set(ComputeCoreSAT4J.THREADS, threads)
+                    .set(ComputeCoreSAT4J.RANDOM_SEED, optionParser.get(RANDOM_SEED_OPTION))
+                    .set(ComputeCoreSAT4J.SAT_TIMEOUT, optionParser.get(SAT_TIMEOUT_OPTION));
+        }
+        if (chunked) {
+            return formula.map(ComputeCoreChunkedMIG::new)
+                    .mapResult(CoreCommand.class, "list", a -> new BooleanAssignmentList(variableMap, a));
+        }
         return formula.map(ComputeCoreDeadMIG::new)
                 .mapResult(CoreCommand.class, "list", a -> new BooleanAssignmentList(variableMap, a));
     }
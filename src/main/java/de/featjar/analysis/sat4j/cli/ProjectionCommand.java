@@ -21,6 +21,7 @@
 package de.featjar.analysis.sat4j.cli;
 
 import de.featjar.analysis.sat4j.slice.CNFSlicer;
+import de.featjar.analysis.sat4j.slice.IEliminationCost;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.ACommand;
 import de.featjar.base.cli.ListOption;
@@ -42,6 +43,7 @@ import de.featjar.formula.structure.IFormula;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
@@ -87,6 +89,23 @@ public class ProjectionCommand extends ACommand {
             .setDefaultValue(new BooleanAssignmentListGroupedCSVFormat().getName())
             .setDescription("Format of the output");
 
+    public static final Option<String> ELIMINATION_COST_OPTION = Option.newStringEnumOption(
+                    "elimination-cost",
+                    Arrays.stream(IEliminationCost.Default.values())
+                            .map(cost -> cost.name().toLowerCase())
+                            .collect(Collectors.toList()))
+            .setDefaultValue(IEliminationCost.Default.CLAUSE_COUNT.name().toLowerCase())
+            .setDescription("Cost function that determines the order in which variables are eliminated.");
+
+    public static final Option<Boolean> BOUNDED_ELIMINATION_OPTION = Option.newFlag("bounded-elimination")
+            .setDescription("Eliminate variables by bounded variable elimination with subsumption first.");
+
+    public static final Option<Integer> ELIMINATION_LIMIT_OPTION = Option.newOption(
+                    "elimination-limit", Option.IntegerParser)
+            .setDescription("Number of clauses by which the formula may grow per variable in bounded elimination.")
+            .setValidator(limit -> limit >= 0)
+            .setDefaultValue(0);
+
     @Override
     public int run(OptionList optionParser) {
         List<String> projectLiterals =
@@ -132,7 +151,12 @@ public class ProjectionCommand extends ACommand {
 
         IComputation<BooleanAssignmentList> computation = Computations.of(cnf)
                 .map(CNFSlicer::new)
-                .set(CNFSlicer.VARIABLES_TO_REMOVE, new BooleanAssignment(array));
+                .set(CNFSlicer.VARIABLES_TO_REMOVE, new BooleanAssignment(array))
+                .set(
+                        CNFSlicer.ELIMINATION_COST,
+                        IEliminationCost.Default.valueOf(optionParser.get(ELIMINATION_COST_OPTION).toUpperCase()))
+                .set(CNFSlicer.BOUNDED_ELIMINATION, optionParser.get(BOUNDED_ELIMINATION_OPTION))
+                .set(CNFSlicer.ELIMINATION_LIMIT, optionParser.get(ELIMINATION_LIMIT_OPTION));
 
         Result<BooleanAssignmentList> result;
 
@@ -21,10 +21,14 @@
 package de.featjar.analysis.sat4j.cli;
 
 import de.featjar.analysis.sat4j.computation.ComputeSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeVariablesByName;
+import de.featjar.base.cli.ListOption;
+import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.IComputation;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.math.BigInteger;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,6 +40,13 @@ import java.util.Optional;
  */
 public class SolutionCountCommand extends ASAT4JAnalysisCommand<BigInteger> {
 
+    /**
+     * Names of the variables onto which the solutions are projected.
+     */
+    public static final ListOption<String> PROJECTION_OPTION = (ListOption<String>)
+            Option.newListOption("projection", Option.StringParser)
+                    .setDescription("Variables onto which the solutions are projected. If not set, all are used.");
+
     @Override
     public Optional<String> getDescription() {
         return Optional.of("Computes number of solutions for a given formula using SAT4J.");
@@ -43,7 +54,12 @@ public class SolutionCountCommand extends ASAT4JAnalysisCommand<BigInteger> {
 
     @Override
     public IComputation<BigInteger> newAnalysis(OptionList optionParser, IComputation<BooleanAssignmentList> formula) {
-        return formula.map(ComputeSolutionCountSAT4J::new);
+        List<String> projection = optionParser.getResult(PROJECTION_OPTION).orElse(List.of());
+        if (projection.isEmpty()) {
+            return formula.map(ComputeSolutionCountSAT4J::new);
+        }
+        return formula.map(ComputeSolutionCountSAT4J::new)
+                .set(ComputeSolutionCountSAT4J.VARIABLES_OF_INTEREST, new ComputeVariablesByName(formula, projection));
     }
 
     @Override
@@ -21,16 +21,31 @@
 package de.featjar.analysis.sat4j.cli;
 
 import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.SolutionEnumerator;
+import de.featjar.analysis.sat4j.io.csv.SolutionCSVWriter;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.io.BooleanAssignmentGroupsFormats;
 import de.featjar.formula.io.csv.BooleanAssignmentGroupsCSVFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
+import java.util.Random;
 
 /**
  * Computes solutions for a given formula using SAT4J.
@@ -66,6 +81,69 @@ public class SolutionsCommand extends ASAT4JAnalysisCommand<BooleanAssignmentGro
             .setDefaultValue(new BooleanAssignmentGroupsCSVFormat().getName())
             .setDescription("Format of the output");
 
+    /**
+     * Write each configuration as soon as it is generated.
+     */
+    public static final Option<Boolean> STREAM_OPTION = Option.newFlag("stream") //
+            .setDescription("Write configurations as CSV while they are generated, ignoring the format option.");
+
+    /**
+     * Number of configurations that are generated before they are written in stream mode.
+     */
+    public static final Option<Integer> BATCH_SIZE_OPTION = Option.newOption("batch-size", Option.IntegerParser) //
+            .setDescription("Number of configurations that are generated before they are written in stream mode.") //
+            .setValidator(size -> size > 0) //
+            .setDefaultValue(1024);
+
+    @Override
+    public int run(OptionList optionParser) {
+        if (!optionParser.get(STREAM_OPTION)) {
+            return super.run(optionParser);
+        }
+        Result<BooleanAssignmentList> clauseList = loadClauseList(optionParser).computeResult();
+        if (clauseList.isEmpty()) {
+            FeatJAR.log().problems(clauseList.getProblems());
+            FeatJAR.log().error("Couldn't compute result.");
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+        Result<Path> outputPath = optionParser.getResult(OUTPUT_OPTION);
+        boolean overwrite = optionParser.get(OVERWRITE_OPTION);
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList.get());
+        solver.setTimeout(optionParser.get(SAT_TIMEOUT_OPTION));
+        solver.setGlobalTimeout(true);
+        VariableMap variables = clauseList.get().getVariableMap();
+        int batchSize = optionParser.get(BATCH_SIZE_OPTION);
+        try (SolutionEnumerator enumerator = new SolutionEnumerator(
+                solver,
+                optionParser.get(SELECTION_STRATEGY_OPTION),
+                new Random(optionParser.get(RANDOM_SEED_OPTION)),
+                optionParser.get(LIMIT_OPTION),
+                optionParser.get(FORBID_DUPLICATES_OPTION),
+                null)) {
+            if (outputPath.isPresent()) {
+                try (Writer writer = overwrite
+                        ? Files.newBufferedWriter(outputPath.get())
+                        : Files.newBufferedWriter(outputPath.get(), StandardOpenOption.CREATE_NEW)) {
+                    SolutionCSVWriter.write(enumerator, variables, writer, batchSize);
+                }
+            } else {
+                SolutionCSVWriter.write(
+                        enumerator, variables, new BufferedWriter(new OutputStreamWriter(System.out)), batchSize);
+            }
+        } catch (FileAlreadyExistsException e) {
+            FeatJAR.log().error("Output file already exists: " + outputPath.get() + " (use --overwrite)");
+            return FeatJAR.ERROR_WRITING_RESULT;
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_WRITING_RESULT;
+        }
+        if (solver.isTimeoutOccurred()) {
+            FeatJAR.log().warning("Solver timeout occurred, written solutions are a partial result.");
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+        return 0;
+    }
+
     @Override
     public Optional<String> getDescription() {
         return Optional.of("Computes solutions for a given formula using SAT4J.");
@@ -61,6 +61,11 @@ public class YASACommand extends ATWiseCommand {
     public static final Option<Boolean> INCREMENTAL = Option.newFlag("incremental") //
             .setDescription("Start with smaller values for t.");
 
+    public static final Option<Integer> THREADS_OPTION = Option.newOption("threads", Option.IntegerParser) //
+            .setDescription("Number of threads used for sampling.") //
+            .setValidator(threads -> threads > 0)
+            .setDefaultValue(1);
+
     public static final Option<Path> INCLUDE_INTERACTIONS = Option.newOption("include-interactions", Option.PathParser)
             .setDescription("Path to list of interactions that will be considered.")
             .setValidator(Option.PathValidator);
@@ -97,7 +102,8 @@ public class YASACommand extends ATWiseCommand {
                     .set(YASA.SAT_TIMEOUT, optionParser.get(SAT_TIMEOUT_OPTION))
                     .set(YASA.ITERATIONS, optionParser.get(ITERATIONS_OPTION))
                     .set(YASA.INTERNAL_SOLUTION_LIMIT, optionParser.get(INTERNAL_SOLUTION_LIMIT))
-                    .set(YASA.INCREMENTAL_T, optionParser.get(INCREMENTAL));
+                    .set(YASA.INCREMENTAL_T, optionParser.get(INCREMENTAL))
+                    .set(YASA.THREADS, optionParser.get(THREADS_OPTION));
         }
 
         Result<Path> consideredInteractionsPath = optionParser.getResult(INCLUDE_INTERACTIONS);
@@ -23,6 +23,7 @@ package de.featjar.analysis.sat4j.computation;
 import de.featjar.analysis.sat4j.solver.SAT4JExplanationSolver;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolverCache;
 import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
@@ -42,6 +43,19 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
     public static final Dependency<Duration> SAT_TIMEOUT = Dependency.newDependency(Duration.class);
     public static final Dependency<Long> RANDOM_SEED = Dependency.newDependency(Long.class);
 
+    /**
+     * Cache that is used to reuse solvers for the same clause list across
+     * analyses. No solvers are cached per default.
+     */
+    public static final Dependency<SAT4JSolverCache> SOLVER_CACHE = Dependency.newDependency(SAT4JSolverCache.class);
+    /**
+     * Number of recent solutions that a solver remembers to answer satisfiability
+     * queries without calling Sat4J. Solutions are not remembered per default.
+     *
+     * @see SAT4JSolver#setSolutionCacheCapacity(int)
+     */
+    public static final Dependency<Integer> SOLUTION_CACHE_CAPACITY = Dependency.newDependency(Integer.class);
+
     public ASAT4JAnalysis(IComputation<BooleanAssignmentList> booleanClauseList, Object... computations) {
         super(
                 booleanClauseList,
@@ -49,6 +63,8 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
                 Computations.of(new BooleanAssignmentList(null, 0)),
                 Computations.of(Duration.ZERO),
                 Computations.of(1L),
+                Computations.of(SAT4JSolverCache.NONE),
+                Computations.of(0),
                 computations);
     }
 
@@ -58,6 +74,14 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
 
     protected abstract SAT4JSolver newSolver(BooleanAssignmentList clauseList);
 
+    protected Class<? extends SAT4JSolver> getSolverClass() {
+        return SAT4JSolver.class;
+    }
+
+    protected boolean isSimplificationAllowed() {
+        return false;
+    }
+
     public <U extends SAT4JSolver> U createSolver(List<Object> dependencyList) {
         return createSolver(dependencyList, false);
     }
@@ -69,11 +93,28 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
         Duration timeout = SAT_TIMEOUT.get(dependencyList);
 
         @SuppressWarnings("unchecked")
-        U solver = (U) newSolver(empty ? new BooleanAssignmentList(clauseList.getVariableMap()) : clauseList);
+        U solver = (U)
+                (empty
+                        ? newSolver(new BooleanAssignmentList(clauseList.getVariableMap()))
+                        : isSimplificationAllowed()
+                                ? newSolver(clauseList)
+                                : SOLVER_CACHE.get(dependencyList).lend(clauseList, getSolverClass(), this::newSolver));
         SAT4JSolver.initializeSolver(solver, clauseList, assumedAssignment, assumedClauseList, timeout);
+        solver.setSolutionCacheCapacity(SOLUTION_CACHE_CAPACITY.get(dependencyList));
         return solver;
     }
 
+    /**
+     * Returns a solver created by {@link #createSolver(List)} to the
+     * {@link #SOLVER_CACHE solver cache}. The solver must not be used afterwards.
+     *
+     * @param dependencyList the dependency list of this analysis
+     * @param solver         the solver
+     */
+    public void releaseSolver(List<Object> dependencyList, SAT4JSolver solver) {
+        SOLVER_CACHE.get(dependencyList).giveBack(solver);
+    }
+
     public abstract static class Solution<T> extends ASAT4JAnalysis<T> {
         public Solution(IComputation<BooleanAssignmentList> booleanClauseList, Object... computations) {
             super(booleanClauseList, computations);
@@ -85,7 +126,12 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
 
         @Override
         protected SAT4JSolutionSolver newSolver(BooleanAssignmentList clauseList) {
-            return new SAT4JSolutionSolver(clauseList);
+            return new SAT4JSolutionSolver(clauseList, isSimplificationAllowed());
+        }
+
+        @Override
+        protected Class<? extends SAT4JSolver> getSolverClass() {
+            return SAT4JSolutionSolver.class;
         }
     }
 
@@ -98,5 +144,10 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
         protected SAT4JExplanationSolver newSolver(BooleanAssignmentList clauseList) {
             return new SAT4JExplanationSolver(clauseList);
         }
+
+        @Override
+        protected Class<? extends SAT4JSolver> getSolverClass() {
+            return SAT4JExplanationSolver.class;
+        }
     }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Result of an approximate model count. With a probability of at least
+ * {@link #getConfidence() 1 - delta}, the exact count lies between
+ * {@link #getLowerBound() estimate / (1 + epsilon)} and
+ * {@link #getUpperBound() estimate * (1 + epsilon)}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ApproximateCount {
+
+    private final BigInteger estimate;
+    private final double epsilon;
+    private final double delta;
+
+    /**
+     * Creates a new approximate count.
+     *
+     * @param estimate the estimated count
+     * @param epsilon  the tolerance
+     * @param delta    the probability that the exact count lies outside the tolerance
+     */
+    public ApproximateCount(BigInteger estimate, double epsilon, double delta) {
+        this.estimate = Objects.requireNonNull(estimate);
+        this.epsilon = epsilon;
+        this.delta = delta;
+    }
+
+    /**
+     * Creates a count that is known to be exact.
+     *
+     * @param count the exact count
+     * @return the count with zero tolerance
+     */
+    public static ApproximateCount exact(BigInteger count) {
+        return new ApproximateCount(count, 0, 0);
+    }
+
+    public BigInteger getEstimate() {
+        return estimate;
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    public double getConfidence() {
+        return 1 - delta;
+    }
+
+    public boolean isExact() {
+        return epsilon == 0 && delta == 0;
+    }
+
+    public BigInteger getLowerBound() {
+        return new BigDecimal(estimate)
+                .divide(BigDecimal.valueOf(1 + epsilon), 0, RoundingMode.FLOOR)
+                .toBigInteger();
+    }
+
+    public BigInteger getUpperBound() {
+        return new BigDecimal(estimate)
+                .multiply(BigDecimal.valueOf(1 + epsilon))
+                .setScale(0, RoundingMode.CEILING)
+                .toBigInteger();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(estimate, epsilon, delta);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ApproximateCount other = (ApproximateCount) obj;
+        return estimate.equals(other.estimate)
+                && Double.compare(epsilon, other.epsilon) == 0
+                && Double.compare(delta, other.delta) == 0;
+    }
+
+    @Override
+    public String toString() {
+        return isExact()
+                ? estimate.toString()
+                : String.format(
+                        "%s [%s, %s] (confidence %s)", estimate, getLowerBound(), getUpperBound(), getConfidence());
+    }
+}
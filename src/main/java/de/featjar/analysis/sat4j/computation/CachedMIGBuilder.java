@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.io.binary.MIGBinaryIO;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Loads a modal implication graph from a binary file, if the file was written
+ * for the given CNF. Otherwise, builds the graph using {@link MIGBuilder} and
+ * writes it to the file for later runs.
+ *
+ * @author Sebastian Krieter
+ */
+public class CachedMIGBuilder extends AComputation<ModalImplicationGraph> {
+
+    public static final Dependency<BooleanAssignmentList> CNF_CLAUSES =
+            Dependency.newDependency(BooleanAssignmentList.class);
+    public static final Dependency<Path> MIG_FILE = Dependency.newDependency(Path.class);
+    public static final Dependency<Boolean> CONDENSE_STRONG_EDGES = Dependency.newDependency(Boolean.class);
+
+    public CachedMIGBuilder(IComputation<BooleanAssignmentList> cnfFormula, Path migFile) {
+        super(cnfFormula, Computations.of(migFile), Computations.of(Boolean.FALSE));
+    }
+
+    protected CachedMIGBuilder(CachedMIGBuilder other) {
+        super(other);
+    }
+
+    @Override
+    public Result<ModalImplicationGraph> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList cnfFormula = CNF_CLAUSES.get(dependencyList);
+        Path migFile = MIG_FILE.get(dependencyList);
+        boolean condenseStrongEdges = CONDENSE_STRONG_EDGES.get(dependencyList);
+
+        if (Files.exists(migFile)) {
+            Result<ModalImplicationGraph> cachedMIG = MIGBinaryIO.read(migFile, cnfFormula);
+            if (cachedMIG.isPresent() && cachedMIG.get().isCondensed() == condenseStrongEdges) {
+                return cachedMIG;
+            }
+            FeatJAR.log().debug("rebuilding modal implication graph %s", migFile);
+        }
+
+        Result<ModalImplicationGraph> mig = Computations.of(cnfFormula)
+                .map(MIGBuilder::new)
+                .set(MIGBuilder.CONDENSE_STRONG_EDGES, condenseStrongEdges)
+                .computeResult();
+        if (mig.isPresent()) {
+            try {
+                MIGBinaryIO.write(mig.get(), cnfFormula, migFile);
+            } catch (IOException e) {
+                FeatJAR.log().warning("Could not write modal implication graph: " + e.getMessage());
+            }
+        }
+        return mig;
+    }
+}
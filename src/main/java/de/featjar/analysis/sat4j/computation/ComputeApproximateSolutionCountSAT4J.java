@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.AuxiliaryVariables;
+import de.featjar.analysis.sat4j.solver.ParallelTasks;
+import de.featjar.analysis.sat4j.solver.SAT4JAssignment;
+import de.featjar.analysis.sat4j.solver.SAT4JClauseList;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.computation.ComputeConstant;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Approximates the number of solutions of a formula, optionally projected onto
+ * a set of {@link #VARIABLES_OF_INTEREST variables of interest}, following
+ * the ApproxMC algorithm.
+ * <p>
+ * Random XOR constraints over the variables of interest partition the
+ * solution space into cells of roughly equal size. Each XOR constraint is
+ * encoded as a chain of clauses with auxiliary variables, and cells are
+ * selected by assumptions, such that one solver is reused for all cells of an
+ * iteration. For each iteration,
+ * the smallest number of XOR constraints is searched, for which a cell contains
+ * less solutions than a threshold derived from {@link #EPSILON}. Cells are
+ * counted by bounded enumeration with blocking clauses. The estimate of an
+ * iteration is the size of this cell multiplied by the number of cells. The
+ * result is the median of all iterations, whose number is derived from
+ * {@link #DELTA}. If the formula has less solutions than the threshold, the
+ * exact count is returned. If a cell is still too large when there is one XOR
+ * constraint per variable, this cell is counted without limit. Iterations are independent and can be computed by
+ * multiple {@link #THREADS threads}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeApproximateSolutionCountSAT4J extends ASAT4JAnalysis.Solution<ApproximateCount> {
+
+    /**
+     * Variables onto which the solutions are projected. Uses all variables if empty.
+     */
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * Tolerance of the estimate. Uses 0.8 per default.
+     */
+    public static final Dependency<Double> EPSILON = Dependency.newDependency(Double.class);
+    /**
+     * Probability that the exact count is outside the tolerance. Uses 0.2 per default.
+     */
+    public static final Dependency<Double> DELTA = Dependency.newDependency(Double.class);
+    /**
+     * Number of iterations that are computed in parallel. Uses a single thread per default.
+     */
+    public static final Dependency<Integer> THREADS = Dependency.newDependency(Integer.class);
+
+    private static final String AUXILIARY_PREFIX = "__xor_auxiliary_";
+    private static final String SELECTOR_PREFIX = "__xor_selector_";
+    private static final String BLOCKING_SELECTOR_PREFIX = "__xor_blocking_selector_";
+    private static final int BLOCKING_SELECTOR_COUNT = 64;
+
+    /**
+     * A sequence of random XOR constraints and a solver containing the first of
+     * them. Each XOR constraint has a fixed range of auxiliary variables and a
+     * selector variable that guards its parity clause. A cell is selected by
+     * assuming the selectors of its XOR constraints, and the blocking clauses
+     * of each count are guarded by a selector that is used only once. Thus,
+     * nothing that the solver derives from a cell remains valid on the root
+     * level. The solver is rebuilt with more variables if more constraints or
+     * blocking selectors are required.
+     */
+    private final class HashedCells {
+        private final List<Object> dependencyList;
+        private final int[] variables;
+        private final Random random;
+        private final List<List<BooleanClause>> xorClauses = new ArrayList<>();
+        private final List<int[]> parityClauses = new ArrayList<>();
+        private final List<Integer> auxiliaryCounts = new ArrayList<>();
+        private SAT4JSolutionSolver solver;
+        private int capacity;
+        private int[] xorSelectors;
+        private int firstBlockingSelector;
+        private int usedBlockingSelectors;
+
+        private HashedCells(List<Object> dependencyList, int[] variables, Random random) {
+            this.dependencyList = dependencyList;
+            this.variables = variables;
+            this.random = random;
+        }
+
+        /**
+         * Counts the projected solutions in the cell defined by the first
+         * {@code xorCount} XOR constraints up to the given limit.
+         *
+         * @return the count, or {@code -1} if a timeout occurred
+         */
+        private int count(int xorCount, int limit) {
+            ensureCapacity(xorCount);
+            final int blockingSelector = firstBlockingSelector + usedBlockingSelectors++;
+            final SAT4JAssignment assumptions = solver.getAssignment();
+            final SAT4JClauseList clauses = solver.getClauseList();
+            final int assumptionCount = assumptions.size();
+            final int clauseCount = clauses.size();
+            for (int i = 0; i < xorCount; i++) {
+                assumptions.add(xorSelectors[i]);
+            }
+            assumptions.add(blockingSelector);
+            try {
+                int count = 0;
+                while (count < limit) {
+                    final Result<Boolean> hasSolution = solver.hasSolution();
+                    if (hasSolution.isEmpty()) {
+                        return -1;
+                    } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                        break;
+                    }
+                    count++;
+                    final int[] model = solver.getInternalSolution();
+                    final int[] blockingClause = new int[variables.length + 1];
+                    blockingClause[0] = -blockingSelector;
+                    for (int i = 0; i < variables.length; i++) {
+                        blockingClause[i + 1] = -model[variables[i] - 1];
+                    }
+                    clauses.add(blockingClause);
+                }
+                return count;
+            } finally {
+                while (clauses.size() > clauseCount) {
+                    clauses.remove();
+                }
+                while (assumptions.size() > assumptionCount) {
+                    assumptions.remove();
+                }
+            }
+        }
+
+        private void ensureCapacity(int xorCount) {
+            if (solver != null && xorCount <= capacity && usedBlockingSelectors < BLOCKING_SELECTOR_COUNT) {
+                return;
+            }
+            if (xorCount > capacity) {
+                capacity = Math.max(xorCount, 2 * capacity);
+            }
+            final BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+            final List<String> names =
+                    AuxiliaryVariables.copyVariableNames(clauseList.getVariableMap(), AUXILIARY_PREFIX, capacity);
+            xorSelectors = new int[capacity];
+            final List<BooleanClause> guardedXorClauses = new ArrayList<>();
+            for (int i = 0; i < capacity; i++) {
+                if (i == xorClauses.size()) {
+                    addRandomXor(names.size() + 1);
+                }
+                for (int j = 0; j < auxiliaryCounts.get(i); j++) {
+                    names.add(AUXILIARY_PREFIX + i + "_" + j);
+                }
+                names.add(SELECTOR_PREFIX + i);
+                xorSelectors[i] = names.size();
+                guardedXorClauses.addAll(xorClauses.get(i));
+                final int[] parityClause = parityClauses.get(i);
+                if (parityClause != null) {
+                    final int[] guardedParityClause = Arrays.copyOf(parityClause, parityClause.length + 1);
+                    guardedParityClause[parityClause.length] = -xorSelectors[i];
+                    guardedXorClauses.add(new BooleanClause(guardedParityClause));
+                }
+            }
+            firstBlockingSelector = names.size() + 1;
+            usedBlockingSelectors = 0;
+            for (int i = 0; i < BLOCKING_SELECTOR_COUNT; i++) {
+                names.add(BLOCKING_SELECTOR_PREFIX + i);
+            }
+            final BooleanAssignmentList extendedClauseList = new BooleanAssignmentList(new VariableMap(names));
+            extendedClauseList.addAll(clauseList.getAll());
+            extendedClauseList.addAll(guardedXorClauses);
+            solver = newSolver(extendedClauseList);
+            initializeSolver(solver);
+        }
+
+        /**
+         * Adds a random XOR constraint over the variables of interest. The
+         * constraint x1 ^ ... ^ xk = p is encoded by auxiliary variables
+         * a1 = x1 ^ x2, a2 = a1 ^ x3, ... and a parity clause for the last one.
+         * The parity clause is kept separately, such that it can be guarded by
+         * the constraint's selector.
+         */
+        private void addRandomXor(int firstAuxiliary) {
+            final int[] xorVariables =
+                    IntStream.of(variables).filter(v -> random.nextBoolean()).toArray();
+            final boolean parity = random.nextBoolean();
+            final List<BooleanClause> clauses = new ArrayList<>();
+            if (xorVariables.length == 0) {
+                parityClauses.add(parity ? new int[0] : null);
+                auxiliaryCounts.add(0);
+            } else {
+                int last = xorVariables[0];
+                for (int i = 1; i < xorVariables.length; i++) {
+                    final int x = xorVariables[i];
+                    final int a = firstAuxiliary + i - 1;
+                    clauses.add(new BooleanClause(new int[] {-a, last, x}));
+                    clauses.add(new BooleanClause(new int[] {-a, -last, -x}));
+                    clauses.add(new BooleanClause(new int[] {a, -last, x}));
+                    clauses.add(new BooleanClause(new int[] {a, last, -x}));
+                    last = a;
+                }
+                parityClauses.add(new int[] {parity ? last : -last});
+                auxiliaryCounts.add(xorVariables.length - 1);
+            }
+            xorClauses.add(clauses);
+        }
+
+        /**
+         * Estimates the number of solutions by searching the smallest number of
+         * XOR constraints for which a cell contains less solutions than the
+         * threshold. As the cells are nested, the cell sizes decrease
+         * monotonically and the number can be found by exponential and binary
+         * search.
+         *
+         * @return the estimate, or {@code null} if a timeout occurred
+         */
+        private BigInteger estimate(int threshold) {
+            int low = 0;
+            int high = 1;
+            int highCount;
+            while (true) {
+                high = Math.min(high, variables.length);
+                highCount = count(high, threshold);
+                if (highCount < 0) {
+                    return null;
+                } else if (highCount < threshold) {
+                    break;
+                } else if (high == variables.length) {
+                    return countUnbounded(high);
+                }
+                low = high;
+                high *= 2;
+            }
+            while (high - low > 1) {
+                final int middle = (low + high) >>> 1;
+                final int middleCount = count(middle, threshold);
+                if (middleCount < 0) {
+                    return null;
+                } else if (middleCount < threshold) {
+                    high = middle;
+                    highCount = middleCount;
+                } else {
+                    low = middle;
+                }
+            }
+            return BigInteger.valueOf(highCount).shiftLeft(high);
+        }
+
+        /**
+         * Estimates the number of solutions if all XOR constraints are used, but
+         * the cell still contains at least as many solutions as the threshold.
+         * This can only happen if the constraints are linearly dependent. No
+         * further constraint can be added, so the cell is counted without limit.
+         *
+         * @return the estimate, or {@code null} if a timeout occurred
+         */
+        private BigInteger countUnbounded(int xorCount) {
+            final int cellCount = count(xorCount, Integer.MAX_VALUE);
+            return cellCount < 0 ? null : BigInteger.valueOf(cellCount).shiftLeft(xorCount);
+        }
+
+        private void initializeSolver(SAT4JSolutionSolver solver) {
+            SAT4JSolver.initializeSolver(
+                    solver,
+                    BOOLEAN_CLAUSE_LIST.get(dependencyList),
+                    ASSUMED_ASSIGNMENT.get(dependencyList),
+                    ASSUMED_CLAUSE_LIST.get(dependencyList),
+                    SAT_TIMEOUT.get(dependencyList));
+        }
+    }
+
+    public ComputeApproximateSolutionCountSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(
+                clauseList,
+                new ComputeConstant<>(new BooleanAssignment()),
+                new ComputeConstant<>(0.8),
+                new ComputeConstant<>(0.2),
+                new ComputeConstant<>(1));
+    }
+
+    protected ComputeApproximateSolutionCountSAT4J(ComputeApproximateSolutionCountSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    public Result<ApproximateCount> compute(List<Object> dependencyList, Progress progress) {
+        final double epsilon = EPSILON.get(dependencyList);
+        final double delta = DELTA.get(dependencyList);
+        if (epsilon <= 0) {
+            return Result.empty(new IllegalArgumentException("epsilon must be positive: " + epsilon));
+        }
+        if (delta <= 0 || delta >= 1) {
+            return Result.empty(new IllegalArgumentException("delta must be between 0 and 1: " + delta));
+        }
+        final int variableCount =
+                BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap().size();
+        final BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+        final int[] variables = variablesOfInterest.isEmpty()
+                ? IntStream.rangeClosed(1, variableCount).toArray()
+                : IntStream.of(variablesOfInterest.get())
+                        .map(Math::abs)
+                        .filter(v -> v <= variableCount)
+                        .distinct()
+                        .toArray();
+
+        final double tolerance = 1 + 1 / epsilon;
+        final int threshold = (int) Math.ceil(1 + 9.84 * (1 + epsilon / (1 + epsilon)) * tolerance * tolerance);
+        final int iterations = (int) Math.ceil(17 * Math.log(3 / delta) / Math.log(2));
+        final Random random = new Random(RANDOM_SEED.get(dependencyList));
+
+        final int count = new HashedCells(dependencyList, variables, random).count(0, threshold);
+        if (count < 0) {
+            return Result.empty(new RuntimeTimeoutException());
+        } else if (count < threshold) {
+            return Result.of(ApproximateCount.exact(BigInteger.valueOf(count)));
+        }
+
+        progress.setTotalSteps(iterations);
+        final long[] seeds = random.longs(iterations).toArray();
+        final BigInteger[] estimates = new BigInteger[iterations];
+        final int threadCount = Math.max(1, Math.min(THREADS.get(dependencyList), iterations));
+        if (threadCount == 1) {
+            for (int i = 0; i < iterations; i++) {
+                checkCancel();
+                estimates[i] = new HashedCells(dependencyList, variables, new Random(seeds[i])).estimate(threshold);
+                progress.incrementCurrentStep();
+            }
+        } else {
+            final AtomicInteger finishedCount = new AtomicInteger();
+            try (ParallelTasks parallelTasks = new ParallelTasks(threadCount)) {
+                final List<Callable<Void>> tasks = new ArrayList<>(iterations);
+                for (int i = 0; i < iterations; i++) {
+                    final int iteration = i;
+                    final Random iterationRandom = new Random(seeds[i]);
+                    tasks.add(() -> {
+                        if (!parallelTasks.isStopped()) {
+                            estimates[iteration] =
+                                    new HashedCells(dependencyList, variables, iterationRandom).estimate(threshold);
+                        }
+                        finishedCount.incrementAndGet();
+                        return null;
+                    });
+                }
+                final int[] reportedCount = {0};
+                final Result<List<Void>> result = parallelTasks.run(tasks, () -> {
+                    checkCancel();
+                    for (; reportedCount[0] < finishedCount.get(); reportedCount[0]++) {
+                        progress.incrementCurrentStep();
+                    }
+                });
+                if (result.isEmpty()) {
+                    return result.nullify();
+                }
+            }
+        }
+
+        if (Arrays.stream(estimates).anyMatch(estimate -> estimate == null)) {
+            return Result.empty(new RuntimeTimeoutException());
+        }
+        Arrays.sort(estimates);
+        return Result.of(new ApproximateCount(estimates[iterations / 2], epsilon, delta));
+    }
+}
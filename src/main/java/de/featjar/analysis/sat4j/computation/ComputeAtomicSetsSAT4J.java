@@ -32,14 +32,20 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
 
 /**
  * Finds atomic sets.
+ * <p>
+ * All found solutions are stored in a column-major bit matrix, such that each
+ * variable is represented by a bit vector containing its value in every
+ * solution. Candidate variables are kept in a partition of equivalence classes,
+ * where each variable is either equal or complementary to the representative of
+ * its class. New solutions lazily split the classes word by word, so that SAT
+ * calls are only required for class members that could not be separated from
+ * their representative by any solution.
  *
  * @author Sebastian Krieter
  */
@@ -51,8 +57,12 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
     public static final Dependency<Boolean> OMIT_CORE = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_COMPLEMENTS = Dependency.newDependency(Boolean.class);
 
-    private List<BitSet> solutions;
-    private int variableCount, bitSetSize;
+    private long[][] columns;
+    private int variableCount, solutionCount, wordCount;
+
+    private int[] elements, positions, classOf, classStart, classEnd, classRefined;
+    private boolean[] inverted;
+    private int classCount;
 
     private Random random;
 
@@ -70,159 +80,150 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
     }
 
     @Override
-    protected SAT4JSolutionSolver newSolver(BooleanAssignmentList clauseList) {
-        return new SAT4JSolutionSolver(clauseList, true);
+    protected boolean isSimplificationAllowed() {
+        return true;
     }
 
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
         SAT4JSolutionSolver solver = createSolver(dependencyList);
-        random = new Random(RANDOM_SEED.get(dependencyList));
-        VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
-
-        boolean omitCore = OMIT_CORE.get(dependencyList);
-        boolean omitSingles = OMIT_SINGLE_SETS.get(dependencyList);
-        boolean omitComplements = OMIT_COMPLEMENTS.get(dependencyList);
-
-        final BooleanAssignmentList atomicSets = new BooleanAssignmentList(variableMap);
-        variableCount = variableMap.size();
-        bitSetSize = 2 * variableCount;
-        solutions = new ArrayList<>();
-
-        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
-        final BitSet undecided = new BitSet(bitSetSize);
-        if (variables.isEmpty()) {
-            undecided.flip(0, bitSetSize);
-        } else {
-            for (int var : variables.get()) {
-                undecided.set(var - 1);
-                undecided.set((var - 1) + variableCount);
-            }
-        }
-        checkCancel();
-        progress.setTotalSteps(2 * variableCount + 2);
+        try {
+            random = new Random(RANDOM_SEED.get(dependencyList));
+            VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
 
-        solver.setSelectionStrategy(ISelectionStrategy.positive());
-        Result<Boolean> hasSolution = solver.hasSolution();
-        if (hasSolution.isEmpty()) {
-            return hasSolution.nullify();
-        }
-        progress.incrementCurrentStep();
-        checkCancel();
-
-        BitSet commonLiterals = new BitSet(bitSetSize);
-        commonLiterals.xor(addSolution(solver.getInternalSolution(), 0));
-
-        solver.setSelectionStrategy(
-                ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
-        if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-            commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
-            solver.shuffleOrder(random);
-        } else {
-            throw new RuntimeTimeoutException();
-        }
+            boolean omitCore = OMIT_CORE.get(dependencyList);
+            boolean omitSingles = OMIT_SINGLE_SETS.get(dependencyList);
+            boolean omitComplements = OMIT_COMPLEMENTS.get(dependencyList);
 
-        progress.incrementCurrentStep();
-        checkCancel();
+            final BooleanAssignmentList atomicSets = new BooleanAssignmentList(variableMap);
+            variableCount = variableMap.size();
+            solutionCount = 0;
+            wordCount = 1;
+            columns = new long[variableCount][wordCount];
 
-        solver.setSelectionStrategy(ISelectionStrategy.random(random));
-        int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
-        for (int i = 0; i < log; i++) {
-            if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
-                solver.shuffleOrder(random);
+            BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+            final boolean[] undecided = new boolean[variableCount];
+            if (variables.isEmpty()) {
+                Arrays.fill(undecided, true);
             } else {
-                throw new RuntimeTimeoutException();
+                for (int var : variables.get()) {
+                    undecided[Math.abs(var) - 1] = true;
+                }
             }
-        }
-
-        commonLiterals.and(undecided);
+            checkCancel();
+            progress.setTotalSteps(2 * variableCount + 2);
 
-        ExpandableIntegerList core = new ExpandableIntegerList();
-        for (int i = 0; i < bitSetSize; i += 2) {
+            solver.setSelectionStrategy(ISelectionStrategy.positive());
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                return hasSolution.nullify();
+            }
             progress.incrementCurrentStep();
             checkCancel();
-            final int potentialCoreLiteral;
-            if (commonLiterals.get(i)) {
-                potentialCoreLiteral = (i >> 1) + 1;
-            } else if (commonLiterals.get(i + 1)) {
-                potentialCoreLiteral = -((i >> 1) + 1);
+
+            addSolution(solver.getInternalSolution());
+
+            solver.setSelectionStrategy(
+                    ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
+            if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
+                addSolution(solver.getInternalSolution());
+                solver.shuffleOrder(random);
             } else {
-                continue;
-            }
-            solver.getAssignment().add(-potentialCoreLiteral);
-            hasSolution = solver.hasSolution();
-            if (hasSolution.isEmpty()) {
                 throw new RuntimeTimeoutException();
-            } else if (hasSolution.valueEquals(Boolean.FALSE)) {
-                undecided.clear(i);
-                undecided.clear(i + 1);
-                core.add(potentialCoreLiteral);
-                solver.getClauseList().add(potentialCoreLiteral);
-            } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
-                solver.shuffleOrder(random);
             }
-            solver.getAssignment().remove();
-        }
-        if (!omitCore) {
-            atomicSets.add(new BooleanAssignment(core.toArray()));
-        }
-        for (int vi = 0; vi < bitSetSize; vi += 2) {
+
             progress.incrementCurrentStep();
             checkCancel();
-            if (undecided.get(vi)) {
-                int v = (vi >> 1) + 1;
 
-                ExpandableIntegerList atomicSet = new ExpandableIntegerList();
-                atomicSet.add(v);
-                undecided.clear(vi);
-                undecided.clear(vi + 1);
+            solver.setSelectionStrategy(ISelectionStrategy.random(random));
+            int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
+            for (int i = 0; i < log; i++) {
+                if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
+                    addSolution(solver.getInternalSolution());
+                    solver.shuffleOrder(random);
+                } else {
+                    throw new RuntimeTimeoutException();
+                }
+            }
 
-                commonLiterals = new BitSet(bitSetSize);
-                commonLiterals.xor(undecided);
+            ExpandableIntegerList core = new ExpandableIntegerList();
+            for (int i = 0; i < variableCount; i++) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                if (!undecided[i]) {
+                    continue;
+                }
+                final int potentialCoreLiteral = getCommonValue(i) * (i + 1);
+                if (potentialCoreLiteral == 0) {
+                    continue;
+                }
+                solver.getAssignment().add(-potentialCoreLiteral);
+                hasSolution = solver.hasSolution();
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    undecided[i] = false;
+                    core.add(potentialCoreLiteral);
+                    solver.getClauseList().add(potentialCoreLiteral);
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    addSolution(solver.getInternalSolution());
+                    solver.shuffleOrder(random);
+                }
+                solver.getAssignment().remove();
+            }
+            if (!omitCore) {
+                atomicSets.add(new BooleanAssignment(core.toArray()));
+            }
 
-                for (BitSet solution : solutions) {
-                    if (solution.get(vi)) {
-                        commonLiterals.and(solution);
-                    } else {
-                        commonLiterals.andNot(solution);
-                    }
-                    if (commonLiterals.isEmpty()) {
-                        break;
-                    }
+            initializePartition(undecided, omitComplements);
+            for (int v = 0; v < variableCount; v++) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                if (classOf[v] < 0) {
+                    continue;
                 }
+                refine(classOf[v]);
+                final int c = classOf[v];
+                setRepresentative(v);
 
-                int ui = vi;
-                while ((ui = commonLiterals.nextSetBit(ui + 2)) >= 0) {
-                    final int u;
-                    if (((ui & 1) == 0)) {
-                        u = (ui >> 1) + 1;
-                    } else {
-                        if (omitComplements) {
-                            ui--;
-                            continue;
-                        } else {
-                            u = -((ui >> 1) + 1);
-                            ui--;
-                        }
+                ExpandableIntegerList atomicSet = new ExpandableIntegerList();
+                atomicSet.add(v + 1);
+                classOf[v] = -1;
+
+                final int[] members = Arrays.copyOfRange(elements, classStart[c] + 1, classEnd[c]);
+                Arrays.sort(members);
+                for (int u : members) {
+                    if (classOf[u] != c) {
+                        continue;
                     }
-                    if (unsat(solver, -v, u) && unsat(solver, v, -u)) {
-                        atomicSet.add(u);
-                        undecided.clear(ui);
-                        undecided.clear(ui + 1);
+                    final int literal = inverted[u] ? -(u + 1) : u + 1;
+                    if (unsat(solver, -(v + 1), literal) && unsat(solver, v + 1, -literal)) {
+                        atomicSet.add(literal);
+                        classOf[u] = -1;
+                    } else {
+                        refine(c);
                     }
                 }
+                retainUnresolved(c);
 
                 if (!omitSingles || atomicSet.size() > 1) {
                     atomicSets.add(new BooleanAssignment(atomicSet.toArray()));
                 }
             }
-        }
 
-        solutions = null;
-        random = null;
-        return Result.of(atomicSets);
+            return Result.of(atomicSets);
+        } finally {
+            columns = null;
+            elements = null;
+            positions = null;
+            classOf = null;
+            classStart = null;
+            classEnd = null;
+            classRefined = null;
+            inverted = null;
+            random = null;
+            releaseSolver(dependencyList, solver);
+        }
     }
 
     private boolean unsat(SAT4JSolutionSolver solver, final int v, int u) {
@@ -233,7 +234,7 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
             if (hasSolution.isEmpty()) {
                 return false;
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                addSolution(solver.getInternalSolution(), Math.abs(v));
+                addSolution(solver.getInternalSolution());
                 solver.shuffleOrder(random);
                 return false;
             }
@@ -244,14 +245,178 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
         }
     }
 
-    private BitSet addSolution(final int[] solution, int min) {
-        BitSet bitSetSolution = new BitSet(bitSetSize);
-        solutions.add(bitSetSolution);
-        for (int i = min; i < variableCount; i++) {
-            boolean b = solution[i] > 0;
-            bitSetSolution.set(i << 1, b);
-            bitSetSolution.set((i << 1) + 1, !b);
+    private void addSolution(final int[] solution) {
+        final int word = solutionCount >>> 6;
+        if (word == wordCount) {
+            wordCount *= 2;
+            for (int i = 0; i < variableCount; i++) {
+                columns[i] = Arrays.copyOf(columns[i], wordCount);
+            }
+        }
+        final long bit = 1L << solutionCount;
+        for (int i = 0; i < variableCount; i++) {
+            if (solution[i] > 0) {
+                columns[i][word] |= bit;
+            }
+        }
+        solutionCount++;
+    }
+
+    /**
+     * Returns 1 if the variable is true in all solutions, -1 if it is false in
+     * all solutions, and 0 otherwise.
+     */
+    private int getCommonValue(int variable) {
+        final long[] column = columns[variable];
+        final long expected = (column[0] & 1L) != 0 ? -1L : 0L;
+        final int fullWords = solutionCount >>> 6;
+        for (int w = 0; w < fullWords; w++) {
+            if (column[w] != expected) {
+                return 0;
+            }
+        }
+        final int remainingBits = solutionCount & 63;
+        if (remainingBits != 0 && ((column[fullWords] ^ expected) & ((1L << remainingBits) - 1)) != 0) {
+            return 0;
+        }
+        return expected != 0 ? 1 : -1;
+    }
+
+    /**
+     * Puts all undecided variables into a single class. If complements are
+     * allowed, each variable is inverted relative to the representative
+     * according to the first solution.
+     */
+    private void initializePartition(boolean[] undecided, boolean omitComplements) {
+        elements = new int[variableCount];
+        positions = new int[variableCount];
+        classOf = new int[variableCount];
+        inverted = new boolean[variableCount];
+        int size = 0;
+        for (int i = 0; i < variableCount; i++) {
+            if (undecided[i]) {
+                positions[i] = size;
+                elements[size++] = i;
+            } else {
+                classOf[i] = -1;
+            }
+        }
+        classStart = new int[size];
+        classEnd = new int[size];
+        classRefined = new int[size];
+        classCount = 0;
+        if (size > 0) {
+            classEnd[classCount++] = size;
+            if (!omitComplements) {
+                final long representativeValue = columns[elements[0]][0] & 1L;
+                for (int i = 0; i < size; i++) {
+                    inverted[elements[i]] = (columns[elements[i]][0] & 1L) != representativeValue;
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the given class and all classes split off from it by all
+     * solutions that were not yet considered for them.
+     */
+    private void refine(int c) {
+        final int firstNewClass = classCount;
+        refineClass(c);
+        for (int k = firstNewClass; k < classCount; k++) {
+            refineClass(k);
+        }
+    }
+
+    private void refineClass(int c) {
+        int from = classRefined[c];
+        while (from < solutionCount && classEnd[c] - classStart[c] > 1) {
+            final int word = from >>> 6;
+            final int to = Math.min(solutionCount, (word + 1) << 6);
+            final long mask = (-1L << from) & (to == (word + 1) << 6 ? -1L : (1L << to) - 1);
+            split(c, word, mask, to);
+            from = to;
         }
-        return bitSetSolution;
+        classRefined[c] = solutionCount;
+    }
+
+    /**
+     * Groups the members of a class by their values in the masked solutions of
+     * one word. Members that agree with the representative remain in the class,
+     * all other groups become new classes.
+     */
+    private void split(int c, int word, long mask, int refined) {
+        final int end = classEnd[c];
+        int mid = partition(classStart[c] + 1, end, signature(elements[classStart[c]], word, mask), word, mask);
+        classEnd[c] = mid;
+        while (mid < end) {
+            final int representative = elements[mid];
+            final boolean representativeInverted = inverted[representative];
+            final int next = partition(mid + 1, end, signature(representative, word, mask), word, mask);
+            final int newClass = classCount++;
+            classStart[newClass] = mid;
+            classEnd[newClass] = next;
+            classRefined[newClass] = refined;
+            for (int i = mid; i < next; i++) {
+                final int u = elements[i];
+                classOf[u] = newClass;
+                inverted[u] ^= representativeInverted;
+            }
+            mid = next;
+        }
+    }
+
+    private int partition(int from, int to, long signature, int word, long mask) {
+        int mid = from;
+        for (int i = from; i < to; i++) {
+            if (signature(elements[i], word, mask) == signature) {
+                swap(i, mid++);
+            }
+        }
+        return mid;
+    }
+
+    private long signature(int variable, int word, long mask) {
+        return (inverted[variable] ? ~columns[variable][word] : columns[variable][word]) & mask;
+    }
+
+    private void setRepresentative(int v) {
+        final int c = classOf[v];
+        swap(positions[v], classStart[c]);
+        if (inverted[v]) {
+            for (int i = classStart[c]; i < classEnd[c]; i++) {
+                inverted[elements[i]] ^= true;
+            }
+        }
+    }
+
+    /**
+     * Removes all resolved variables from a class. The remaining variables,
+     * whose equivalence could not be decided due to a timeout, stay in the class
+     * with the first of them as new representative.
+     */
+    private void retainUnresolved(int c) {
+        final int end = classEnd[c];
+        int mid = classStart[c];
+        for (int i = mid; i < end; i++) {
+            if (classOf[elements[i]] != c) {
+                swap(i, mid++);
+            }
+        }
+        classStart[c] = mid;
+        if (mid < end && inverted[elements[mid]]) {
+            for (int i = mid; i < end; i++) {
+                inverted[elements[i]] ^= true;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        final int u = elements[i];
+        final int w = elements[j];
+        elements[i] = w;
+        elements[j] = u;
+        positions[w] = i;
+        positions[u] = j;
     }
 }
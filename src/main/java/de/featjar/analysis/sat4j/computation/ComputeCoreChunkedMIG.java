@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.ComputeConstant;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Finds core and dead features by testing chunks of candidate literals at
+ * once. For each chunk, a clause containing the negation of all candidates is
+ * added to the solver. If this clause is unsatisfiable, all literals of the
+ * chunk are core literals. Otherwise, the found solution removes at least one
+ * candidate. The chunk size is doubled after each unsatisfiable and halved
+ * after each satisfiable call. Literals that are implied by confirmed core
+ * literals are derived using a {@link ModalImplicationGraph model implication
+ * graph}.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeCoreChunkedMIG extends ASAT4JAnalysis.Solution<BooleanAssignment> {
+
+    public static final Dependency<ModalImplicationGraph> MIG = Dependency.newDependency(ModalImplicationGraph.class);
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+
+    /**
+     * The maximum number of candidates in one chunk.
+     */
+    public static final Dependency<Integer> MAX_CHUNK_SIZE = Dependency.newDependency(Integer.class);
+
+    public ComputeCoreChunkedMIG(IComputation<BooleanAssignmentList> clauseList) {
+        super(
+                clauseList,
+                new MIGBuilder(clauseList),
+                new ComputeConstant<>(new BooleanAssignment()),
+                new ComputeConstant<>(1024));
+    }
+
+    protected ComputeCoreChunkedMIG(ComputeCoreChunkedMIG other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignment> compute(List<Object> dependencyList, Progress progress) {
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        try {
+            Random random = new Random(RANDOM_SEED.get(dependencyList));
+            BooleanAssignment assignment = ASSUMED_ASSIGNMENT.get(dependencyList);
+            BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+            ModalImplicationGraph mig = MIG.get(dependencyList);
+            int maxChunkSize = MAX_CHUNK_SIZE.get(dependencyList);
+            if (maxChunkSize < 1) {
+                throw new IllegalArgumentException("Chunk size must be greater than 0. Value was " + maxChunkSize);
+            }
+
+            solver.setSelectionStrategy(ISelectionStrategy.positive());
+            Result<BooleanSolution> solution = solver.findSolution();
+            checkCancel();
+            if (solution.isEmpty()) {
+                return Result.empty();
+            }
+            int[] candidates = solution.get().get();
+            progress.setTotalSteps(candidates.length + 2);
+            progress.incrementCurrentStep();
+
+            solver.setSelectionStrategy(ISelectionStrategy.inverse(candidates));
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                return hasSolution.nullify();
+            }
+            BooleanSolution.removeConflictsInplace(candidates, solver.getInternalSolution());
+            solver.shuffleOrder(random);
+            solver.setSelectionStrategy(ISelectionStrategy.random(random));
+            progress.incrementCurrentStep();
+            checkCancel();
+
+            if (!variablesOfInterest.isEmpty()) {
+                final int[] filteredCandidates = new int[candidates.length];
+                for (int variable : variablesOfInterest.get()) {
+                    filteredCandidates[variable - 1] = candidates[variable - 1];
+                }
+                candidates = filteredCandidates;
+            }
+
+            MIGVisitorByte visitor = new MIGVisitorByte(mig);
+            visitor.propagate(assignment.get());
+            removeCandidates(candidates, visitor, 0);
+            for (int l : mig.getCore()) {
+                final int index = Math.abs(l) - 1;
+                if (candidates[index] != 0) {
+                    candidates[index] = 0;
+                    solver.getAssignment().add(l);
+                }
+            }
+
+            final int[] chunk = new int[Math.min(maxChunkSize, candidates.length)];
+            int chunkSize = 1;
+            int nextCandidate = 0;
+            while (true) {
+                checkCancel();
+                int chunkLength = 0;
+                for (int i = nextCandidate; i < candidates.length && chunkLength < chunkSize; i++) {
+                    if (candidates[i] != 0) {
+                        if (chunkLength == 0) {
+                            nextCandidate = i;
+                        }
+                        chunk[chunkLength++] = candidates[i];
+                    }
+                }
+                if (chunkLength == 0) {
+                    break;
+                }
+
+                if (chunkLength == 1) {
+                    solver.getAssignment().add(-chunk[0]);
+                    hasSolution = solver.hasSolution();
+                    solver.getAssignment().remove();
+                } else {
+                    final int[] negatedChunk = new int[chunkLength];
+                    for (int i = 0; i < chunkLength; i++) {
+                        negatedChunk[i] = -chunk[i];
+                    }
+                    solver.getClauseList().add(negatedChunk);
+                    hasSolution = solver.hasSolution();
+                    solver.getClauseList().remove();
+                }
+
+                if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    for (int i = 0; i < chunkLength; i++) {
+                        final int l = chunk[i];
+                        final int index = Math.abs(l) - 1;
+                        if (candidates[index] != 0) {
+                            candidates[index] = 0;
+                            solver.getAssignment().add(l);
+                            progress.incrementCurrentStep();
+                            final int addedLiteralCount = visitor.getAddedLiteralCount();
+                            visitor.propagate(l);
+                            addImpliedCandidates(candidates, visitor, addedLiteralCount, solver, progress);
+                        }
+                    }
+                    chunkSize = Math.min(chunkSize << 1, chunk.length);
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    removeConflicts(candidates, solver.getInternalSolution(), progress);
+                    solver.shuffleOrder(random);
+                    chunkSize = Math.max(chunkSize >> 1, 1);
+                } else if (chunkLength == 1) {
+                    candidates[Math.abs(chunk[0]) - 1] = 0;
+                    progress.incrementCurrentStep();
+                } else {
+                    chunkSize = Math.max(chunkLength >> 1, 1);
+                }
+            }
+
+            return solver.createResult(solver.getAssignment().toAssignment());
+        } finally {
+            releaseSolver(dependencyList, solver);
+        }
+    }
+
+    private void removeCandidates(int[] candidates, MIGVisitorByte visitor, int start) {
+        final int[] addedLiterals = visitor.getAddedLiterals();
+        for (int i = start, end = visitor.getAddedLiteralCount(); i < end; i++) {
+            candidates[Math.abs(addedLiterals[i]) - 1] = 0;
+        }
+    }
+
+    private void addImpliedCandidates(
+            int[] candidates, MIGVisitorByte visitor, int start, SAT4JSolutionSolver solver, Progress progress) {
+        final int[] addedLiterals = visitor.getAddedLiterals();
+        for (int i = start, end = visitor.getAddedLiteralCount(); i < end; i++) {
+            final int l = addedLiterals[i];
+            final int index = Math.abs(l) - 1;
+            if (candidates[index] == l) {
+                candidates[index] = 0;
+                solver.getAssignment().add(l);
+                progress.incrementCurrentStep();
+            }
+        }
+    }
+
+    private void removeConflicts(int[] candidates, int[] solution, Progress progress) {
+        for (int i = 0; i < candidates.length; i++) {
+            final int l = candidates[i];
+            if (l != 0 && l != solution[i]) {
+                candidates[i] = 0;
+                progress.incrementCurrentStep();
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ParallelTasks;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.ComputeConstant;
 import de.featjar.base.computation.Dependency;
@@ -31,21 +32,99 @@ import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
 
 /**
  * Finds core and dead features.
+ * <p>
+ * If more than one {@link #THREADS thread} is used, the remaining candidate
+ * variables are split across multiple solvers. Each solution found by any
+ * solver removes conflicting candidates for all solvers and each confirmed
+ * core literal is added as a unit clause to all solvers.
  *
  * @author Sebastian Krieter
  */
 public class ComputeCoreSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
     protected static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
             Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * Number of solvers that check candidate literals in parallel. Uses a single
+     * solver per default.
+     */
+    public static final Dependency<Integer> THREADS = Dependency.newDependency(Integer.class);
+
+    private static class ParallelCoreSearch {
+        private final AtomicIntegerArray potentialCore;
+        private final AtomicIntegerArray confirmedCore;
+        private final AtomicInteger confirmedCount = new AtomicInteger();
+        private final AtomicInteger processedCount = new AtomicInteger();
+
+        private ParallelCoreSearch(int[] potentialCore) {
+            this.potentialCore = new AtomicIntegerArray(potentialCore);
+            confirmedCore = new AtomicIntegerArray(potentialCore.length);
+        }
+
+        private void search(
+                SAT4JSolutionSolver solver, Random random, int offset, int stride, BooleanSupplier stopped) {
+            int confirmedIndex = 0;
+            for (int i = offset; i < potentialCore.length() && !stopped.getAsBoolean(); i += stride) {
+                processedCount.incrementAndGet();
+                final int l = potentialCore.get(i);
+                if (l != 0) {
+                    while (confirmedIndex < confirmedCore.length()) {
+                        final int coreLiteral = confirmedCore.get(confirmedIndex);
+                        if (coreLiteral == 0) {
+                            break;
+                        }
+                        solver.getClauseList().add(coreLiteral);
+                        confirmedIndex++;
+                    }
+                    solver.getAssignment().add(-l);
+                    try {
+                        Result<Boolean> hasSolution = solver.hasSolution();
+                        if (hasSolution.valueEquals(false)) {
+                            confirmedCore.set(confirmedCount.getAndIncrement(), l);
+                        } else if (hasSolution.valueEquals(true)) {
+                            removeConflicts(solver.getInternalSolution());
+                            solver.shuffleOrder(random);
+                        }
+                    } finally {
+                        solver.getAssignment().remove();
+                    }
+                }
+            }
+        }
+
+        private void removeConflicts(int[] solution) {
+            for (int i = 0; i < potentialCore.length(); i++) {
+                final int l = potentialCore.get(i);
+                if (l != 0 && l != solution[i]) {
+                    potentialCore.compareAndSet(i, l, 0);
+                }
+            }
+        }
+
+        private int[] getConfirmedCore() {
+            return IntStream.range(0, confirmedCount.get())
+                    .map(confirmedCore::get)
+                    .boxed()
+                    .sorted(Comparator.comparingInt(Math::abs))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
 
     public ComputeCoreSAT4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList, new ComputeConstant<>(new BooleanAssignment()));
+        super(clauseList, new ComputeConstant<>(new BooleanAssignment()), new ComputeConstant<>(1));
     }
 
     protected ComputeCoreSAT4J(ComputeCoreSAT4J other) {
@@ -55,64 +134,127 @@ public class ComputeCoreSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentL
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
         SAT4JSolutionSolver solver = createSolver(dependencyList);
-        Random random = new Random(RANDOM_SEED.get(dependencyList));
-        BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
-        VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
-        int variableCount = variableMap.size();
-
-        checkCancel();
-        progress.setTotalSteps(variableCount + 2);
-
-        solver.setSelectionStrategy(ISelectionStrategy.positive());
-        Result<Boolean> hasSolution = solver.hasSolution();
-        if (hasSolution.isEmpty()) {
-            return hasSolution.nullify();
-        } else if (hasSolution.valueEquals(Boolean.FALSE)) {
-            return Result.of(new BooleanAssignmentList(variableMap));
-        }
-        int[] potentialCore = Arrays.copyOf(solver.getInternalSolution(), variableCount);
+        try {
+            Random random = new Random(RANDOM_SEED.get(dependencyList));
+            BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+            VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
+            int variableCount = variableMap.size();
 
-        progress.incrementCurrentStep();
-        checkCancel();
+            checkCancel();
+            progress.setTotalSteps(variableCount + 2);
 
-        solver.setSelectionStrategy(ISelectionStrategy.inverse(potentialCore));
-        hasSolution = solver.hasSolution();
-        if (hasSolution.isEmpty()) {
-            return hasSolution.nullify();
-        }
-        BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
-        solver.shuffleOrder(random);
-        solver.setSelectionStrategy(ISelectionStrategy.random(random));
+            solver.setSelectionStrategy(ISelectionStrategy.positive());
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                return hasSolution.nullify();
+            } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                return Result.of(new BooleanAssignmentList(variableMap));
+            }
+            int[] potentialCore = Arrays.copyOf(solver.getInternalSolution(), variableCount);
 
-        progress.incrementCurrentStep();
-        checkCancel();
+            progress.incrementCurrentStep();
+            checkCancel();
 
-        if (!variablesOfInterest.isEmpty()) {
-            for (int l : variablesOfInterest.get()) {
-                potentialCore[l - 1] = 0;
+            solver.setSelectionStrategy(ISelectionStrategy.inverse(potentialCore));
+            hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                return hasSolution.nullify();
             }
-        }
+            BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
+            solver.shuffleOrder(random);
+            solver.setSelectionStrategy(ISelectionStrategy.random(random));
 
-        for (int i = 0; i < variableCount; i++) {
             progress.incrementCurrentStep();
             checkCancel();
-            final int l = potentialCore[i];
-            if (l != 0) {
-                solver.getAssignment().add(-l);
-                hasSolution = solver.hasSolution();
-                if (hasSolution.valueEquals(false)) {
-                    solver.getAssignment().replaceLast(l);
-                } else if (hasSolution.isEmpty()) {
-                    solver.getAssignment().remove();
-                } else if (hasSolution.valueEquals(true)) {
-                    solver.getAssignment().remove();
-                    BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
-                    solver.shuffleOrder(random);
+
+            if (!variablesOfInterest.isEmpty()) {
+                for (int l : variablesOfInterest.get()) {
+                    potentialCore[l - 1] = 0;
+                }
+            }
+
+            final int threadCount = THREADS.get(dependencyList);
+            if (threadCount > 1) {
+                return computeParallel(dependencyList, progress, solver, random, potentialCore, threadCount);
+            }
+
+            for (int i = 0; i < variableCount; i++) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                final int l = potentialCore[i];
+                if (l != 0) {
+                    solver.getAssignment().add(-l);
+                    hasSolution = solver.hasSolution();
+                    if (hasSolution.valueEquals(false)) {
+                        solver.getAssignment().replaceLast(l);
+                    } else if (hasSolution.isEmpty()) {
+                        solver.getAssignment().remove();
+                    } else if (hasSolution.valueEquals(true)) {
+                        solver.getAssignment().remove();
+                        BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
+                        solver.shuffleOrder(random);
+                    }
                 }
             }
+
+            return solver.createResult(
+                    new BooleanAssignmentList(variableMap, solver.getAssignment().toAssignment()));
+        } finally {
+            releaseSolver(dependencyList, solver);
         }
+    }
 
-        return solver.createResult(
-                new BooleanAssignmentList(variableMap, solver.getAssignment().toAssignment()));
+    private Result<BooleanAssignmentList> computeParallel(
+            List<Object> dependencyList,
+            Progress progress,
+            SAT4JSolutionSolver solver,
+            Random random,
+            int[] potentialCore,
+            int threadCount) {
+        final ParallelCoreSearch search = new ParallelCoreSearch(potentialCore);
+        final List<SAT4JSolutionSolver> solvers = new ArrayList<>(threadCount);
+        try (ParallelTasks parallelTasks = new ParallelTasks(threadCount)) {
+            final List<Callable<Void>> tasks = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                final int offset = i;
+                final Random solverRandom = i == 0 ? random : new Random(random.nextLong());
+                final SAT4JSolutionSolver taskSolver = i == 0 ? solver : createSolver(dependencyList);
+                if (i > 0) {
+                    solvers.add(taskSolver);
+                    taskSolver.shuffleOrder(solverRandom);
+                    taskSolver.setSelectionStrategy(ISelectionStrategy.random(solverRandom));
+                }
+                tasks.add(() -> {
+                    search.search(taskSolver, solverRandom, offset, threadCount, parallelTasks::isStopped);
+                    return null;
+                });
+            }
+
+            final int[] reportedCount = {0};
+            final Result<List<Void>> result = parallelTasks.run(tasks, () -> {
+                checkCancel();
+                for (; reportedCount[0] < search.processedCount.get(); reportedCount[0]++) {
+                    progress.incrementCurrentStep();
+                }
+            });
+            if (result.isEmpty()) {
+                return result.nullify();
+            }
+
+            SAT4JSolutionSolver resultSolver = solver;
+            for (SAT4JSolutionSolver otherSolver : solvers) {
+                if (otherSolver.isTimeoutOccurred()) {
+                    resultSolver = otherSolver;
+                }
+            }
+            final int[] assumedLiterals = solver.getAssignment().get();
+            final int[] coreLiterals = search.getConfirmedCore();
+            final int[] literals = Arrays.copyOf(assumedLiterals, assumedLiterals.length + coreLiterals.length);
+            System.arraycopy(coreLiterals, 0, literals, assumedLiterals.length, coreLiterals.length);
+            return resultSolver.createResult(new BooleanAssignmentList(
+                    BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap(), new BooleanAssignment(literals)));
+        } finally {
+            solvers.forEach(s -> releaseSolver(dependencyList, s));
+        }
     }
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the transitive reduction of {@link Implications} as an
+ * {@link ImplicationDAG}.
+ * <p>
+ * As the implications are transitively closed, two variables are equivalent
+ * iff they imply each other, so the strongly connected components can be read
+ * directly from the implied literals, which are stored as one bit set per
+ * variable. Each literal that is not equivalent to another one forms its own
+ * component. Components are sorted by the number of literals they reach, which
+ * is a topological order. Finally, an edge to a component is removed if the
+ * component is also reachable from another successor.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeImplicationDAG extends AComputation<ImplicationDAG> {
+
+    public static final Dependency<Implications> IMPLICATIONS = Dependency.newDependency(Implications.class);
+
+    public ComputeImplicationDAG(IComputation<Implications> implications) {
+        super(implications);
+    }
+
+    protected ComputeImplicationDAG(ComputeImplicationDAG other) {
+        super(other);
+    }
+
+    @Override
+    public Result<ImplicationDAG> compute(List<Object> dependencyList, Progress progress) {
+        final Implications implications = IMPLICATIONS.get(dependencyList);
+        final int variableCount = implications.getVariableMap().size();
+        final int vertexCount = 2 * variableCount;
+        progress.setTotalSteps(3);
+
+        final BitSet[] implied = new BitSet[variableCount];
+        for (int v = 1; v <= variableCount; v++) {
+            final BitSet row = new BitSet(vertexCount);
+            for (int l : implications.getImplied(v)) {
+                row.set(ModalImplicationGraph.getVertexIndex(l));
+            }
+            implied[v - 1] = row;
+        }
+
+        final int[] components = new int[vertexCount];
+        Arrays.fill(components, -1);
+        int componentCount = 0;
+        for (int v = 1; v <= variableCount; v++) {
+            final int vertex = ModalImplicationGraph.getVertexIndex(v);
+            if (components[vertex] < 0) {
+                final int component = componentCount++;
+                components[vertex] = component;
+                final BitSet row = implied[v - 1];
+                for (int u = row.nextSetBit(0); u >= 0; u = row.nextSetBit(u + 1)) {
+                    if ((u & 1) == 1 && implied[u >> 1].get(vertex)) {
+                        components[u] = component;
+                    }
+                }
+            }
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (components[vertex] < 0) {
+                components[vertex] = componentCount++;
+            }
+        }
+        progress.incrementCurrentStep();
+        checkCancel();
+
+        final int[] componentOffsets = new int[componentCount + 1];
+        final int[] representatives = new int[componentCount];
+        Arrays.fill(representatives, -1);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            final int component = components[vertex];
+            componentOffsets[component + 1]++;
+            if (representatives[component] < 0 || (vertex & 1) == 1) {
+                representatives[component] = vertex;
+            }
+        }
+        final int[] reach = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            final int representative = representatives[c];
+            reach[c] = (representative & 1) == 1
+                    ? implied[representative >> 1].cardinality() - (componentOffsets[c + 1] - 1)
+                    : 0;
+        }
+        final int[] order = sortByReach(reach, representatives);
+        final int[] rank = new int[componentCount];
+        for (int i = 0; i < componentCount; i++) {
+            rank[order[i]] = i;
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            components[vertex] = rank[components[vertex]];
+        }
+
+        final int[] sizes = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            sizes[rank[c]] = componentOffsets[c + 1];
+        }
+        componentOffsets[0] = 0;
+        for (int c = 0; c < componentCount; c++) {
+            componentOffsets[c + 1] = componentOffsets[c] + sizes[c];
+        }
+        final int[] componentLiterals = new int[vertexCount];
+        final int[] cursor = Arrays.copyOf(componentOffsets, componentCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            componentLiterals[cursor[components[vertex]]++] = getLiteral(vertex);
+        }
+        progress.incrementCurrentStep();
+        checkCancel();
+
+        final BitSet[] closure = new BitSet[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            final int representative = representatives[order[c]];
+            if ((representative & 1) == 1) {
+                final BitSet row = implied[representative >> 1];
+                final BitSet successors = new BitSet(componentCount);
+                for (int u = row.nextSetBit(0); u >= 0; u = row.nextSetBit(u + 1)) {
+                    successors.set(components[u]);
+                }
+                successors.clear(c);
+                closure[c] = successors;
+            }
+        }
+        final int[] edgeOffsets = new int[componentCount + 1];
+        final BitSet[] reduced = new BitSet[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            checkCancel();
+            if (closure[c] != null) {
+                final BitSet indirect = new BitSet(componentCount);
+                final BitSet successors = closure[c];
+                for (int s = successors.nextSetBit(0); s >= 0; s = successors.nextSetBit(s + 1)) {
+                    if (closure[s] != null) {
+                        indirect.or(closure[s]);
+                    }
+                }
+                final BitSet direct = (BitSet) successors.clone();
+                direct.andNot(indirect);
+                reduced[c] = direct;
+                edgeOffsets[c + 1] = edgeOffsets[c] + direct.cardinality();
+            } else {
+                edgeOffsets[c + 1] = edgeOffsets[c];
+            }
+        }
+        final int[] edgeTargets = new int[edgeOffsets[componentCount]];
+        for (int c = 0; c < componentCount; c++) {
+            if (reduced[c] != null) {
+                int e = edgeOffsets[c];
+                for (int s = reduced[c].nextSetBit(0); s >= 0; s = reduced[c].nextSetBit(s + 1)) {
+                    edgeTargets[e++] = s;
+                }
+            }
+        }
+        progress.incrementCurrentStep();
+
+        return Result.of(new ImplicationDAG(
+                implications.getVariableMap(),
+                implications.getCore(),
+                components,
+                componentOffsets,
+                componentLiterals,
+                edgeOffsets,
+                edgeTargets));
+    }
+
+    /**
+     * Sorts the components by decreasing reach. Ties are broken by the
+     * representative to make the order deterministic.
+     */
+    private static int[] sortByReach(int[] reach, int[] representatives) {
+        return IntStream.range(0, reach.length)
+                .boxed()
+                .sorted((a, b) -> reach[a] != reach[b]
+                        ? Integer.compare(reach[b], reach[a])
+                        : Integer.compare(representatives[a], representatives[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static int getLiteral(int vertex) {
+        return (vertex & 1) == 0 ? -((vertex >> 1) + 1) : (vertex >> 1) + 1;
+    }
+}
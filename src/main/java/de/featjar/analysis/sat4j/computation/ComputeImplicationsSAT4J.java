@@ -20,8 +20,12 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.RuntimeContradictionException;
 import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.IMIGVisitor;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
@@ -39,16 +43,34 @@ import java.util.List;
 import java.util.Random;
 
 /**
- * Finds atomic sets.
+ * Finds all literals that are implied by a variable.
+ * <p>
+ * Candidate literals for a variable are those that are contained in all found
+ * solutions containing the variable. If a {@link #MIG modal implication graph}
+ * is given, the variable is propagated in it before a candidate is checked with
+ * a SAT call. Candidates that are reached by propagation or whose negation
+ * leads to a contradiction are then accepted without SAT call. The result
+ * is returned in the compact adjacency form of {@link Implications}.
  *
  * @author Sebastian Krieter
  */
-public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<Implications> {
 
     public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
             Dependency.newDependency(BooleanAssignment.class);
-    public static final Dependency<Boolean> OMIT_SINGLE_SETS = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_CORE = Dependency.newDependency(Boolean.class);
+    /**
+     * Graph that is used to decide implications without SAT calls. Uses
+     * {@link #NO_MIG} per default, such that every candidate is checked by the
+     * solver.
+     */
+    public static final Dependency<ModalImplicationGraph> MIG = Dependency.newDependency(ModalImplicationGraph.class);
+
+    /**
+     * A graph that disables the pruning of candidates.
+     */
+    public static final ModalImplicationGraph NO_MIG = new ModalImplicationGraph(
+            0, new int[0], new int[0][], new int[0][], new int[0], new int[0][], new int[0]);
 
     private List<BitSet> solutions;
     private int variableCount, bitSetSize;
@@ -60,7 +82,7 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
                 clauseList,
                 Computations.of(new BooleanAssignment()),
                 Computations.of(Boolean.FALSE),
-                Computations.of(Boolean.FALSE));
+                Computations.of(NO_MIG));
     }
 
     protected ComputeImplicationsSAT4J(ComputeImplicationsSAT4J other) {
@@ -68,151 +90,166 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
     }
 
     @Override
-    protected SAT4JSolutionSolver newSolver(BooleanAssignmentList clauseList) {
-        return new SAT4JSolutionSolver(clauseList, true);
+    protected boolean isSimplificationAllowed() {
+        return true;
     }
 
     @Override
-    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+    public Result<Implications> compute(List<Object> dependencyList, Progress progress) {
         SAT4JSolutionSolver solver = createSolver(dependencyList);
-        random = new Random(RANDOM_SEED.get(dependencyList));
-        VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
-
-        boolean omitCore = OMIT_CORE.get(dependencyList);
-        boolean omitSingles = OMIT_SINGLE_SETS.get(dependencyList);
-
-        final BooleanAssignmentList implications = new BooleanAssignmentList(variableMap);
-        variableCount = variableMap.size();
-        bitSetSize = 2 * variableCount;
-        solutions = new ArrayList<>();
-
-        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
-        final BitSet undecided = new BitSet(bitSetSize);
-        if (variables.isEmpty()) {
-            undecided.flip(0, bitSetSize);
-        } else {
-            for (int var : variables.get()) {
-                undecided.set(var - 1);
-                undecided.set((var - 1) + variableCount);
+        try {
+            random = new Random(RANDOM_SEED.get(dependencyList));
+            VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
+
+            boolean omitCore = OMIT_CORE.get(dependencyList);
+
+            variableCount = variableMap.size();
+            bitSetSize = 2 * variableCount;
+            solutions = new ArrayList<>();
+
+            BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+            final BitSet undecided = new BitSet(bitSetSize);
+            if (variables.isEmpty()) {
+                undecided.flip(0, bitSetSize);
+            } else {
+                for (int var : variables.get()) {
+                    undecided.set((Math.abs(var) - 1) << 1);
+                    undecided.set(((Math.abs(var) - 1) << 1) + 1);
+                }
             }
-        }
-        checkCancel();
-        progress.setTotalSteps(2 * variableCount + 2);
+            checkCancel();
+            progress.setTotalSteps(2 * variableCount + 2);
 
-        solver.setSelectionStrategy(ISelectionStrategy.positive());
-        Result<Boolean> hasSolution = solver.hasSolution();
-        if (hasSolution.isEmpty()) {
-            return hasSolution.nullify();
-        }
-        progress.incrementCurrentStep();
-        checkCancel();
-
-        BitSet commonLiterals = new BitSet(bitSetSize);
-        commonLiterals.xor(addSolution(solver.getInternalSolution(), 0));
-
-        solver.setSelectionStrategy(
-                ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
-        if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-            commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
-            solver.shuffleOrder(random);
-        } else {
-            throw new RuntimeTimeoutException();
-        }
+            solver.setSelectionStrategy(ISelectionStrategy.positive());
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                return hasSolution.nullify();
+            }
+            progress.incrementCurrentStep();
+            checkCancel();
 
-        progress.incrementCurrentStep();
-        checkCancel();
+            BitSet commonLiterals = new BitSet(bitSetSize);
+            commonLiterals.xor(addSolution(solver.getInternalSolution()));
 
-        solver.setSelectionStrategy(ISelectionStrategy.random(random));
-        int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
-        for (int i = 0; i < log; i++) {
+            solver.setSelectionStrategy(
+                    ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
             if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+                commonLiterals.and(addSolution(solver.getInternalSolution()));
                 solver.shuffleOrder(random);
             } else {
                 throw new RuntimeTimeoutException();
             }
-        }
 
-        commonLiterals.and(undecided);
-
-        ExpandableIntegerList core = new ExpandableIntegerList();
-        for (int i = 0; i < bitSetSize; i += 2) {
             progress.incrementCurrentStep();
             checkCancel();
-            final int potentialCoreLiteral;
-            if (commonLiterals.get(i)) {
-                potentialCoreLiteral = (i >> 1) + 1;
-            } else if (commonLiterals.get(i + 1)) {
-                potentialCoreLiteral = -((i >> 1) + 1);
-            } else {
-                continue;
+
+            solver.setSelectionStrategy(ISelectionStrategy.random(random));
+            int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
+            for (int i = 0; i < log; i++) {
+                if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
+                    commonLiterals.and(addSolution(solver.getInternalSolution()));
+                    solver.shuffleOrder(random);
+                } else {
+                    throw new RuntimeTimeoutException();
+                }
             }
-            solver.getAssignment().add(-potentialCoreLiteral);
-            hasSolution = solver.hasSolution();
-            if (hasSolution.isEmpty()) {
-                throw new RuntimeTimeoutException();
-            } else if (hasSolution.valueEquals(Boolean.FALSE)) {
-                undecided.clear(i);
-                undecided.clear(i + 1);
-                core.add(potentialCoreLiteral);
-                solver.getClauseList().add(potentialCoreLiteral);
-            } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
-                solver.shuffleOrder(random);
+
+            commonLiterals.and(undecided);
+
+            ExpandableIntegerList core = new ExpandableIntegerList();
+            for (int i = 0; i < bitSetSize; i += 2) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                final int potentialCoreLiteral;
+                if (commonLiterals.get(i)) {
+                    potentialCoreLiteral = (i >> 1) + 1;
+                } else if (commonLiterals.get(i + 1)) {
+                    potentialCoreLiteral = -((i >> 1) + 1);
+                } else {
+                    continue;
+                }
+                solver.getAssignment().add(-potentialCoreLiteral);
+                hasSolution = solver.hasSolution();
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    undecided.clear(i);
+                    undecided.clear(i + 1);
+                    core.add(potentialCoreLiteral);
+                    solver.getClauseList().add(potentialCoreLiteral);
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    commonLiterals.and(addSolution(solver.getInternalSolution()));
+                    solver.shuffleOrder(random);
+                }
+                solver.getAssignment().remove();
             }
-            solver.getAssignment().remove();
-        }
-        if (!omitCore) {
-            implications.add(new BooleanAssignment(core.toArray()));
-        }
-        for (int vi = 0; vi < bitSetSize; vi += 2) {
-            progress.incrementCurrentStep();
-            checkCancel();
-            if (undecided.get(vi)) {
-                int v = (vi >> 1) + 1;
 
-                ExpandableIntegerList implicationSet = new ExpandableIntegerList();
-                implicationSet.add(v);
-                undecided.clear(vi);
+            final ModalImplicationGraph mig = MIG.get(dependencyList);
+            final IMIGVisitor visitor = mig == NO_MIG ? null : new MIGVisitorByte(mig);
+            final int[] offsets = new int[variableCount + 1];
+            final ExpandableIntegerList impliedLiterals = new ExpandableIntegerList();
+            for (int vi = 0; vi < bitSetSize; vi += 2) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                final int v = (vi >> 1) + 1;
+                if (undecided.get(vi)) {
+                    commonLiterals = new BitSet(bitSetSize);
+                    commonLiterals.xor(undecided);
+                    commonLiterals.clear(vi);
+                    commonLiterals.clear(vi + 1);
 
-                commonLiterals = new BitSet(bitSetSize);
-                commonLiterals.xor(undecided);
+                    for (BitSet solution : solutions) {
+                        if (solution.get(vi)) {
+                            commonLiterals.and(solution);
+                            if (commonLiterals.isEmpty()) {
+                                break;
+                            }
+                        }
+                    }
 
-                for (BitSet solution : solutions) {
-                    if (solution.get(vi)) {
-                        commonLiterals.and(solution);
-                        if (commonLiterals.isEmpty()) {
-                            break;
+                    boolean propagated = false;
+                    if (visitor != null) {
+                        try {
+                            visitor.propagate(v);
+                            propagated = true;
+                        } catch (RuntimeContradictionException e) {
+                            visitor.reset();
                         }
                     }
-                }
 
-                int ui = commonLiterals.nextSetBit(0);
-                while (ui >= 0) {
-                    final int u;
-                    if (((ui & 1) == 0)) {
-                        u = (ui >> 1) + 1;
-                    } else {
-                        u = -((ui >> 1) + 1);
-                        ui--;
+                    int ui = commonLiterals.nextSetBit(0);
+                    while (ui >= 0) {
+                        final int u;
+                        if (((ui & 1) == 0)) {
+                            u = (ui >> 1) + 1;
+                        } else {
+                            u = -((ui >> 1) + 1);
+                            ui--;
+                        }
+                        // -u contradicts if u was set by propagating v or if -u leads to a conflict
+                        if (propagated && visitor.isContradiction(-u)) {
+                            impliedLiterals.add(u);
+                        } else if (unsat(solver, v, -u)) {
+                            impliedLiterals.add(u);
+                        } else {
+                            commonLiterals.and(solutions.get(solutions.size() - 1));
+                        }
+                        ui = commonLiterals.nextSetBit(ui + 2);
                     }
-                    if (unsat(solver, v, -u)) {
-                        implicationSet.add(u);
-                    } else {
-                        commonLiterals.and(solutions.get(solutions.size() - 1));
+                    if (visitor != null) {
+                        visitor.reset();
                     }
-                    ui = commonLiterals.nextSetBit(ui + 2);
-                }
-
-                if (!omitSingles || implicationSet.size() > 1) {
-                    implications.add(new BooleanAssignment(implicationSet.toArray()));
                 }
+                offsets[v] = impliedLiterals.size();
             }
-        }
 
-        solutions = null;
-        random = null;
-        return Result.of(implications);
+            solutions = null;
+            random = null;
+            return Result.of(new Implications(
+                    variableMap, omitCore ? new int[0] : core.toArray(), offsets, impliedLiterals.toArray()));
+        } finally {
+            releaseSolver(dependencyList, solver);
+        }
     }
 
     private boolean unsat(SAT4JSolutionSolver solver, final int v, int u) {
@@ -223,7 +260,7 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
             if (hasSolution.isEmpty()) {
                 return false;
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                addSolution(solver.getInternalSolution(), 0);
+                addSolution(solver.getInternalSolution());
                 solver.shuffleOrder(random);
                 return false;
             }
@@ -234,10 +271,10 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
         }
     }
 
-    private BitSet addSolution(final int[] solution, int min) {
+    private BitSet addSolution(final int[] solution) {
         BitSet bitSetSolution = new BitSet(bitSetSize);
         solutions.add(bitSetSolution);
-        for (int i = min; i < variableCount; i++) {
+        for (int i = 0; i < variableCount; i++) {
             boolean b = solution[i] > 0;
             bitSetSolution.set(i << 1, b);
             bitSetSolution.set((i << 1) + 1, !b);
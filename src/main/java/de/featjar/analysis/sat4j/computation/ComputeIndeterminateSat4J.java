@@ -20,6 +20,8 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.sat4j.solver.AuxiliaryVariables;
+import de.featjar.analysis.sat4j.solver.ParallelTasks;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.ComputeConstant;
 import de.featjar.base.computation.Dependency;
@@ -27,14 +29,30 @@ import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.ExpandableIntegerList;
 import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanClause;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 import java.util.stream.IntStream;
 
 /**
  * Finds indeterminate features.
+ * <p>
+ * A variable is indeterminate, if the formula remains satisfiable after
+ * removing all of its literals from every clause. All variables are checked
+ * with a single incremental solver. For each variable, there is a selector
+ * variable. Every clause containing a variable is extended by its selector and,
+ * in addition, the clause without the variable is added together with the
+ * negated selector. As at most one selector may be true, assuming a selector
+ * switches from the original clauses of the variable to their reduced versions.
+ * If more than one {@link #THREADS thread} is used, the variables are split
+ * into batches that are checked by separate solvers.
  *
  * @author Sebastian Krieter
  */
@@ -42,9 +60,16 @@ public class ComputeIndeterminateSat4J extends ASAT4JAnalysis.Solution<BooleanAs
 
     protected static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
             Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * Number of solvers that check batches of variables in parallel. Uses a single
+     * solver per default.
+     */
+    public static final Dependency<Integer> THREADS = Dependency.newDependency(Integer.class);
+
+    private static final String SELECTOR_PREFIX = "__indeterminate_selector_";
 
     public ComputeIndeterminateSat4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList, new ComputeConstant<>(new BooleanAssignment()));
+        super(clauseList, new ComputeConstant<>(new BooleanAssignment()), new ComputeConstant<>(1));
     }
 
     protected ComputeIndeterminateSat4J(ComputeIndeterminateSat4J other) {
@@ -61,31 +86,116 @@ public class ComputeIndeterminateSat4J extends ASAT4JAnalysis.Solution<BooleanAs
                         IntStream.rangeClosed(1, clauseList.getVariableMap().size())
                                 .toArray())
                 : variablesOfInterest;
+        final int[] variableArray = variables.get();
+        final boolean[] indeterminate = new boolean[variableArray.length];
+        final int threadCount = Math.max(1, Math.min(THREADS.get(dependencyList), variableArray.length));
+        progress.setTotalSteps(variableArray.length);
+
+        final AtomicInteger processedCount = new AtomicInteger();
+        try (ParallelTasks parallelTasks = new ParallelTasks(threadCount)) {
+            final List<Callable<Void>> tasks = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                final int start = (int) ((long) variableArray.length * i / threadCount);
+                final int end = (int) ((long) variableArray.length * (i + 1) / threadCount);
+                tasks.add(() -> {
+                    checkBatch(
+                            dependencyList,
+                            variableArray,
+                            start,
+                            end,
+                            indeterminate,
+                            processedCount,
+                            parallelTasks::isStopped);
+                    return null;
+                });
+            }
+            final int[] reportedCount = {0};
+            final Result<List<Void>> result = parallelTasks.run(tasks, () -> {
+                checkCancel();
+                for (; reportedCount[0] < processedCount.get(); reportedCount[0]++) {
+                    progress.incrementCurrentStep();
+                }
+            });
+            if (result.isEmpty()) {
+                return result.nullify();
+            }
+        }
 
         final ExpandableIntegerList resultList = new ExpandableIntegerList();
-        variableLoop:
-        for (final int variable : variables.get()) {
-            BooleanAssignmentList modClauseList = new BooleanAssignmentList(clauseList.getVariableMap());
-            for (final BooleanAssignment clause : clauseList) {
-                final int[] newLiterals = clause.removeAllVariablesInts(variable);
-                if (newLiterals.length > 0) {
-                    modClauseList.add(new BooleanClause(newLiterals));
-                } else {
-                    continue variableLoop;
+        for (int i = 0; i < variableArray.length; i++) {
+            if (indeterminate[i]) {
+                resultList.add(variableArray[i]);
+            }
+        }
+        return Result.of(new BooleanAssignment(resultList.toIntStream().toArray()));
+    }
+
+    private void checkBatch(
+            List<Object> dependencyList,
+            int[] variables,
+            int start,
+            int end,
+            boolean[] indeterminate,
+            AtomicInteger processedCount,
+            BooleanSupplier stopped) {
+        final BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        final VariableMap variableMap = clauseList.getVariableMap();
+        final int variableCount = variableMap.size();
+        final List<String> names = AuxiliaryVariables.copyVariableNames(variableMap, SELECTOR_PREFIX, end - start);
+        final int[] selectors = new int[variableCount + 1];
+        for (int i = start; i < end; i++) {
+            final int variable = Math.abs(variables[i]);
+            if (selectors[variable] == 0) {
+                names.add(SELECTOR_PREFIX + variable);
+                selectors[variable] = names.size();
+            }
+        }
+
+        final BooleanAssignmentList selectorClauseList = new BooleanAssignmentList(new VariableMap(names));
+        final int[] selectedVariables = new int[variableCount];
+        for (final BooleanAssignment clause : clauseList) {
+            final int[] literals = clause.get();
+            int selectedCount = 0;
+            for (final int literal : literals) {
+                final int variable = Math.abs(literal);
+                if (selectors[variable] != 0 && !contains(selectedVariables, selectedCount, variable)) {
+                    selectedVariables[selectedCount++] = variable;
                 }
             }
-            final SAT4JSolutionSolver modSolver = new SAT4JSolutionSolver(modClauseList);
-
-            final Result<Boolean> hasSolution = modSolver.hasSolution();
-            if (hasSolution.valueEquals(Boolean.FALSE)) {
-            } else if (hasSolution.isEmpty()) {
-                // reportTimeout();
-            } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                resultList.add(variable);
+            if (selectedCount == 0) {
+                selectorClauseList.add(clause);
             } else {
-                throw new AssertionError(hasSolution);
+                final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + selectedCount);
+                for (int j = 0; j < selectedCount; j++) {
+                    final int variable = selectedVariables[j];
+                    guardedLiterals[literals.length + j] = selectors[variable];
+
+                    final int[] reducedLiterals = clause.removeAllVariablesInts(variable);
+                    final int[] selectedLiterals = Arrays.copyOf(reducedLiterals, reducedLiterals.length + 1);
+                    selectedLiterals[reducedLiterals.length] = -selectors[variable];
+                    selectorClauseList.add(new BooleanClause(selectedLiterals));
+                }
+                selectorClauseList.add(new BooleanClause(guardedLiterals));
             }
         }
-        return Result.of(new BooleanAssignment(resultList.toIntStream().toArray()));
+
+        final SAT4JSolutionSolver solver = newSolver(selectorClauseList);
+        solver.setTimeout(SAT_TIMEOUT.get(dependencyList));
+        solver.addAtMost(1, IntStream.rangeClosed(variableCount + 1, names.size()).toArray());
+
+        for (int i = start; i < end && !stopped.getAsBoolean(); i++) {
+            final Result<Boolean> hasSolution = solver.hasSolution(selectors[Math.abs(variables[i])]);
+            indeterminate[i] = hasSolution.valueEquals(Boolean.TRUE);
+            processedCount.incrementAndGet();
+        }
+    }
+
+    private static boolean contains(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -20,14 +20,25 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.sat4j.solver.AuxiliaryVariables;
+import de.featjar.analysis.sat4j.solver.ParallelTasks;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.computation.ComputeConstant;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 /**
  * Finds redundant clauses with respect to a given CNF. This
@@ -36,13 +47,29 @@ import java.util.List;
  * from it. Otherwise it is kept as part of the formula for the
  * remaining analysis. Clauses are added in the same order a they appear in the
  * given clauses list.
+ * <p>
+ * If more than one {@link #THREADS thread} is used, the clause list is split
+ * into blocks and each block is checked by its own solver. A clause is a
+ * candidate, if it is implied by all other clauses of the formula. As the
+ * clauses kept by the iterative analysis are a subset of these other clauses,
+ * any clause that is not a candidate cannot be redundant. Afterwards, a
+ * sequential pass checks only the candidates in the original order, such that
+ * the result is the same as for a single thread.
  *
  * @author Sebastian Krieter
  */
 public class ComputeRedundantClausesSat4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
 
+    /**
+     * Number of solvers that search for redundancy candidates in parallel. Uses a
+     * single solver per default.
+     */
+    public static final Dependency<Integer> THREADS = Dependency.newDependency(Integer.class);
+
+    private static final String GUARD_PREFIX = "__redundancy_guard_";
+
     public ComputeRedundantClausesSat4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList);
+        super(clauseList, new ComputeConstant<>(1));
     }
 
     protected ComputeRedundantClausesSat4J(ComputeRedundantClausesSat4J other) {
@@ -52,25 +79,138 @@ public class ComputeRedundantClausesSat4J extends ASAT4JAnalysis.Solution<Boolea
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
         BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        final List<BooleanAssignment> clauses = new ArrayList<>(clauseList.getAll());
+        final int threadCount = Math.min(THREADS.get(dependencyList), clauses.size());
+
+        boolean[] candidates = null;
+        if (threadCount > 1) {
+            progress.setTotalSteps(2 * clauses.size());
+            final Result<boolean[]> candidateResult =
+                    computeCandidates(dependencyList, progress, clauses, threadCount);
+            if (candidateResult.isEmpty()) {
+                return candidateResult.nullify();
+            }
+            candidates = candidateResult.get();
+        } else {
+            progress.setTotalSteps(clauses.size());
+        }
+
         SAT4JSolutionSolver solver = createSolver(dependencyList, true);
         final ArrayList<BooleanAssignment> result = new ArrayList<>();
+        final ArrayList<BooleanAssignment> keptClauses = new ArrayList<>();
+        final int assignmentSize = solver.getAssignment().size();
 
-        for (BooleanAssignment clause : clauseList) {
+        for (int i = 0; i < clauses.size(); i++) {
+            progress.incrementCurrentStep();
             checkCancel();
+            final BooleanAssignment clause = clauses.get(i);
 
-            solver.getClauseList().add(clause.negate());
-            if (solver.isTrivialContradictionFound()) {
-                solver.getClauseList().remove();
-                result.add(clause);
-            } else if (solver.hasSolution().valueEquals(Boolean.FALSE)) {
-                solver.getClauseList().remove();
-                result.add(clause);
-            } else {
-                solver.getClauseList().remove();
-                solver.getClauseList().add(clause);
+            if (candidates != null && !candidates[i]) {
+                keptClauses.add(clause);
+                continue;
+            }
+            if (!keptClauses.isEmpty()) {
+                solver.getClauseList().addAll(keptClauses);
+                keptClauses.clear();
+            }
+            solver.getAssignment().addAll(clause.negateInts());
+            try {
+                if (solver.hasSolution().valueEquals(Boolean.FALSE)) {
+                    result.add(clause);
+                } else {
+                    keptClauses.add(clause);
+                }
+            } finally {
+                solver.getAssignment().clear(assignmentSize);
             }
         }
 
         return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
     }
+
+    private Result<boolean[]> computeCandidates(
+            List<Object> dependencyList, Progress progress, List<BooleanAssignment> clauses, int threadCount) {
+        final boolean[] candidates = new boolean[clauses.size()];
+        final AtomicInteger processedCount = new AtomicInteger();
+        try (ParallelTasks parallelTasks = new ParallelTasks(threadCount)) {
+            final List<Callable<Void>> tasks = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                final int start = (int) ((long) clauses.size() * i / threadCount);
+                final int end = (int) ((long) clauses.size() * (i + 1) / threadCount);
+                tasks.add(() -> {
+                    checkBlock(
+                            dependencyList, clauses, start, end, candidates, processedCount, parallelTasks::isStopped);
+                    return null;
+                });
+            }
+
+            final int[] reportedCount = {0};
+            final Result<List<Void>> result = parallelTasks.run(tasks, () -> {
+                checkCancel();
+                for (; reportedCount[0] < processedCount.get(); reportedCount[0]++) {
+                    progress.incrementCurrentStep();
+                }
+            });
+            return result.isEmpty() ? result.nullify() : Result.of(candidates);
+        }
+    }
+
+    /**
+     * Checks whether the clauses in the block from {@code start} (inclusive) to
+     * {@code end} (exclusive) are implied by all other clauses. Each clause of
+     * the block is extended by a guard variable that disables the clause, if it
+     * is true, and at most one guard is allowed to be true. Thus, a clause can be
+     * excluded from the formula by assuming only its own guard variable. If a
+     * check is not successful, the clause is kept as candidate.
+     */
+    private void checkBlock(
+            List<Object> dependencyList,
+            List<BooleanAssignment> clauses,
+            int start,
+            int end,
+            boolean[] candidates,
+            AtomicInteger processedCount,
+            BooleanSupplier stopped) {
+        final BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        final List<String> names =
+                AuxiliaryVariables.copyVariableNames(clauseList.getVariableMap(), GUARD_PREFIX, end - start);
+        final int[] guards = new int[end - start];
+        for (int i = start; i < end; i++) {
+            names.add(GUARD_PREFIX + i);
+            guards[i - start] = names.size();
+        }
+
+        final BooleanAssignmentList guardedClauseList = new BooleanAssignmentList(new VariableMap(names));
+        for (int i = 0; i < clauses.size(); i++) {
+            final int[] literals = clauses.get(i).get();
+            if (i >= start && i < end) {
+                final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+                guardedLiterals[literals.length] = guards[i - start];
+                guardedClauseList.add(new BooleanClause(guardedLiterals));
+            } else {
+                guardedClauseList.add(new BooleanClause(literals));
+            }
+        }
+
+        final SAT4JSolutionSolver solver = newSolver(guardedClauseList);
+        SAT4JSolver.initializeSolver(
+                solver,
+                guardedClauseList,
+                ASSUMED_ASSIGNMENT.get(dependencyList),
+                ASSUMED_CLAUSE_LIST.get(dependencyList),
+                SAT_TIMEOUT.get(dependencyList));
+        solver.addAtMost(1, guards);
+        final int assignmentSize = solver.getAssignment().size();
+
+        for (int i = start; i < end && !stopped.getAsBoolean(); i++) {
+            solver.getAssignment().add(guards[i - start]);
+            solver.getAssignment().addAll(clauses.get(i).negateInts());
+            try {
+                candidates[i] = !solver.hasSolution().valueEquals(Boolean.TRUE);
+            } finally {
+                solver.getAssignment().clear(assignmentSize);
+                processedCount.incrementAndGet();
+            }
+        }
+    }
 }
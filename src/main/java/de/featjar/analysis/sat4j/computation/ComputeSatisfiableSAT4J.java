@@ -20,6 +20,7 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
@@ -38,6 +39,11 @@ public class ComputeSatisfiableSAT4J extends ASAT4JAnalysis.Solution<Boolean> {
 
     @Override
     public Result<Boolean> compute(List<Object> dependencyList, Progress progress) {
-        return createSolver(dependencyList).hasSolution();
+        SAT4JSolver solver = createSolver(dependencyList);
+        try {
+            return solver.hasSolution();
+        } finally {
+            releaseSolver(dependencyList, solver);
+        }
     }
 }
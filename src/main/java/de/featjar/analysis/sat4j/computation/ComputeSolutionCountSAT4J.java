@@ -21,17 +21,123 @@
 package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.computation.ComputeConstant;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import de.featjar.formula.assignment.BooleanSolution;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
+/**
+ * Counts the solutions of a formula, optionally projected onto a set of
+ * {@link #VARIABLES_OF_INTEREST variables of interest}.
+ * <p>
+ * Instead of blocking each solution separately, each solution is shrunk to a
+ * partial assignment by greedily removing literals of variables of interest as
+ * long as all clauses remain satisfied. Thus, every completion of the partial
+ * assignment is a solution as well. The negation of the partial assignment
+ * restricted to the variables of interest is added as blocking clause, such
+ * that all partial assignments found are disjoint. Each partial assignment
+ * with {@code k} removed literals accounts for {@code 2^k} distinct
+ * (projected) solutions.
+ *
+ * @author Sebastian Krieter
+ */
 public class ComputeSolutionCountSAT4J extends ASAT4JAnalysis.Solution<BigInteger> {
+
+    /**
+     * Variables onto which the solutions are projected. Uses all variables if empty.
+     */
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+
+    private static final class ImplicantShrinker {
+        private final List<int[]> clauses = new ArrayList<>();
+        private final int[][] occurrences;
+        private final int[] occurrenceCounts;
+        private int[] trueCounts = new int[16];
+
+        private ImplicantShrinker(int variableCount) {
+            occurrences = new int[2 * (variableCount + 1)][];
+            occurrenceCounts = new int[occurrences.length];
+        }
+
+        private static int index(int literal) {
+            return literal > 0 ? 2 * literal : 2 * -literal + 1;
+        }
+
+        private void add(int[] literals) {
+            final int[] clause = IntStream.of(literals).distinct().toArray();
+            final int clauseIndex = clauses.size();
+            clauses.add(clause);
+            for (final int literal : clause) {
+                final int index = index(literal);
+                int[] clauseIndices = occurrences[index];
+                if (clauseIndices == null) {
+                    clauseIndices = new int[4];
+                    occurrences[index] = clauseIndices;
+                } else if (occurrenceCounts[index] == clauseIndices.length) {
+                    clauseIndices = Arrays.copyOf(clauseIndices, 2 * clauseIndices.length);
+                    occurrences[index] = clauseIndices;
+                }
+                clauseIndices[occurrenceCounts[index]++] = clauseIndex;
+            }
+        }
+
+        /**
+         * Removes literals of the given variables from the model, as long as
+         * each clause keeps at least one satisfied literal.
+         *
+         * @return the remaining literals of the given variables
+         */
+        private int[] shrink(int[] model, int[] variables) {
+            if (trueCounts.length < clauses.size()) {
+                trueCounts = new int[Math.max(clauses.size(), 2 * trueCounts.length)];
+            }
+            for (int i = 0; i < clauses.size(); i++) {
+                int trueCount = 0;
+                for (final int literal : clauses.get(i)) {
+                    if (model[Math.abs(literal) - 1] == literal) {
+                        trueCount++;
+                    }
+                }
+                trueCounts[i] = trueCount;
+            }
+
+            final int[] implicant = new int[variables.length];
+            int size = 0;
+            for (final int variable : variables) {
+                final int literal = model[variable - 1];
+                final int index = index(literal);
+                final int[] clauseIndices = occurrences[index];
+                final int count = occurrenceCounts[index];
+                boolean removable = true;
+                for (int i = 0; i < count; i++) {
+                    if (trueCounts[clauseIndices[i]] < 2) {
+                        removable = false;
+                        break;
+                    }
+                }
+                if (removable) {
+                    for (int i = 0; i < count; i++) {
+                        trueCounts[clauseIndices[i]]--;
+                    }
+                } else {
+                    implicant[size++] = literal;
+                }
+            }
+            return Arrays.copyOf(implicant, size);
+        }
+    }
+
     public ComputeSolutionCountSAT4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList);
+        super(clauseList, new ComputeConstant<>(new BooleanAssignment()));
     }
 
     protected ComputeSolutionCountSAT4J(ComputeSolutionCountSAT4J other) {
@@ -41,15 +147,44 @@ public class ComputeSolutionCountSAT4J extends ASAT4JAnalysis.Solution<BigIntege
     @Override
     public Result<BigInteger> compute(List<Object> dependencyList, Progress progress) {
         SAT4JSolver solver = createSolver(dependencyList);
-        BigInteger solutionCount = BigInteger.ZERO;
-        Result<Boolean> hasSolution = solver.hasSolution();
-        while (hasSolution.equals(Result.of(true))) {
-            solutionCount = solutionCount.add(BigInteger.ONE);
-            progress.incrementCurrentStep();
-            BooleanSolution solution = solver.getSolution();
-            solver.getClauseList().add(solution.toClause().negate());
-            hasSolution = solver.hasSolution();
+        try {
+            final int variableCount = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap().size();
+            final BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+            final int[] variables = variablesOfInterest.isEmpty()
+                    ? IntStream.rangeClosed(1, variableCount).toArray()
+                    : IntStream.of(variablesOfInterest.get())
+                            .map(Math::abs)
+                            .filter(v -> v <= variableCount)
+                            .distinct()
+                            .toArray();
+
+            for (final int literal : solver.getAssignment().get()) {
+                solver.getClauseList().add(literal);
+            }
+            solver.getAssignment().clear();
+            final ImplicantShrinker shrinker = new ImplicantShrinker(variableCount);
+            for (final BooleanAssignment clause : solver.getClauseList()) {
+                shrinker.add(clause.get());
+            }
+
+            BigInteger solutionCount = BigInteger.ZERO;
+            Result<Boolean> hasSolution = solver.hasSolution();
+            while (hasSolution.valueEquals(Boolean.TRUE)) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                final int[] implicant = shrinker.shrink(solver.getInternalSolution(), variables);
+                solutionCount = solutionCount.add(BigInteger.ONE.shiftLeft(variables.length - implicant.length));
+                if (implicant.length == 0) {
+                    break;
+                }
+                final int[] blockingClause = IntStream.of(implicant).map(l -> -l).toArray();
+                solver.getClauseList().add(blockingClause);
+                shrinker.add(blockingClause);
+                hasSolution = solver.hasSolution();
+            }
+            return solver.createResult(solutionCount, "result is a lower bound");
+        } finally {
+            releaseSolver(dependencyList, solver);
         }
-        return solver.createResult(solutionCount, "result is a lower bound");
     }
 }
@@ -49,24 +49,28 @@ public class ComputeSolutionSAT4J extends ASAT4JAnalysis.Solution<BooleanSolutio
     @Override
     public Result<BooleanSolution> compute(List<Object> dependencyList, Progress progress) {
         SAT4JSolutionSolver solver = (SAT4JSolutionSolver) createSolver(dependencyList);
-        final NonParameterStrategy strategy = SELECTION_STRATEGY.get(dependencyList);
-        switch (strategy) {
-            case FAST_RANDOM:
-                Random random = new Random(RANDOM_SEED.get(dependencyList));
-                solver.setSelectionStrategy(ISelectionStrategy.random(random));
-                solver.shuffleOrder(random);
-                break;
-            case NEGATIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.negative());
-                break;
-            case ORIGINAL:
-                break;
-            case POSITIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.positive());
-                break;
-            default:
-                break;
+        try {
+            final NonParameterStrategy strategy = SELECTION_STRATEGY.get(dependencyList);
+            switch (strategy) {
+                case FAST_RANDOM:
+                    Random random = new Random(RANDOM_SEED.get(dependencyList));
+                    solver.setSelectionStrategy(ISelectionStrategy.random(random));
+                    solver.shuffleOrder(random);
+                    break;
+                case NEGATIVE:
+                    solver.setSelectionStrategy(ISelectionStrategy.negative());
+                    break;
+                case ORIGINAL:
+                    break;
+                case POSITIVE:
+                    solver.setSelectionStrategy(ISelectionStrategy.positive());
+                    break;
+                default:
+                    break;
+            }
+            return solver.findSolution();
+        } finally {
+            releaseSolver(dependencyList, solver);
         }
-        return solver.findSolution();
     }
 }
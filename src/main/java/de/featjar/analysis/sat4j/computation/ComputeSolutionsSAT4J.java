@@ -21,7 +21,6 @@
 package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
-import de.featjar.analysis.sat4j.solver.ISelectionStrategy.NonParameterStrategy;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
@@ -57,43 +56,27 @@ public class ComputeSolutionsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssign
         SAT4JSolutionSolver solver = (SAT4JSolutionSolver) createSolver(dependencyList);
         int limit = LIMIT.get(dependencyList);
         progress.setTotalSteps(limit);
-        checkCancel();
-        boolean forbid = FORBID_DUPLICATES.get(dependencyList);
-        final NonParameterStrategy strategy = SELECTION_STRATEGY.get(dependencyList);
-        Random random = null;
-        switch (strategy) {
-            case FAST_RANDOM:
-                random = new Random(RANDOM_SEED.get(dependencyList));
-                solver.setSelectionStrategy(ISelectionStrategy.random(random));
-                break;
-            case NEGATIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.negative());
-                break;
-            case ORIGINAL:
-                break;
-            case POSITIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.positive());
-                break;
-            default:
-                break;
-        }
-        VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
-        BooleanAssignmentList solutionList = new BooleanAssignmentList(variableMap);
-        while (solutionList.size() < limit) {
-            progress.incrementCurrentStep();
+        try (SolutionEnumerator enumerator = new SolutionEnumerator(
+                solver,
+                SELECTION_STRATEGY.get(dependencyList),
+                new Random(RANDOM_SEED.get(dependencyList)),
+                limit,
+                FORBID_DUPLICATES.get(dependencyList),
+                () -> releaseSolver(dependencyList, solver))) {
             checkCancel();
-            Result<BooleanSolution> solution = solver.findSolution();
-            if (solution.isEmpty()) {
-                break;
-            }
-            solutionList.add(solution.get());
-            if (forbid) {
-                solver.getClauseList().add(solution.get().toClause().negate());
-            }
-            if (strategy == NonParameterStrategy.FAST_RANDOM) {
-                solver.shuffleOrder(random);
+            VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
+            BooleanAssignmentList solutionList = new BooleanAssignmentList(variableMap);
+            final int[][] batch = new int[1][];
+            while (true) {
+                checkCancel();
+                if (enumerator.nextBatch(batch) == 0) {
+                    break;
+                }
+                solutionList.add(new BooleanSolution(batch[0]));
+                batch[0] = null;
+                progress.incrementCurrentStep();
             }
+            return solver.createResult(solutionList, "result is a subset");
         }
-        return solver.createResult(solutionList, "result is a subset");
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves variable names against the variable map of a clause list. If any
+ * name is unknown, the result is empty and its problem lists the unknown names.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeVariablesByName extends AComputation<BooleanAssignment> {
+
+    public static final Dependency<BooleanAssignmentList> BOOLEAN_CLAUSE_LIST =
+            Dependency.newDependency(BooleanAssignmentList.class);
+
+    public static final Dependency<String[]> NAMES = Dependency.newDependency(String[].class);
+
+    public ComputeVariablesByName(IComputation<BooleanAssignmentList> clauseList, List<String> names) {
+        super(clauseList, Computations.of(names.toArray(new String[0])));
+    }
+
+    protected ComputeVariablesByName(ComputeVariablesByName other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignment> compute(List<Object> dependencyList, Progress progress) {
+        List<String> names = Arrays.asList(NAMES.get(dependencyList));
+        VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
+        BooleanAssignment variables = variableMap.getVariables(names);
+        if (variables.size() != names.size()) {
+            String unknownNames = names.stream()
+                    .filter(name -> variableMap.get(name).isEmpty())
+                    .collect(Collectors.joining(", "));
+            return Result.empty(new IllegalArgumentException("Unknown variables: " + unknownNames));
+        }
+        return Result.of(variables);
+    }
+}
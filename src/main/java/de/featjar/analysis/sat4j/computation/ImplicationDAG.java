@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.data.ExpandableIntegerList;
+import de.featjar.formula.VariableMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Transitive reduction of the implications between literals. Equivalent
+ * literals are collapsed into components, which are numbered in topological
+ * order, such that each edge leads from a component to one with a greater
+ * index. Both the literals of each component and the edges are stored in
+ * compressed sparse row form, i.e., the entries of row {@code i} are stored
+ * between {@code offsets[i]} and {@code offsets[i + 1]}.
+ * <p>
+ * As in {@link Implications}, only the positive literals of variables have
+ * outgoing edges. Reachability can be checked without materializing the
+ * transitive closure.
+ *
+ * @author Sebastian Krieter
+ * @see ComputeImplicationDAG
+ */
+public class ImplicationDAG {
+
+    private final VariableMap variableMap;
+    private final int[] core;
+    private final int[] components;
+    private final int[] componentOffsets;
+    private final int[] componentLiterals;
+    private final int[] edgeOffsets;
+    private final int[] edgeTargets;
+
+    /**
+     * Creates a new graph.
+     *
+     * @param variableMap       the variable map
+     * @param core              the core literals
+     * @param components        the component of each literal, indexed by
+     *                          {@link ModalImplicationGraph#getVertexIndex(int)}
+     * @param componentOffsets  the start index of each component in
+     *                          {@code componentLiterals}
+     * @param componentLiterals the literals of all components
+     * @param edgeOffsets       the start index of the successors of each
+     *                          component in {@code edgeTargets}
+     * @param edgeTargets       the successor components of all components
+     */
+    public ImplicationDAG(
+            VariableMap variableMap,
+            int[] core,
+            int[] components,
+            int[] componentOffsets,
+            int[] componentLiterals,
+            int[] edgeOffsets,
+            int[] edgeTargets) {
+        this.variableMap = Objects.requireNonNull(variableMap);
+        this.core = Objects.requireNonNull(core);
+        this.components = Objects.requireNonNull(components);
+        this.componentOffsets = Objects.requireNonNull(componentOffsets);
+        this.componentLiterals = Objects.requireNonNull(componentLiterals);
+        this.edgeOffsets = Objects.requireNonNull(edgeOffsets);
+        this.edgeTargets = Objects.requireNonNull(edgeTargets);
+        if (components.length != 2 * variableMap.size()) {
+            throw new IllegalArgumentException("expected one component per literal");
+        }
+        if (componentOffsets.length != edgeOffsets.length) {
+            throw new IllegalArgumentException("expected the same number of component and edge offsets");
+        }
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    public int[] getCore() {
+        return core;
+    }
+
+    public int[] getComponents() {
+        return components;
+    }
+
+    public int[] getComponentOffsets() {
+        return componentOffsets;
+    }
+
+    public int[] getComponentLiterals() {
+        return componentLiterals;
+    }
+
+    public int[] getEdgeOffsets() {
+        return edgeOffsets;
+    }
+
+    public int[] getEdgeTargets() {
+        return edgeTargets;
+    }
+
+    public int getComponentCount() {
+        return componentOffsets.length - 1;
+    }
+
+    public int getEdgeCount() {
+        return edgeTargets.length;
+    }
+
+    /**
+     * Returns the component that contains the given literal.
+     *
+     * @param literal the literal
+     * @return the component index
+     */
+    public int getComponent(int literal) {
+        return components[ModalImplicationGraph.getVertexIndex(literal)];
+    }
+
+    /**
+     * Returns a copy of the literals in the given component.
+     *
+     * @param component the component index
+     * @return the literals
+     */
+    public int[] getLiterals(int component) {
+        return Arrays.copyOfRange(componentLiterals, componentOffsets[component], componentOffsets[component + 1]);
+    }
+
+    /**
+     * Returns a copy of the direct successors of the given component.
+     *
+     * @param component the component index
+     * @return the successor component indices
+     */
+    public int[] getSuccessors(int component) {
+        return Arrays.copyOfRange(edgeTargets, edgeOffsets[component], edgeOffsets[component + 1]);
+    }
+
+    /**
+     * Checks whether one literal implies another one. Only visits components
+     * whose index lies between the components of both literals.
+     *
+     * @param literal        the implying literal
+     * @param impliedLiteral the implied literal
+     * @return {@code true} if the literal is implied, {@code false} otherwise
+     */
+    public boolean implies(int literal, int impliedLiteral) {
+        for (int l : core) {
+            if (l == impliedLiteral) {
+                return true;
+            }
+        }
+        final int source = getComponent(literal);
+        final int target = getComponent(impliedLiteral);
+        if (source == target) {
+            return true;
+        } else if (source > target) {
+            return false;
+        }
+        final BitSet visited = new BitSet(target + 1);
+        final int[] stack = new int[target - source + 1];
+        int stackSize = 0;
+        stack[stackSize++] = source;
+        visited.set(source);
+        while (stackSize > 0) {
+            final int component = stack[--stackSize];
+            for (int e = edgeOffsets[component]; e < edgeOffsets[component + 1]; e++) {
+                final int successor = edgeTargets[e];
+                if (successor == target) {
+                    return true;
+                } else if (successor < target && !visited.get(successor)) {
+                    visited.set(successor);
+                    stack[stackSize++] = successor;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes all literals that are implied by the given literal, excluding
+     * the literal itself and the core literals.
+     *
+     * @param literal the literal
+     * @return the implied literals
+     */
+    public int[] getImplied(int literal) {
+        final int source = getComponent(literal);
+        final BitSet visited = new BitSet(getComponentCount());
+        final int[] stack = new int[getComponentCount()];
+        int stackSize = 0;
+        stack[stackSize++] = source;
+        visited.set(source);
+        final ExpandableIntegerList implied = new ExpandableIntegerList();
+        while (stackSize > 0) {
+            final int component = stack[--stackSize];
+            for (int i = componentOffsets[component]; i < componentOffsets[component + 1]; i++) {
+                if (componentLiterals[i] != literal) {
+                    implied.add(componentLiterals[i]);
+                }
+            }
+            for (int e = edgeOffsets[component]; e < edgeOffsets[component + 1]; e++) {
+                final int successor = edgeTargets[e];
+                if (!visited.get(successor)) {
+                    visited.set(successor);
+                    stack[stackSize++] = successor;
+                }
+            }
+        }
+        return implied.toArray();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                variableMap,
+                Arrays.hashCode(core),
+                Arrays.hashCode(components),
+                Arrays.hashCode(componentLiterals),
+                Arrays.hashCode(edgeTargets));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final ImplicationDAG other = (ImplicationDAG) obj;
+        return Objects.equals(variableMap, other.variableMap)
+                && Arrays.equals(core, other.core)
+                && Arrays.equals(components, other.components)
+                && Arrays.equals(componentOffsets, other.componentOffsets)
+                && Arrays.equals(componentLiterals, other.componentLiterals)
+                && Arrays.equals(edgeOffsets, other.edgeOffsets)
+                && Arrays.equals(edgeTargets, other.edgeTargets);
+    }
+}
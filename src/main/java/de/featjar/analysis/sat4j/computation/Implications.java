@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Implications between the literals of a formula in a compact adjacency form.
+ * For each variable v, the literals implied by v are stored as a consecutive
+ * range in one array, which is indexed by an array of offsets.
+ *
+ * @author Sebastian Krieter
+ */
+public class Implications {
+
+    private final VariableMap variableMap;
+    private final int[] core;
+    private final int[] offsets;
+    private final int[] impliedLiterals;
+
+    /**
+     * Creates new implications.
+     *
+     * @param variableMap     the variable map
+     * @param core            the core literals
+     * @param offsets         for each variable v, the index of the first literal implied by v at index v - 1, and
+     *                        the total number of implied literals at the last index
+     * @param impliedLiterals the implied literals of all variables
+     */
+    public Implications(VariableMap variableMap, int[] core, int[] offsets, int[] impliedLiterals) {
+        this.variableMap = Objects.requireNonNull(variableMap);
+        this.core = Objects.requireNonNull(core);
+        this.offsets = Objects.requireNonNull(offsets);
+        this.impliedLiterals = Objects.requireNonNull(impliedLiterals);
+        if (offsets.length != variableMap.size() + 1) {
+            throw new IllegalArgumentException("expected " + (variableMap.size() + 1) + " offsets");
+        }
+    }
+
+    public VariableMap getVariableMap() {
+        return variableMap;
+    }
+
+    public int[] getCore() {
+        return core;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getImpliedLiterals() {
+        return impliedLiterals;
+    }
+
+    /**
+     * Returns the number of literals that are implied by the given variable.
+     *
+     * @param variable the variable
+     * @return the number of implied literals
+     */
+    public int getImpliedCount(int variable) {
+        return offsets[variable] - offsets[variable - 1];
+    }
+
+    /**
+     * Returns a copy of the literals that are implied by the given variable.
+     *
+     * @param variable the variable
+     * @return the implied literals
+     */
+    public int[] getImplied(int variable) {
+        return Arrays.copyOfRange(impliedLiterals, offsets[variable - 1], offsets[variable]);
+    }
+
+    /**
+     * Checks whether the given variable implies the given literal.
+     *
+     * @param variable the variable
+     * @param literal  the literal
+     * @return {@code true} if the literal is implied, {@code false} otherwise
+     */
+    public boolean implies(int variable, int literal) {
+        for (int i = offsets[variable - 1], end = offsets[variable]; i < end; i++) {
+            if (impliedLiterals[i] == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of stored implications.
+     *
+     * @return the number of implications
+     */
+    public int size() {
+        return impliedLiterals.length;
+    }
+
+    /**
+     * Converts the implications into a list containing the core literals and,
+     * for each variable, the variable followed by its implied literals.
+     *
+     * @param omitSingles whether to omit variables that do not imply any literal
+     * @return the list
+     */
+    public BooleanAssignmentList toBooleanAssignmentList(boolean omitSingles) {
+        final BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        list.add(new BooleanAssignment(core));
+        for (int v = 1; v < offsets.length; v++) {
+            final int count = getImpliedCount(v);
+            if (count > 0 || !omitSingles) {
+                final int[] literals = new int[count + 1];
+                literals[0] = v;
+                System.arraycopy(impliedLiterals, offsets[v - 1], literals, 1, count);
+                list.add(new BooleanAssignment(literals));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+                variableMap, Arrays.hashCode(core), Arrays.hashCode(offsets), Arrays.hashCode(impliedLiterals));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final Implications other = (Implications) obj;
+        return Objects.equals(variableMap, other.variableMap)
+                && Arrays.equals(core, other.core)
+                && Arrays.equals(offsets, other.offsets)
+                && Arrays.equals(impliedLiterals, other.impliedLiterals);
+    }
+}
@@ -23,21 +23,23 @@ package de.featjar.analysis.sat4j.computation;
 import de.featjar.analysis.RuntimeContradictionException;
 import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
 import de.featjar.base.computation.AComputation;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
-import de.featjar.base.data.ExpandableIntegerList;
 import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanClause;
 import de.featjar.formula.assignment.conversion.BooleanAssignmentListToBooleanAssignment;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
 
 /**
  * Adjacency matrix implementation for a feature graph.
@@ -50,8 +52,19 @@ public class MIGBuilder extends AComputation<ModalImplicationGraph> {
             Dependency.newDependency(BooleanAssignmentList.class);
     public static final Dependency<BooleanAssignment> CORE = Dependency.newDependency(BooleanAssignment.class);
 
+    /**
+     * Whether to store only the condensation of the strong edges (i.e., the graph
+     * of strongly connected components) instead of their transitive closure. This
+     * reduces memory consumption for formulas with long implication chains at the
+     * cost of slower propagation.
+     */
+    public static final Dependency<Boolean> CONDENSE_STRONG_EDGES = Dependency.newDependency(Boolean.class);
+
     public MIGBuilder(IComputation<BooleanAssignmentList> cnfFormula) {
-        super(cnfFormula, new ComputeCoreSAT4J(cnfFormula).map(BooleanAssignmentListToBooleanAssignment::new));
+        super(
+                cnfFormula,
+                new ComputeCoreSAT4J(cnfFormula).map(BooleanAssignmentListToBooleanAssignment::new),
+                Computations.of(Boolean.FALSE));
     }
 
     protected MIGBuilder(MIGBuilder other) {
@@ -62,6 +75,7 @@ public class MIGBuilder extends AComputation<ModalImplicationGraph> {
     public Result<ModalImplicationGraph> compute(List<Object> dependencyList, Progress progress) {
         BooleanAssignmentList cnfFormula = CNF_CLAUSES.get(dependencyList);
         BooleanAssignment coreLiterals = CORE.get(dependencyList);
+        boolean condenseStrongEdges = CONDENSE_STRONG_EDGES.get(dependencyList);
 
         progress.setTotalSteps(8);
 
@@ -73,112 +87,272 @@ public class MIGBuilder extends AComputation<ModalImplicationGraph> {
 
         progress.incrementCurrentStep();
 
-        ExpandableIntegerList[] tempStrong = new ExpandableIntegerList[2 * size];
         List<BooleanClause> cleanedClausesList = new ArrayList<>(cnfFormula.size());
         cnfFormula.stream()
                 .map(c -> cleanClause(c, coreLiterals))
                 .filter(Objects::nonNull)
                 .forEach(cleanedClausesList::add);
 
-        final int[][] strong = new int[2 * size][];
-        final int[] weakCount = new int[2 * size];
-        final int[][] clauseIndices = new int[2 * size][];
-        final int[][] clauseLengthIndices = new int[2 * size][];
+        final int vertexCount = 2 * size;
+        final int[][] clauseIndices = new int[vertexCount][];
+        final int[][] clauseLengthIndices = new int[vertexCount][];
         final int[] core = Arrays.copyOf(coreLiterals.get(), coreLiterals.get().length);
 
-        int clausesSize = 0;
+        final int[] strongOffsets = new int[vertexCount + 1];
+        final int[] weakCount = new int[vertexCount];
         int clauseLengthSize = 0;
         for (BooleanClause clause : cleanedClausesList) {
-            final int clauseSize = clause.size();
-            if (clauseSize > 2) {
-                clausesSize += clauseSize;
+            final int[] literals = clause.get();
+            if (literals.length == 2) {
+                strongOffsets[ModalImplicationGraph.getVertexIndex(-literals[0]) + 1]++;
+                strongOffsets[ModalImplicationGraph.getVertexIndex(-literals[1]) + 1]++;
+            } else if (literals.length > 2) {
                 clauseLengthSize++;
-                for (int l : clause.get()) {
+                for (int l : literals) {
                     weakCount[ModalImplicationGraph.getVertexIndex(-l)]++;
                 }
             }
         }
 
-        final int[] clauses = new int[clausesSize];
+        final BooleanClause[] weakClauses = new BooleanClause[clauseLengthSize];
         final int[] clauseLengths = new int[clauseLengthSize];
+        final int[] clauseOffsets = new int[clauseLengthSize + 1];
+        Arrays.parallelPrefix(strongOffsets, Integer::sum);
+        final int[] strongEdges = new int[strongOffsets[vertexCount]];
+        final int[] strongCursor = Arrays.copyOf(strongOffsets, vertexCount);
+        int clauseCountI = 0;
+        for (BooleanClause clause : cleanedClausesList) {
+            final int[] literals = clause.get();
+            if (literals.length == 2) {
+                final int i = literals[0];
+                final int j = literals[1];
+                strongEdges[strongCursor[ModalImplicationGraph.getVertexIndex(-i)]++] = j;
+                strongEdges[strongCursor[ModalImplicationGraph.getVertexIndex(-j)]++] = i;
+            } else if (literals.length > 2) {
+                weakClauses[clauseCountI] = clause;
+                clauseLengths[clauseCountI] = literals.length;
+                clauseOffsets[++clauseCountI] = literals.length;
+            }
+        }
+        Arrays.parallelPrefix(clauseOffsets, Integer::sum);
 
-        for (int i = 0; i < weakCount.length; i++) {
+        final int[] clauses = new int[clauseOffsets[clauseLengthSize]];
+        IntStream.range(0, clauseLengthSize).parallel().forEach(c -> {
+            final int[] literals = weakClauses[c].get();
+            System.arraycopy(literals, 0, clauses, clauseOffsets[c], literals.length);
+        });
+
+        final int[] weakCursor = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
             final int c = weakCount[i];
             clauseIndices[i] = new int[c];
             clauseLengthIndices[i] = new int[c];
-            tempStrong[i] = new ExpandableIntegerList();
+        }
+        for (int c = 0; c < clauseLengthSize; c++) {
+            for (int l : weakClauses[c].get()) {
+                final int vertexIndex = ModalImplicationGraph.getVertexIndex(-l);
+                final int k = weakCursor[vertexIndex]++;
+                clauseIndices[vertexIndex][k] = clauseOffsets[c];
+                clauseLengthIndices[vertexIndex][k] = c;
+            }
         }
 
-        int clausesI = 0;
-        int clauseCountI = 0;
-        for (BooleanClause clause : cleanedClausesList) {
-            if (clause.size() == 2) {
-                final int i = clause.get()[0];
-                final int j = clause.get()[1];
-                tempStrong[ModalImplicationGraph.getVertexIndex(-i)].add(j);
-                tempStrong[ModalImplicationGraph.getVertexIndex(-j)].add(i);
-            } else if (clause.size() > 2) {
-                int startClausesI = clausesI;
-                int[] literals = clause.get();
-                for (int i = 0; i < literals.length; i++) {
-                    final int l = literals[i];
-                    clauses[clausesI++] = l;
-                    int vertexIndex = ModalImplicationGraph.getVertexIndex(-l);
-                    int[] clauseCountIndexList = clauseLengthIndices[vertexIndex];
-                    int k = 0;
-                    for (; k < clauseCountIndexList.length; k++) {
-                        if (clauseCountIndexList[k] == 0) {
-                            clauseCountIndexList[k] = clauseCountI;
-                            break;
-                        }
+        progress.incrementCurrentStep();
+
+        if (condenseStrongEdges) {
+            final int[] strongComponents = new int[vertexCount];
+            final int componentCount = computeStrongComponents(strongOffsets, strongEdges, strongComponents);
+            final int[][] componentLiterals = new int[componentCount][];
+            final int[][] componentEdges = new int[componentCount][];
+            condense(strongOffsets, strongEdges, strongComponents, componentLiterals, componentEdges);
+            progress.incrementCurrentStep();
+
+            return Result.of(new ModalImplicationGraph(
+                    size,
+                    core,
+                    strongComponents,
+                    componentLiterals,
+                    componentEdges,
+                    clauseIndices,
+                    clauses,
+                    clauseLengthIndices,
+                    clauseLengths));
+        } else {
+            final int[][] strong = new int[vertexCount][];
+            ForkJoinPool.commonPool()
+                    .invoke(new StrongClosureTask(0, vertexCount, size, strongOffsets, strongEdges, strong));
+            progress.incrementCurrentStep();
+
+            return Result.of(new ModalImplicationGraph(
+                    size, core, strong, clauseIndices, clauses, clauseLengthIndices, clauseLengths));
+        }
+    }
+
+    /**
+     * Computes the strongly connected components of the strong edges using an
+     * iterative version of Tarjan's algorithm. Components are numbered in
+     * reverse topological order.
+     *
+     * @return the number of components
+     */
+    private static int computeStrongComponents(int[] strongOffsets, int[] strongEdges, int[] strongComponents) {
+        final int vertexCount = strongComponents.length;
+        final int[] order = new int[vertexCount];
+        final int[] lowLink = new int[vertexCount];
+        final int[] componentStack = new int[vertexCount];
+        final int[] callStack = new int[vertexCount];
+        final int[] edgeCursor = new int[vertexCount];
+        Arrays.fill(order, -1);
+        Arrays.fill(strongComponents, -1);
+
+        int counter = 0;
+        int componentCount = 0;
+        int componentStackSize = 0;
+        for (int root = 0; root < vertexCount; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            int callStackSize = 0;
+            callStack[callStackSize++] = root;
+            order[root] = lowLink[root] = counter++;
+            edgeCursor[root] = strongOffsets[root];
+            componentStack[componentStackSize++] = root;
+            while (callStackSize > 0) {
+                final int vertex = callStack[callStackSize - 1];
+                if (edgeCursor[vertex] < strongOffsets[vertex + 1]) {
+                    final int successor = ModalImplicationGraph.getVertexIndex(strongEdges[edgeCursor[vertex]++]);
+                    if (order[successor] < 0) {
+                        order[successor] = lowLink[successor] = counter++;
+                        edgeCursor[successor] = strongOffsets[successor];
+                        componentStack[componentStackSize++] = successor;
+                        callStack[callStackSize++] = successor;
+                    } else if (strongComponents[successor] < 0) {
+                        lowLink[vertex] = Math.min(lowLink[vertex], order[successor]);
+                    }
+                } else {
+                    callStackSize--;
+                    if (callStackSize > 0) {
+                        final int parent = callStack[callStackSize - 1];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[vertex]);
                     }
-                    try {
-                        clauseIndices[vertexIndex][k] = startClausesI;
-                    } catch (RuntimeException e) {
-                        throw new RuntimeException(clause.toString(), e);
+                    if (lowLink[vertex] == order[vertex]) {
+                        int member;
+                        do {
+                            member = componentStack[--componentStackSize];
+                            strongComponents[member] = componentCount;
+                        } while (member != vertex);
+                        componentCount++;
                     }
                 }
-                clauseLengths[clauseCountI++] = clause.size();
             }
         }
+        return componentCount;
+    }
 
-        progress.incrementCurrentStep();
-
-        for (int i = 1; i <= size; i++) {
-            bfsStrong(i, size, strong, tempStrong);
-            bfsStrong(-i, size, strong, tempStrong);
+    private static void condense(
+            int[] strongOffsets,
+            int[] strongEdges,
+            int[] strongComponents,
+            int[][] componentLiterals,
+            int[][] componentEdges) {
+        final int componentCount = componentLiterals.length;
+        final int[] memberCount = new int[componentCount];
+        for (int component : strongComponents) {
+            memberCount[component]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            componentLiterals[c] = new int[memberCount[c]];
+        }
+        Arrays.fill(memberCount, 0);
+        for (int vertexIndex = 0; vertexIndex < strongComponents.length; vertexIndex++) {
+            final int component = strongComponents[vertexIndex];
+            final int literal = (vertexIndex & 1) == 0 ? -((vertexIndex >> 1) + 1) : (vertexIndex >> 1) + 1;
+            componentLiterals[component][memberCount[component]++] = literal;
         }
-        progress.incrementCurrentStep();
 
-        ModalImplicationGraph migVisitorProvider = new ModalImplicationGraph(
-                size, core, strong, clauseIndices, clauses, clauseLengthIndices, clauseLengths);
-        return Result.of(migVisitorProvider);
+        final int[] mark = new int[componentCount];
+        final int[] successors = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            int successorCount = 0;
+            mark[c] = c + 1;
+            for (int literal : componentLiterals[c]) {
+                final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+                for (int e = strongOffsets[vertexIndex]; e < strongOffsets[vertexIndex + 1]; e++) {
+                    final int successor = strongComponents[ModalImplicationGraph.getVertexIndex(strongEdges[e])];
+                    if (mark[successor] != c + 1) {
+                        mark[successor] = c + 1;
+                        successors[successorCount++] = successor;
+                    }
+                }
+            }
+            componentEdges[c] = Arrays.copyOf(successors, successorCount);
+        }
     }
 
-    private void bfsStrong(int literal, int size, int[][] strong, ExpandableIntegerList[] tempStrong) {
-        int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
-        ExpandableIntegerList temp = tempStrong[vertexIndex];
-        final ArrayDeque<Integer> queue = new ArrayDeque<>();
-        final boolean[] mark = new boolean[size + 1];
-        mark[Math.abs(literal)] = true;
-        temp.toIntStream().forEach(v -> {
-            mark[Math.abs(v)] = true;
-            queue.add(v);
-        });
-        while (!queue.isEmpty()) {
-            final Integer curVertex = queue.removeFirst();
-            tempStrong[ModalImplicationGraph.getVertexIndex(curVertex)]
-                    .toIntStream()
-                    .forEach(v -> {
-                        final int index = Math.abs(v);
-                        if (!mark[index]) {
-                            mark[index] = true;
-                            queue.add(v);
-                            temp.add(v);
+    /**
+     * Computes the transitive closure of the strong edges for a range of vertices
+     * by a breadth-first search from each vertex. The graph is given in
+     * compressed form, i.e., the direct successors of vertex {@code v} are stored
+     * in {@code strongEdges} between {@code strongOffsets[v]} and
+     * {@code strongOffsets[v + 1]}. Ranges are split recursively until they are
+     * small enough. Each leaf task reuses a single queue and a mark array, which
+     * is reset by incrementing an epoch counter instead of clearing it.
+     */
+    private static class StrongClosureTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 512;
+
+        private final int from, to, size;
+        private final int[] strongOffsets, strongEdges;
+        private final int[][] strong;
+
+        private StrongClosureTask(int from, int to, int size, int[] strongOffsets, int[] strongEdges, int[][] strong) {
+            this.from = from;
+            this.to = to;
+            this.size = size;
+            this.strongOffsets = strongOffsets;
+            this.strongEdges = strongEdges;
+            this.strong = strong;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(
+                        new StrongClosureTask(from, middle, size, strongOffsets, strongEdges, strong),
+                        new StrongClosureTask(middle, to, size, strongOffsets, strongEdges, strong));
+            } else {
+                final int[] queue = new int[size];
+                final int[] mark = new int[size + 1];
+                int epoch = 0;
+                for (int vertexIndex = from; vertexIndex < to; vertexIndex++) {
+                    epoch++;
+                    final int literal = (vertexIndex & 1) == 0 ? -((vertexIndex >> 1) + 1) : (vertexIndex >> 1) + 1;
+                    mark[Math.abs(literal)] = epoch;
+                    int tail = 0;
+                    for (int e = strongOffsets[vertexIndex]; e < strongOffsets[vertexIndex + 1]; e++) {
+                        final int v = strongEdges[e];
+                        if (mark[Math.abs(v)] != epoch) {
+                            mark[Math.abs(v)] = epoch;
+                            queue[tail++] = v;
                         }
-                    });
+                    }
+                    for (int head = 0; head < tail; head++) {
+                        final int curVertex = ModalImplicationGraph.getVertexIndex(queue[head]);
+                        for (int e = strongOffsets[curVertex]; e < strongOffsets[curVertex + 1]; e++) {
+                            final int v = strongEdges[e];
+                            if (mark[Math.abs(v)] != epoch) {
+                                mark[Math.abs(v)] = epoch;
+                                queue[tail++] = v;
+                            }
+                        }
+                    }
+                    strong[vertexIndex] = Arrays.copyOf(queue, tail);
+                }
+            }
         }
-        strong[vertexIndex] = temp.toArray();
     }
 
     private BooleanClause cleanClause(BooleanAssignment clause, BooleanAssignment core) {
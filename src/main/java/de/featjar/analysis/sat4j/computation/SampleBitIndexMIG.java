@@ -40,6 +40,7 @@ public class SampleBitIndexMIG {
     private VariableMap variableMap;
 
     private final ModalImplicationGraph mig;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
     private final ExpandableIntegerList literalCount;
 
     public SampleBitIndexMIG(final VariableMap variableMap, ModalImplicationGraph mig) {
@@ -54,6 +55,7 @@ public class SampleBitIndexMIG {
 
         literalCount = new ExpandableIntegerList();
         this.mig = mig;
+        strongTraversal = mig.newStrongTraversal();
     }
 
     public SampleBitIndexMIG(SampleBitIndexMIG other) {
@@ -68,6 +70,7 @@ public class SampleBitIndexMIG {
 
         literalCount = new ExpandableIntegerList(other.literalCount);
         this.mig = other.mig;
+        strongTraversal = mig.newStrongTraversal();
     }
 
     public void readdConfiguration() {
@@ -100,13 +103,7 @@ public class SampleBitIndexMIG {
         for (int l : literals) {
             if (!bitSetReference[numberOfVariables + l].get(id)) {
                 bitSetReference[numberOfVariables + l].set(id);
-                numLiterals++;
-                for (int strongL : mig.getStrongEdges()[ModalImplicationGraph.getVertexIndex(l)]) {
-                    if (!bitSetReference[numberOfVariables + strongL].get(id)) {
-                        bitSetReference[numberOfVariables + strongL].set(id);
-                        numLiterals++;
-                    }
-                }
+                numLiterals += 1 + setImplied(id, l);
             }
         }
         literalCount.set(id, numLiterals);
@@ -125,13 +122,7 @@ public class SampleBitIndexMIG {
         for (int l : literals) {
             if (!bitSetReference[numberOfVariables + l].get(id)) {
                 bitSetReference[numberOfVariables + l].set(id);
-                numLiterals++;
-                for (int strongL : mig.getStrongEdges()[ModalImplicationGraph.getVertexIndex(l)]) {
-                    if (!bitSetReference[numberOfVariables + strongL].get(id)) {
-                        bitSetReference[numberOfVariables + strongL].set(id);
-                        numLiterals++;
-                    }
-                }
+                numLiterals += 1 + setImplied(id, l);
             }
         }
         literalCount.set(id, numLiterals);
@@ -233,15 +224,11 @@ public class SampleBitIndexMIG {
                 if (!literalSet.get(numberOfVariables + l)) {
                     literalSet.set(numberOfVariables + l);
                     literalCount++;
-                    for (int strongL : mig.getStrongEdges()[ModalImplicationGraph.getVertexIndex(l)]) {
-                        if (literalSet.get(numberOfVariables - strongL)) {
-                            return null;
-                        }
-                        if (!literalSet.get(numberOfVariables + strongL)) {
-                            literalSet.set(numberOfVariables + strongL);
-                            literalCount++;
-                        }
+                    final int impliedCount = propagateImplied(literalSet, l);
+                    if (impliedCount < 0) {
+                        return null;
                     }
+                    literalCount += impliedCount;
                 }
             }
         }
@@ -256,6 +243,81 @@ public class SampleBitIndexMIG {
         return literalArray;
     }
 
+    private int setImplied(int id, int literal) {
+        int count = 0;
+        final int[][] strongEdges = mig.getStrongEdges();
+        if (strongEdges != null) {
+            for (int strongL : strongEdges[ModalImplicationGraph.getVertexIndex(literal)]) {
+                count += setLiteral(id, strongL);
+            }
+        } else {
+            final int start = strongTraversal.push(literal);
+            try {
+                for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                    count += setLiteral(id, strongTraversal.get(k));
+                }
+            } finally {
+                strongTraversal.pop(start);
+            }
+        }
+        return count;
+    }
+
+    private int setLiteral(int id, int literal) {
+        final BitSet bitSet = bitSetReference[numberOfVariables + literal];
+        if (bitSet.get(id)) {
+            return 0;
+        }
+        bitSet.set(id);
+        return 1;
+    }
+
+    /**
+     * Adds all literals that are strongly implied by the given literal to the
+     * given set.
+     *
+     * @return the number of added literals, or {@code -1} if an implied literal
+     *         contradicts the set
+     */
+    private int propagateImplied(BitSet literalSet, int literal) {
+        int count = 0;
+        final int[][] strongEdges = mig.getStrongEdges();
+        if (strongEdges != null) {
+            for (int strongL : strongEdges[ModalImplicationGraph.getVertexIndex(literal)]) {
+                final int added = addLiteral(literalSet, strongL);
+                if (added < 0) {
+                    return -1;
+                }
+                count += added;
+            }
+        } else {
+            final int start = strongTraversal.push(literal);
+            try {
+                for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                    final int added = addLiteral(literalSet, strongTraversal.get(k));
+                    if (added < 0) {
+                        return -1;
+                    }
+                    count += added;
+                }
+            } finally {
+                strongTraversal.pop(start);
+            }
+        }
+        return count;
+    }
+
+    private int addLiteral(BitSet literalSet, int literal) {
+        if (literalSet.get(numberOfVariables - literal)) {
+            return -1;
+        }
+        if (literalSet.get(numberOfVariables + literal)) {
+            return 0;
+        }
+        literalSet.set(numberOfVariables + literal);
+        return 1;
+    }
+
     public boolean isUndefined(int id, int literal) {
         if (bitSetReference[numberOfVariables + literal].get(id)) {
             return false;
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy.NonParameterStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import java.util.Random;
+
+/**
+ * Enumerates solutions of a solver on demand. Solutions are copied into
+ * arrays provided by the caller, such that an arbitrary number of solutions
+ * can be processed with constant memory, apart from the blocking clauses that
+ * are added to the solver if duplicates are forbidden. A new solution is only
+ * computed when the caller requests the next batch.
+ *
+ * @author Sebastian Krieter
+ */
+public class SolutionEnumerator implements AutoCloseable {
+
+    private final SAT4JSolutionSolver solver;
+    private final NonParameterStrategy strategy;
+    private final Random random;
+    private final int limit;
+    private final boolean forbidDuplicates;
+    private Runnable closeAction;
+
+    private int count;
+    private boolean exhausted;
+
+    /**
+     * Creates a new enumerator.
+     *
+     * @param solver           the solver
+     * @param strategy         the selection strategy for each solution
+     * @param random           the random generator used by {@link NonParameterStrategy#FAST_RANDOM}
+     * @param limit            the maximum number of solutions
+     * @param forbidDuplicates whether each solution is excluded from the following ones
+     * @param closeAction      called once when this enumerator is {@link #close() closed}, may be {@code null}
+     */
+    public SolutionEnumerator(
+            SAT4JSolutionSolver solver,
+            NonParameterStrategy strategy,
+            Random random,
+            int limit,
+            boolean forbidDuplicates,
+            Runnable closeAction) {
+        this.solver = solver;
+        this.strategy = strategy;
+        this.random = random;
+        this.limit = limit;
+        this.forbidDuplicates = forbidDuplicates;
+        this.closeAction = closeAction;
+        switch (strategy) {
+            case FAST_RANDOM:
+                solver.setSelectionStrategy(ISelectionStrategy.random(random));
+                break;
+            case NEGATIVE:
+                solver.setSelectionStrategy(ISelectionStrategy.negative());
+                break;
+            case ORIGINAL:
+                break;
+            case POSITIVE:
+                solver.setSelectionStrategy(ISelectionStrategy.positive());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Computes up to {@code batch.length} further solutions and copies them into
+     * the rows of {@code batch}. Rows that are {@code null} or have the wrong
+     * length are replaced by new arrays, all other rows are reused.
+     *
+     * @param batch the array that receives the solutions
+     * @return the number of solutions in the batch, {@code 0} if there are no further solutions
+     */
+    public int nextBatch(int[][] batch) {
+        int size = 0;
+        while (size < batch.length && !exhausted) {
+            if (count >= limit || !solver.hasSolution().valueEquals(Boolean.TRUE)) {
+                exhausted = true;
+                break;
+            }
+            final int[] model = solver.getInternalSolution();
+            int[] row = batch[size];
+            if (row == null || row.length != model.length) {
+                row = new int[model.length];
+                batch[size] = row;
+            }
+            System.arraycopy(model, 0, row, 0, model.length);
+            size++;
+            count++;
+
+            if (forbidDuplicates) {
+                final int[] blockingClause = new int[model.length];
+                for (int i = 0; i < model.length; i++) {
+                    blockingClause[i] = -model[i];
+                }
+                solver.getClauseList().add(blockingClause);
+            }
+            if (strategy == NonParameterStrategy.FAST_RANDOM) {
+                solver.shuffleOrder(random);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns whether no further solutions can be computed, either because all
+     * solutions were found, the limit was reached, or the solver timed out.
+     *
+     * @return whether this enumerator is exhausted
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public SAT4JSolutionSolver getSolver() {
+        return solver;
+    }
+
+    @Override
+    public void close() {
+        if (closeAction != null) {
+            final Runnable action = closeAction;
+            closeAction = null;
+            action.run();
+        }
+    }
+}
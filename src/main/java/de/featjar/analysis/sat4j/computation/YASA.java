@@ -22,10 +22,13 @@ package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.RuntimeContradictionException;
 import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.IMIGVisitor;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitPlane;
 import de.featjar.analysis.sat4j.solver.MIGVisitorBitSet;
 import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
 import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.ParallelTasks;
 import de.featjar.analysis.sat4j.solver.SAT4JAssignment;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.analysis.sat4j.solver.SAT4JSolver;
@@ -42,28 +45,43 @@ import de.featjar.formula.combination.VariableCombinationSpecification.VariableC
 import de.featjar.formula.index.SampleBitIndex;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 /**
  * YASA sampling algorithm. Generates configurations for a given propositional
  * formula such that t-wise feature coverage is achieved.
+ * <p>
+ * If more than one {@link #THREADS thread} is used, uncovered combinations are
+ * processed in batches by a pool of independent solvers. The sample index is
+ * only modified by the calling thread in between two batches, such that the
+ * result is deterministic for a fixed random seed and thread count. Candidate
+ * configurations for a combination are only checked in parallel if there are
+ * at least {@value #PARALLEL_CANDIDATES_PER_THREAD} candidates per thread. In
+ * this case, each solver checks a contiguous slice of the candidates.
  *
  * @author Sebastian Krieter
  */
 public class YASA extends ATWiseSampleComputation {
 
+    private static final int BATCH_SIZE_PER_THREAD = 256;
+    private static final int PARALLEL_CANDIDATES_PER_THREAD = 4;
+
     private static class PartialConfiguration {
         private int id;
         private final boolean allowChange;
-        private final MIGVisitorBitSet visitor;
+        private final IMIGVisitor visitor;
 
-        public PartialConfiguration(int id, boolean allowChange, ModalImplicationGraph mig, int... newliterals) {
+        public PartialConfiguration(int id, boolean allowChange, IMIGVisitor visitor, int... newliterals) {
             this.id = id;
             this.allowChange = allowChange;
-            visitor = new MIGVisitorBitSet(mig);
+            this.visitor = visitor;
             if (allowChange) {
                 visitor.propagate(newliterals);
             } else {
@@ -71,12 +89,6 @@ public class YASA extends ATWiseSampleComputation {
             }
         }
 
-        public PartialConfiguration(PartialConfiguration other, int id) {
-            this.id = id;
-            this.allowChange = other.allowChange;
-            visitor = new MIGVisitorBitSet(other.visitor);
-        }
-
         public int setLiteral(int... literals) {
             final int oldModelCount = visitor.getAddedLiteralCount();
             visitor.propagate(literals);
@@ -124,6 +136,16 @@ public class YASA extends ATWiseSampleComputation {
      * Whether to use an incremental approach for t values.
      */
     public static final Dependency<Boolean> INCREMENTAL_T = Dependency.newDependency(Boolean.class);
+    /**
+     * Number of solvers that cover combinations of a batch in parallel. Uses a
+     * single solver per default.
+     */
+    public static final Dependency<Integer> THREADS = Dependency.newDependency(Integer.class);
+    /**
+     * Whether partial configurations are propagated over the weak edges of the
+     * MIG in addition to its strong edges. Uses only strong edges per default.
+     */
+    public static final Dependency<Boolean> WEAK_PROPAGATION = Dependency.newDependency(Boolean.class);
 
     /**
      * Constructs a new YASA computation.
@@ -139,16 +161,23 @@ public class YASA extends ATWiseSampleComputation {
                 new MIGBuilder(clauseList),
                 Computations.of(1),
                 Computations.of(65_536),
+                Computations.of(Boolean.FALSE),
+                Computations.of(1),
                 Computations.of(Boolean.FALSE));
     }
 
-    private int iterations, randomConfigurationLimit, curSolutionId, randomSampleIdsIndex;
+    private int iterations, randomConfigurationLimit, curSolutionId, randomSampleIdsIndex, threadCount;
     private boolean incrementalT;
     private List<PartialConfiguration> currentSample;
     private SampleBitIndex bestSampleIndex, currentSampleIndex, randomSampleIndex;
 
     private SAT4JSolutionSolver solver;
     private ModalImplicationGraph mig;
+    private Supplier<IMIGVisitor> visitorFactory;
+
+    private SAT4JSolutionSolver[] solvers;
+    private Random[] solverRandoms;
+    private ParallelTasks parallelTasks;
 
     @Override
     public Result<BooleanAssignmentList> computeSample(List<Object> dependencyList, Progress progress) {
@@ -164,9 +193,20 @@ public class YASA extends ATWiseSampleComputation {
         }
 
         incrementalT = INCREMENTAL_T.get(dependencyList);
+        threadCount = THREADS.get(dependencyList);
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be greater than 0. Value was " + threadCount);
+        }
         randomSampleIndex = new SampleBitIndex(variableMap);
 
         mig = MIG.get(dependencyList);
+        if (WEAK_PROPAGATION.get(dependencyList)) {
+            final MIGVisitorBitPlane coreVisitor = new MIGVisitorBitPlane(mig);
+            visitorFactory = () -> new MIGVisitorBitPlane(coreVisitor);
+        } else {
+            final MIGVisitorBitSet coreVisitor = new MIGVisitorBitSet(mig);
+            visitorFactory = () -> new MIGVisitorBitSet(coreVisitor);
+        }
 
         BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
         BooleanAssignment assumedAssignment = ASSUMED_ASSIGNMENT.get(dependencyList);
@@ -187,12 +227,45 @@ public class YASA extends ATWiseSampleComputation {
 
         progress.setTotalSteps((iterations + 1) * combinationSets.loopCount());
 
-        buildCombinations(progress);
-        rebuildCombinations(progress);
+        if (threadCount > 1) {
+            initParallelSolvers(clauseList, assumedAssignment, assumedClauseList, timeout);
+        }
+        try {
+            buildCombinations(progress);
+            rebuildCombinations(progress);
+        } finally {
+            if (parallelTasks != null) {
+                parallelTasks.close();
+                parallelTasks = null;
+            }
+        }
 
         return finalizeResult();
     }
 
+    private void initParallelSolvers(
+            BooleanAssignmentList clauseList,
+            BooleanAssignment assumedAssignment,
+            BooleanAssignmentList assumedClauseList,
+            Duration timeout) {
+        solvers = new SAT4JSolutionSolver[threadCount];
+        solverRandoms = new Random[threadCount];
+        solvers[0] = solver;
+        for (int i = 0; i < threadCount; i++) {
+            solverRandoms[i] = new Random(random.nextLong());
+            if (i > 0) {
+                solvers[i] = new SAT4JSolutionSolver(clauseList);
+                SAT4JSolver.initializeSolver(solvers[i], clauseList, assumedAssignment, assumedClauseList, timeout);
+                solvers[i].setSelectionStrategy(ISelectionStrategy.random(solverRandoms[i]));
+            }
+        }
+        parallelTasks = new ParallelTasks(threadCount);
+    }
+
+    private <R> List<R> invokeAll(List<Callable<R>> tasks) {
+        return parallelTasks.run(tasks, () -> {}).orElseThrow();
+    }
+
     @Override
     public Result<BooleanAssignmentList> getIntermediateResult() {
         return finalizeResult();
@@ -227,18 +300,79 @@ public class YASA extends ATWiseSampleComputation {
             currentSampleIndex.addConfiguration(config);
         }
 
-        combinationSets.forEach(combinationLiterals -> {
-            checkCancel();
-            monitor.incrementCurrentStep();
+        if (threadCount > 1) {
+            final int batchSize = BATCH_SIZE_PER_THREAD * threadCount;
+            final List<int[]> batch = new ArrayList<>(batchSize);
+            combinationSets.forEach(combinationLiterals -> {
+                checkCancel();
+                monitor.incrementCurrentStep();
+
+                if (!currentSampleIndex.test(combinationLiterals)
+                        && includeFilter.test(combinationLiterals)
+                        && !excludeFilter.test(combinationLiterals)) {
+                    batch.add(Arrays.copyOf(combinationLiterals, combinationLiterals.length));
+                    if (batch.size() == batchSize) {
+                        newRandomConfigurations(batch);
+                        batch.clear();
+                    }
+                }
+            });
+            newRandomConfigurations(batch);
+        } else {
+            combinationSets.forEach(combinationLiterals -> {
+                checkCancel();
+                monitor.incrementCurrentStep();
+
+                if (!currentSampleIndex.test(combinationLiterals)
+                        && includeFilter.test(combinationLiterals)
+                        && !excludeFilter.test(combinationLiterals)
+                        && !isCombinationInvalidMIG(combinationLiterals)) {
+                    newRandomConfiguration(combinationLiterals);
+                }
+            });
+        }
+        bestSampleIndex = currentSampleIndex;
+    }
 
-            if (!currentSampleIndex.test(combinationLiterals)
-                    && includeFilter.test(combinationLiterals)
-                    && !excludeFilter.test(combinationLiterals)
-                    && !isCombinationInvalidMIG(combinationLiterals)) {
-                newRandomConfiguration(combinationLiterals);
+    private void newRandomConfigurations(List<int[]> combinations) {
+        if (combinations.isEmpty()) {
+            return;
+        }
+        final int size = combinations.size();
+        final int sliceSize = (size + threadCount - 1) / threadCount;
+        List<Callable<List<int[][]>>> tasks = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final int from = Math.min(i * sliceSize, size);
+            final int to = Math.min(from + sliceSize, size);
+            final List<int[]> slice = combinations.subList(from, to);
+            final SAT4JSolutionSolver sliceSolver = solvers[i];
+            final Random sliceRandom = solverRandoms[i];
+            tasks.add(() -> findRandomConfigurations(sliceSolver, sliceRandom, slice));
+        }
+        for (List<int[][]> coveredCombinations : invokeAll(tasks)) {
+            for (int[][] coveredCombination : coveredCombinations) {
+                if (!currentSampleIndex.test(coveredCombination[0])) {
+                    addRandomConfiguration(coveredCombination[1]);
+                }
             }
-        });
-        bestSampleIndex = currentSampleIndex;
+        }
+    }
+
+    private List<int[][]> findRandomConfigurations(
+            SAT4JSolutionSolver sliceSolver, Random sliceRandom, List<int[]> combinations) {
+        SampleBitIndex sliceIndex = new SampleBitIndex(variableMap);
+        MIGVisitorByte visitor = new MIGVisitorByte(mig);
+        List<int[][]> coveredCombinations = new ArrayList<>();
+        for (int[] combinationLiterals : combinations) {
+            if (!sliceIndex.test(combinationLiterals) && !visitor.isContradiction(combinationLiterals)) {
+                int[] solution = findRandomConfiguration(sliceSolver, sliceRandom, combinationLiterals);
+                if (solution != null) {
+                    sliceIndex.addConfiguration(solution);
+                    coveredCombinations.add(new int[][] {combinationLiterals, solution});
+                }
+            }
+        }
+        return coveredCombinations;
     }
 
     private boolean isCombinationInvalidMIG(int[] literals) {
@@ -252,23 +386,36 @@ public class YASA extends ATWiseSampleComputation {
     }
 
     private void newRandomConfiguration(final int[] fixedLiterals) {
-        int orgAssignmentSize = setUpSolver(fixedLiterals);
+        int[] solution = findRandomConfiguration(solver, random, fixedLiterals);
+        if (solution != null) {
+            addRandomConfiguration(solution);
+        }
+    }
+
+    private void addRandomConfiguration(int[] solution) {
+        currentSampleIndex.addConfiguration(solution);
+        if (randomSampleIndex.size() < randomConfigurationLimit) {
+            randomSampleIndex.addConfiguration(solution);
+        }
+    }
+
+    private int[] findRandomConfiguration(
+            SAT4JSolutionSolver currentSolver, Random currentRandom, final int[] fixedLiterals) {
+        int orgAssignmentSize = setUpSolver(currentSolver, fixedLiterals, fixedLiterals.length);
         try {
-            Result<Boolean> hasSolution = solver.hasSolution();
+            Result<Boolean> hasSolution = currentSolver.hasSolution();
             if (hasSolution.isPresent()) {
                 if (hasSolution.get()) {
-                    int[] solution = solver.getInternalSolution();
-                    currentSampleIndex.addConfiguration(solution);
-                    if (randomSampleIndex.size() < randomConfigurationLimit) {
-                        randomSampleIndex.addConfiguration(solution);
-                    }
-                    solver.shuffleOrder(random);
+                    int[] solution = currentSolver.getInternalSolution();
+                    currentSolver.shuffleOrder(currentRandom);
+                    return solution;
                 }
+                return null;
             } else {
                 throw new RuntimeTimeoutException();
             }
         } finally {
-            solver.getAssignment().clear(orgAssignmentSize);
+            currentSolver.getAssignment().clear(orgAssignmentSize);
         }
     }
 
@@ -339,6 +486,9 @@ public class YASA extends ATWiseSampleComputation {
         for (int i = firstLiteralToConsider; i < addedLiteralCount; i++) {
             currentSampleIndex.update(solution.id, addedLiterals[i]);
         }
+        if (solution.visitor instanceof MIGVisitorBitPlane) {
+            ((MIGVisitorBitPlane) solution.visitor).clearUndoTrail();
+        }
     }
 
     private boolean tryCoverInExistingSolution(int[] literals) {
@@ -376,6 +526,9 @@ public class YASA extends ATWiseSampleComputation {
             }
         }
 
+        if (threadCount > 1 && selectionCandidates.size() >= PARALLEL_CANDIDATES_PER_THREAD * threadCount) {
+            return trySelectSatParallel(selectionCandidates, literals);
+        }
         for (PartialConfiguration configuration : selectionCandidates) {
             if (trySelectSat(configuration, literals)) {
                 return true;
@@ -384,10 +537,58 @@ public class YASA extends ATWiseSampleComputation {
         return false;
     }
 
+    private boolean trySelectSatParallel(List<PartialConfiguration> selectionCandidates, final int[] literals) {
+        final int size = selectionCandidates.size();
+        final int sliceSize = (size + threadCount - 1) / threadCount;
+        final int[] oldModelCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            oldModelCounts[i] = selectionCandidates.get(i).visitor.getAddedLiteralCount();
+        }
+        final int[] selectedCandidates = new int[threadCount];
+        List<Callable<int[]>> tasks = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            final int task = i;
+            final int from = Math.min(i * sliceSize, size);
+            final int to = Math.min(from + sliceSize, size);
+            final SAT4JSolutionSolver sliceSolver = solvers[i];
+            final Random sliceRandom = solverRandoms[i];
+            tasks.add(() -> {
+                for (int j = from; j < to; j++) {
+                    final int[] solution = selectSat(sliceSolver, sliceRandom, selectionCandidates.get(j), literals);
+                    if (solution != null) {
+                        selectedCandidates[task] = j;
+                        return solution;
+                    }
+                }
+                return null;
+            });
+        }
+        List<int[]> solutions = invokeAll(tasks);
+        int selected = -1;
+        for (int i = 0; i < solutions.size(); i++) {
+            if (solutions.get(i) != null) {
+                if (selected < 0) {
+                    selected = i;
+                } else {
+                    final int candidate = selectedCandidates[i];
+                    selectionCandidates.get(candidate).visitor.reset(oldModelCounts[candidate]);
+                }
+            }
+        }
+        if (selected >= 0) {
+            final int candidate = selectedCandidates[selected];
+            updateIndex(selectionCandidates.get(candidate), oldModelCounts[candidate]);
+            randomSampleIdsIndex = (randomSampleIdsIndex + 1) % randomConfigurationLimit;
+            randomSampleIndex.update(randomSampleIdsIndex, solutions.get(selected));
+            return true;
+        }
+        return false;
+    }
+
     private void newConfiguration(int[] literals, boolean allowChange) {
         if (currentSample.size() < maxSampleSize) {
             PartialConfiguration newConfiguration =
-                    new PartialConfiguration(curSolutionId++, allowChange, mig, literals);
+                    new PartialConfiguration(curSolutionId++, allowChange, visitorFactory.get(), literals);
             currentSample.add(newConfiguration);
             currentSampleIndex.addEmptyConfiguration();
             updateIndex(newConfiguration, 0);
@@ -423,26 +624,41 @@ public class YASA extends ATWiseSampleComputation {
     }
 
     private boolean trySelectSat(PartialConfiguration configuration, final int[] literals) {
-        int addedLiteralCount = configuration.visitor.getAddedLiteralCount();
-        final int oldModelCount = addedLiteralCount;
+        final int oldModelCount = configuration.visitor.getAddedLiteralCount();
+        final int[] solution = selectSat(solver, random, configuration, literals);
+        if (solution != null) {
+            updateIndex(configuration, oldModelCount);
+            randomSampleIdsIndex = (randomSampleIdsIndex + 1) % randomConfigurationLimit;
+            randomSampleIndex.update(randomSampleIdsIndex, solution);
+            return true;
+        }
+        return false;
+    }
+
+    private int[] selectSat(
+            SAT4JSolutionSolver currentSolver,
+            Random currentRandom,
+            PartialConfiguration configuration,
+            final int[] literals) {
+        final int oldModelCount = configuration.visitor.getAddedLiteralCount();
         try {
             configuration.visitor.propagate(literals);
         } catch (RuntimeException e) {
             configuration.visitor.reset(oldModelCount);
-            return false;
+            return null;
         }
 
-        final int orgAssignmentSize = setUpSolver(configuration);
+        final int orgAssignmentSize = setUpSolver(
+                currentSolver,
+                configuration.visitor.getAddedLiterals(),
+                configuration.visitor.getAddedLiteralCount());
         try {
-            Result<Boolean> hasSolution = solver.hasSolution();
+            Result<Boolean> hasSolution = currentSolver.hasSolution();
             if (hasSolution.isPresent()) {
                 if (hasSolution.get()) {
-                    updateIndex(configuration, oldModelCount);
-                    randomSampleIdsIndex = (randomSampleIdsIndex + 1) % randomConfigurationLimit;
-                    final int[] solution = solver.getInternalSolution();
-                    randomSampleIndex.update(randomSampleIdsIndex, solution);
-                    solver.shuffleOrder(random);
-                    return true;
+                    final int[] solution = currentSolver.getInternalSolution();
+                    currentSolver.shuffleOrder(currentRandom);
+                    return solution;
                 } else {
                     configuration.visitor.reset(oldModelCount);
                 }
@@ -450,21 +666,17 @@ public class YASA extends ATWiseSampleComputation {
                 throw new RuntimeTimeoutException();
             }
         } finally {
-            solver.getAssignment().clear(orgAssignmentSize);
+            currentSolver.getAssignment().clear(orgAssignmentSize);
         }
-        return false;
-    }
-
-    private int setUpSolver(PartialConfiguration configuration) {
-        return setUpSolver(configuration.visitor.getAddedLiterals(), configuration.visitor.getAddedLiteralCount());
+        return null;
     }
 
     private int setUpSolver(int[] configuration) {
-        return setUpSolver(configuration, configuration.length);
+        return setUpSolver(solver, configuration, configuration.length);
     }
 
-    private int setUpSolver(int[] elements, int size) {
-        SAT4JAssignment assignment = solver.getAssignment();
+    private int setUpSolver(SAT4JSolutionSolver currentSolver, int[] elements, int size) {
+        SAT4JAssignment assignment = currentSolver.getAssignment();
         final int orgAssignmentSize = assignment.size();
         for (int i = 0; i < size; i++) {
             assignment.add(elements[i]);
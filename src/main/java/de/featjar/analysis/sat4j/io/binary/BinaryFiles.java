@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.io.binary;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Shared helpers for the binary formats in this package. Files are written to a
+ * temporary file in the target directory, which then replaces the target
+ * atomically, such that readers never observe a partially written file.
+ * <p>
+ * A byte or one-dimensional array is stored as its length followed by its elements. A
+ * two-dimensional array is stored as the number of rows, followed by the row
+ * lengths, followed by the elements of all rows.
+ *
+ * @author Sebastian Krieter
+ */
+final class BinaryFiles {
+
+    /**
+     * Writes the content of a binary file.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private BinaryFiles() {}
+
+    /**
+     * Writes a file by writing to a temporary file first and moving it to the
+     * target afterwards.
+     *
+     * @param path   the file to write
+     * @param writer writes the content of the file
+     * @throws IOException if the file cannot be written
+     */
+    static void write(Path path, ContentWriter writer) throws IOException {
+        final Path absolutePath = path.toAbsolutePath();
+        final Path temporaryFile = Files.createTempFile(
+                absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                writer.write(out);
+            }
+            try {
+                Files.move(
+                        temporaryFile,
+                        absolutePath,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static void writeArray(DataOutputStream out, int[] array) throws IOException {
+        out.writeInt(array.length);
+        for (int value : array) {
+            out.writeInt(value);
+        }
+    }
+
+    static void writeJaggedArray(DataOutputStream out, int[][] array) throws IOException {
+        out.writeInt(array.length);
+        for (int[] row : array) {
+            out.writeInt(row.length);
+        }
+        for (int[] row : array) {
+            for (int value : row) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    /**
+     * Reads a binary file through a read-only memory mapping. Arrays are copied
+     * to the heap in bulk through an {@link IntBuffer} view. Every length that
+     * is read is checked against the number of remaining bytes, such that a
+     * corrupt file cannot cause the allocation of an arbitrarily large array.
+     */
+    static final class Reader implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+
+        Reader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                final long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("File too large: " + path);
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.BIG_ENDIAN);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        long remaining() {
+            return buffer.remaining();
+        }
+
+        int readInt() throws IOException {
+            require(4);
+            return buffer.getInt();
+        }
+
+        long readLong() throws IOException {
+            require(8);
+            return buffer.getLong();
+        }
+
+        /**
+         * Reads a length and checks that the given number of bytes per element
+         * is available for this many elements.
+         *
+         * @param elementBytes the minimum number of bytes per element
+         * @return the length
+         * @throws IOException if the length is negative or exceeds the
+         *                     remaining bytes
+         */
+        int readLength(int elementBytes) throws IOException {
+            final int length = readInt();
+            if (length < 0 || (long) length * elementBytes > buffer.remaining()) {
+                throw new IOException("Invalid length: " + length);
+            }
+            return length;
+        }
+
+        byte[] readBytes() throws IOException {
+            final byte[] bytes = new byte[readLength(1)];
+            buffer.get(bytes);
+            return bytes;
+        }
+
+        int[] readArray() throws IOException {
+            final int[] array = new int[readLength(4)];
+            buffer.asIntBuffer().get(array);
+            skip(4L * array.length);
+            return array;
+        }
+
+        int[][] readJaggedArray() throws IOException {
+            final int[][] array = new int[readLength(4)][];
+            long elementCount = 0;
+            for (int i = 0; i < array.length; i++) {
+                final int length = readLength(4);
+                elementCount += length;
+                if (4 * elementCount > buffer.remaining()) {
+                    throw new IOException("Invalid length: " + length);
+                }
+                array[i] = new int[length];
+            }
+            final IntBuffer elements = buffer.asIntBuffer();
+            for (int[] row : array) {
+                elements.get(row);
+            }
+            skip(4 * elementCount);
+            return array;
+        }
+
+        private void require(long byteCount) throws IOException {
+            if (byteCount > buffer.remaining()) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+
+        private void skip(long byteCount) {
+            buffer.position(buffer.position() + (int) byteCount);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.io.binary;
+
+import de.featjar.analysis.sat4j.computation.ImplicationDAG;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes an {@link ImplicationDAG} in a compact binary format.
+ * <p>
+ * The header contains the number of variables, followed by the length and
+ * UTF-8 bytes of each variable name. Afterwards, all arrays of the graph are
+ * stored as consecutive integers, each one as its length followed by its
+ * elements.
+ *
+ * @author Sebastian Krieter
+ */
+public final class ImplicationDAGBinaryIO {
+
+    private static final int MAGIC = 0x44414731;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+
+    private ImplicationDAGBinaryIO() {}
+
+    /**
+     * Writes a graph to a file. The file is replaced atomically, such that a
+     * concurrent reader either sees the old or the new graph.
+     *
+     * @param dag  the graph
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ImplicationDAG dag, Path path) throws IOException {
+        final VariableMap variableMap = dag.getVariableMap();
+        BinaryFiles.write(path, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(variableMap.size());
+            for (int i = 1; i <= variableMap.size(); i++) {
+                BinaryFiles.writeBytes(out, variableMap.getVariableName(i).orElse("").getBytes(StandardCharsets.UTF_8));
+            }
+
+            BinaryFiles.writeArray(out, dag.getCore());
+            BinaryFiles.writeArray(out, dag.getComponents());
+            BinaryFiles.writeArray(out, dag.getComponentOffsets());
+            BinaryFiles.writeArray(out, dag.getComponentLiterals());
+            BinaryFiles.writeArray(out, dag.getEdgeOffsets());
+            BinaryFiles.writeArray(out, dag.getEdgeTargets());
+        });
+    }
+
+    /**
+     * Reads a graph from a file.
+     *
+     * @param path the file to read
+     * @return the graph, or an empty result if the file does not exist or is
+     *         invalid
+     */
+    public static Result<ImplicationDAG> read(Path path) {
+        try (BinaryFiles.Reader in = new BinaryFiles.Reader(path)) {
+            if (in.remaining() < HEADER_BYTES || in.readInt() != MAGIC) {
+                return Result.empty(new IOException("Not an implication graph file: " + path));
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                return Result.empty(new IOException("Unsupported version " + version + ": " + path));
+            }
+            final int variableCount = in.readLength(4);
+            final List<String> names = new ArrayList<>(variableCount);
+            for (int i = 0; i < variableCount; i++) {
+                names.add(new String(in.readBytes(), StandardCharsets.UTF_8));
+            }
+
+            final int[] core = in.readArray();
+            final int[] components = in.readArray();
+            final int[] componentOffsets = in.readArray();
+            final int[] componentLiterals = in.readArray();
+            final int[] edgeOffsets = in.readArray();
+            final int[] edgeTargets = in.readArray();
+            return Result.of(new ImplicationDAG(
+                    new VariableMap(names),
+                    core,
+                    components,
+                    componentOffsets,
+                    componentLiterals,
+                    edgeOffsets,
+                    edgeTargets));
+        } catch (IOException | RuntimeException e) {
+            return Result.empty(e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.io.binary;
+
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Reads and writes a {@link ModalImplicationGraph} in a compact binary format.
+ * The header contains a hash of the CNF the graph was built from, such that
+ * outdated files can be detected when loading.
+ * <p>
+ * After the header, all arrays are stored as consecutive integers. A
+ * one-dimensional array is stored as its length followed by its elements. A
+ * two-dimensional array is stored as the number of rows, followed by the row
+ * lengths, followed by the elements of all rows.
+ *
+ * @author Sebastian Krieter
+ */
+public final class MIGBinaryIO {
+
+    private static final int MAGIC = 0x4D494731;
+    private static final int VERSION = 1;
+    private static final int FLAG_CONDENSED = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private MIGBinaryIO() {}
+
+    /**
+     * Computes a hash of the variables and clauses of a CNF.
+     *
+     * @param cnf the CNF
+     * @return the hash
+     */
+    public static long computeHash(BooleanAssignmentList cnf) {
+        final VariableMap variableMap = cnf.getVariableMap();
+        long hash = hash(FNV_OFFSET, variableMap.size());
+        for (int i = 1; i <= variableMap.size(); i++) {
+            for (byte b : variableMap.getVariableName(i).orElse("").getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+        }
+        hash = hash(hash, cnf.size());
+        for (BooleanAssignment clause : cnf) {
+            hash = hash(hash, clause.size());
+            for (int l : clause.get()) {
+                hash = hash(hash, l);
+            }
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Writes a graph to a file. The file is replaced atomically, such that a
+     * concurrent reader either sees the old or the new graph.
+     *
+     * @param mig  the graph
+     * @param cnf  the CNF the graph was built from
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ModalImplicationGraph mig, BooleanAssignmentList cnf, Path path) throws IOException {
+        final boolean condensed = mig.isCondensed();
+        final long hash = computeHash(cnf);
+        BinaryFiles.write(path, out -> {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(hash);
+            out.writeInt(mig.size());
+            out.writeInt(condensed ? FLAG_CONDENSED : 0);
+
+            BinaryFiles.writeArray(out, mig.getCore());
+            if (condensed) {
+                BinaryFiles.writeArray(out, mig.getStrongComponents());
+                BinaryFiles.writeJaggedArray(out, mig.getComponentLiterals());
+                BinaryFiles.writeJaggedArray(out, mig.getComponentEdges());
+            } else {
+                BinaryFiles.writeJaggedArray(out, mig.getStrongEdges());
+            }
+            BinaryFiles.writeJaggedArray(out, mig.getClauseIndices());
+            BinaryFiles.writeArray(out, mig.getClauses());
+            BinaryFiles.writeJaggedArray(out, mig.getClauseLengthIndices());
+            BinaryFiles.writeArray(out, mig.getClauseLengths());
+        });
+    }
+
+    /**
+     * Reads a graph from a file, if the file was written for the given CNF.
+     *
+     * @param path the file to read
+     * @param cnf  the CNF the graph is expected to be built from
+     * @return the graph, or an empty result if the file does not exist, is
+     *         invalid, or was written for a different CNF
+     */
+    public static Result<ModalImplicationGraph> read(Path path, BooleanAssignmentList cnf) {
+        try (BinaryFiles.Reader in = new BinaryFiles.Reader(path)) {
+            if (in.remaining() < HEADER_BYTES || in.readInt() != MAGIC) {
+                return Result.empty(new IOException("Not a modal implication graph file: " + path));
+            }
+            final int version = in.readInt();
+            if (version != VERSION) {
+                return Result.empty(new IOException("Unsupported version " + version + ": " + path));
+            }
+            if (in.readLong() != computeHash(cnf)) {
+                return Result.empty(new IOException("File was written for a different CNF: " + path));
+            }
+            final int size = in.readInt();
+            final boolean condensed = (in.readInt() & FLAG_CONDENSED) != 0;
+
+            final int[] core = in.readArray();
+            final int[][] strong = condensed ? null : in.readJaggedArray();
+            final int[] strongComponents = condensed ? in.readArray() : null;
+            final int[][] componentLiterals = condensed ? in.readJaggedArray() : null;
+            final int[][] componentEdges = condensed ? in.readJaggedArray() : null;
+            final int[][] clauseIndices = in.readJaggedArray();
+            final int[] clauses = in.readArray();
+            final int[][] clauseLengthIndices = in.readJaggedArray();
+            final int[] clauseLengths = in.readArray();
+            return Result.of(
+                    condensed
+                            ? new ModalImplicationGraph(
+                                    size,
+                                    core,
+                                    strongComponents,
+                                    componentLiterals,
+                                    componentEdges,
+                                    clauseIndices,
+                                    clauses,
+                                    clauseLengthIndices,
+                                    clauseLengths)
+                            : new ModalImplicationGraph(
+                                    size, core, strong, clauseIndices, clauses, clauseLengthIndices, clauseLengths));
+        } catch (IOException | RuntimeException e) {
+            return Result.empty(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.io.csv;
+
+import de.featjar.analysis.sat4j.computation.SolutionEnumerator;
+import de.featjar.formula.VariableMap;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes solutions of a {@link SolutionEnumerator} as CSV while they are
+ * computed. The first line contains the column names {@code ID}, {@code Group}
+ * and the names of all variables. Each following line contains one solution
+ * with {@code +} for selected and {@code -} for deselected variables. All
+ * solutions belong to group {@code 0}.
+ * <p>
+ * The header is flushed before the first solution is computed, even if there
+ * is no solution. Solutions are pulled from the enumerator in batches of a
+ * fixed size and each batch is written and flushed before the next one is
+ * computed. Thus, a
+ * slow output slows down the enumeration instead of accumulating solutions in
+ * memory.
+ *
+ * @author Sebastian Krieter
+ */
+public final class SolutionCSVWriter {
+
+    private static final char VALUE_SEPARATOR = ';';
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private SolutionCSVWriter() {}
+
+    /**
+     * Writes all remaining solutions of the given enumerator.
+     *
+     * @param enumerator  the enumerator
+     * @param variableMap the variables of the solutions
+     * @param writer      the output
+     * @param batchSize   the number of solutions that are computed before they are written
+     * @return the number of written solutions
+     * @throws IOException if the output cannot be written
+     */
+    public static long write(SolutionEnumerator enumerator, VariableMap variableMap, Writer writer, int batchSize)
+            throws IOException {
+        final int variableCount = variableMap.size();
+        writer.append("ID").append(VALUE_SEPARATOR).append("Group");
+        for (int i = 1; i <= variableCount; i++) {
+            writer.append(VALUE_SEPARATOR).append(variableMap.getVariableName(i).orElse(""));
+        }
+        writer.append(LINE_SEPARATOR);
+        writer.flush();
+
+        final int[][] batch = new int[batchSize][];
+        final StringBuilder line = new StringBuilder(2 * variableCount + 16);
+        long id = 0;
+        int size;
+        while ((size = enumerator.nextBatch(batch)) > 0) {
+            for (int i = 0; i < size; i++) {
+                final int[] solution = batch[i];
+                line.setLength(0);
+                line.append(id++).append(VALUE_SEPARATOR).append('0');
+                for (int j = 0; j < variableCount; j++) {
+                    line.append(VALUE_SEPARATOR);
+                    line.append(j < solution.length && solution[j] > 0 ? '+' : '-');
+                }
+                line.append(LINE_SEPARATOR);
+                writer.append(line);
+            }
+            writer.flush();
+        }
+        return id;
+    }
+}
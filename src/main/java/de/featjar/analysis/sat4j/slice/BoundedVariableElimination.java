@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.slice;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Eliminates variables from a CNF by bounded variable elimination in the style
+ * of SatELite. Clauses are indexed by occurrence lists. Backward subsumption and
+ * self-subsuming resolution are applied to all initial clauses and all
+ * resolvents. A variable is only eliminated if the number of non-tautological
+ * resolvents does not exceed the number of removed clauses by more than a
+ * given limit. Otherwise, it is postponed and can later be eliminated by the
+ * {@link CNFSlicer}.
+ *
+ * @author Sebastian Krieter
+ */
+public class BoundedVariableElimination {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final BooleanAssignmentList cnf;
+    private final int variableCount;
+    private final int growthLimit;
+
+    private final ArrayList<int[]> clauses = new ArrayList<>();
+    private final int[][] occurrences;
+    private final int[] occurrenceCounts;
+    private final boolean[] eliminable;
+    private final int[] marks;
+    private int stamp;
+
+    private final ArrayDeque<Integer> subsumptionQueue = new ArrayDeque<>();
+    private final BitSet queuedClauses = new BitSet();
+
+    private int eliminatedCount;
+
+    /**
+     * Creates a new elimination for the given CNF.
+     *
+     * @param cnf         the CNF
+     * @param variables   the variables to eliminate
+     * @param growthLimit the number of clauses by which the CNF may grow per eliminated variable
+     */
+    public BoundedVariableElimination(BooleanAssignmentList cnf, BooleanAssignment variables, int growthLimit) {
+        this.cnf = cnf;
+        this.growthLimit = growthLimit;
+        variableCount = cnf.getVariableMap().size();
+        occurrences = new int[2 * variableCount + 1][];
+        Arrays.fill(occurrences, EMPTY);
+        occurrenceCounts = new int[2 * variableCount + 1];
+        marks = new int[2 * variableCount + 1];
+        eliminable = new boolean[variableCount + 1];
+        for (int variable : variables.get()) {
+            eliminable[Math.abs(variable)] = true;
+        }
+        for (BooleanAssignment clause : cnf) {
+            final int[] literals = normalize(clause.get());
+            if (literals != null) {
+                addClause(literals);
+            }
+        }
+    }
+
+    /**
+     * Applies subsumption and eliminates variables until no further variable can
+     * be eliminated within the bound.
+     */
+    public void eliminate() {
+        subsume();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            final List<Integer> candidates = new ArrayList<>();
+            for (int variable = 1; variable <= variableCount; variable++) {
+                if (eliminable[variable]) {
+                    candidates.add(variable);
+                }
+            }
+            final long[] costs = new long[variableCount + 1];
+            for (int variable : candidates) {
+                costs[variable] = (long) liveOccurrences(variable) * liveOccurrences(-variable);
+            }
+            candidates.sort(Comparator.comparingLong(variable -> costs[variable]));
+            for (int variable : candidates) {
+                if (eliminateVariable(variable)) {
+                    eliminable[variable] = false;
+                    eliminatedCount++;
+                    progress = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the clauses that remain after elimination and subsumption.
+     *
+     * @return the remaining clauses
+     */
+    public BooleanAssignmentList getClauses() {
+        final BooleanAssignmentList result = new BooleanAssignmentList(cnf.getVariableMap());
+        for (int[] clause : clauses) {
+            if (clause != null) {
+                result.add(new BooleanClause(clause));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the variables that could not be eliminated within the bound.
+     *
+     * @return the postponed variables
+     */
+    public BooleanAssignment getRemainingVariables() {
+        final int[] remaining = new int[variableCount];
+        int count = 0;
+        for (int variable = 1; variable <= variableCount; variable++) {
+            if (eliminable[variable]) {
+                remaining[count++] = variable;
+            }
+        }
+        return new BooleanAssignment(Arrays.copyOf(remaining, count));
+    }
+
+    public int getEliminatedCount() {
+        return eliminatedCount;
+    }
+
+    private boolean eliminateVariable(int variable) {
+        final int positiveCount = liveOccurrences(variable);
+        final int negativeCount = liveOccurrences(-variable);
+        final int[] positive = Arrays.copyOf(occurrences[variableCount + variable], positiveCount);
+        final int[] negative = Arrays.copyOf(occurrences[variableCount - variable], negativeCount);
+
+        final long bound = (long) positiveCount + negativeCount + growthLimit;
+        long resolventCount = 0;
+        for (int p : positive) {
+            markLiterals(clauses.get(p));
+            for (int n : negative) {
+                if (!isTautology(clauses.get(n), variable)) {
+                    if (++resolventCount > bound) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        final List<int[]> resolvents = new ArrayList<>((int) resolventCount);
+        for (int p : positive) {
+            final int[] positiveClause = clauses.get(p);
+            markLiterals(positiveClause);
+            for (int n : negative) {
+                final int[] negativeClause = clauses.get(n);
+                if (!isTautology(negativeClause, variable)) {
+                    resolvents.add(resolve(positiveClause, negativeClause, variable));
+                }
+            }
+        }
+        for (int p : positive) {
+            clauses.set(p, null);
+        }
+        for (int n : negative) {
+            clauses.set(n, null);
+        }
+        for (int[] resolvent : resolvents) {
+            addClause(resolvent);
+        }
+        subsume();
+        return true;
+    }
+
+    private void markLiterals(int[] clause) {
+        stamp++;
+        for (int l : clause) {
+            marks[variableCount + l] = stamp;
+        }
+    }
+
+    private boolean isTautology(int[] negativeClause, int variable) {
+        for (int l : negativeClause) {
+            if (l != -variable && marks[variableCount - l] == stamp) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] resolve(int[] positiveClause, int[] negativeClause, int variable) {
+        final int[] resolvent = new int[positiveClause.length + negativeClause.length - 2];
+        int size = 0;
+        for (int l : positiveClause) {
+            if (l != variable) {
+                resolvent[size++] = l;
+            }
+        }
+        for (int l : negativeClause) {
+            if (l != -variable && marks[variableCount + l] != stamp) {
+                resolvent[size++] = l;
+            }
+        }
+        return size == resolvent.length ? resolvent : Arrays.copyOf(resolvent, size);
+    }
+
+    private void subsume() {
+        while (!subsumptionQueue.isEmpty()) {
+            final int id = subsumptionQueue.poll();
+            queuedClauses.clear(id);
+            final int[] clause = clauses.get(id);
+            if (clause == null || clause.length == 0) {
+                continue;
+            }
+
+            int minLiteral = clause[0];
+            int minCount = Integer.MAX_VALUE;
+            for (int l : clause) {
+                final int count = liveOccurrences(l) + liveOccurrences(-l);
+                if (count < minCount) {
+                    minCount = count;
+                    minLiteral = l;
+                }
+            }
+            final int positiveCount = occurrenceCounts[variableCount + minLiteral];
+            final int negativeCount = occurrenceCounts[variableCount - minLiteral];
+            final int[] candidates =
+                    Arrays.copyOf(occurrences[variableCount + minLiteral], positiveCount + negativeCount);
+            System.arraycopy(occurrences[variableCount - minLiteral], 0, candidates, positiveCount, negativeCount);
+
+            markLiterals(clause);
+            for (int candidateId : candidates) {
+                final int[] candidate = clauses.get(candidateId);
+                if (candidateId == id || candidate == null || candidate.length < clause.length) {
+                    continue;
+                }
+                int sameCount = 0;
+                int negatedCount = 0;
+                int negatedLiteral = 0;
+                for (int l : candidate) {
+                    if (marks[variableCount + l] == stamp) {
+                        sameCount++;
+                    } else if (marks[variableCount - l] == stamp) {
+                        negatedCount++;
+                        negatedLiteral = l;
+                    }
+                }
+                if (sameCount == clause.length) {
+                    clauses.set(candidateId, null);
+                } else if (negatedCount == 1 && sameCount == clause.length - 1) {
+                    strengthen(candidateId, negatedLiteral);
+                }
+            }
+        }
+    }
+
+    private void strengthen(int id, int literal) {
+        final int[] clause = clauses.get(id);
+        final int[] strengthenedClause = new int[clause.length - 1];
+        int size = 0;
+        for (int l : clause) {
+            if (l != literal) {
+                strengthenedClause[size++] = l;
+            }
+        }
+        clauses.set(id, strengthenedClause);
+        enqueue(id);
+    }
+
+    private int[] normalize(int[] literals) {
+        stamp++;
+        final int[] normalized = new int[literals.length];
+        int size = 0;
+        for (int l : literals) {
+            if (marks[variableCount - l] == stamp) {
+                return null;
+            }
+            if (marks[variableCount + l] != stamp) {
+                marks[variableCount + l] = stamp;
+                normalized[size++] = l;
+            }
+        }
+        return size == normalized.length ? normalized : Arrays.copyOf(normalized, size);
+    }
+
+    private void addClause(int[] literals) {
+        final int id = clauses.size();
+        clauses.add(literals);
+        for (int l : literals) {
+            final int index = variableCount + l;
+            int[] list = occurrences[index];
+            if (occurrenceCounts[index] == list.length) {
+                list = occurrences[index] = Arrays.copyOf(list, Math.max(4, list.length << 1));
+            }
+            list[occurrenceCounts[index]++] = id;
+        }
+        enqueue(id);
+    }
+
+    private void enqueue(int id) {
+        if (!queuedClauses.get(id)) {
+            queuedClauses.set(id);
+            subsumptionQueue.add(id);
+        }
+    }
+
+    /**
+     * Removes all entries of removed clauses and clauses that no longer contain
+     * the literal from its occurrence list.
+     *
+     * @param literal the literal
+     * @return the number of remaining entries
+     */
+    private int liveOccurrences(int literal) {
+        final int index = variableCount + literal;
+        final int[] list = occurrences[index];
+        int count = 0;
+        for (int i = 0, size = occurrenceCounts[index]; i < size; i++) {
+            final int[] clause = clauses.get(list[i]);
+            if (clause != null && contains(clause, literal)) {
+                list[count++] = list[i];
+            }
+        }
+        occurrenceCounts[index] = count;
+        return count;
+    }
+
+    private static boolean contains(int[] clause, int literal) {
+        for (int l : clause) {
+            if (l == literal) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -20,6 +20,7 @@
  */
 package de.featjar.analysis.sat4j.slice;
 
+import de.featjar.analysis.sat4j.solver.AuxiliaryVariables;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.ComputeConstant;
@@ -27,11 +28,13 @@ import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanClause;
 import de.featjar.formula.assignment.conversion.BooleanAssignmentListToVariables;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -52,6 +55,26 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
             Dependency.newDependency(BooleanAssignment.class);
     public static final Dependency<BooleanAssignment> VARIABLES_TO_REMOVE =
             Dependency.newDependency(BooleanAssignment.class);
+    public static final Dependency<IEliminationCost> ELIMINATION_COST =
+            Dependency.newDependency(IEliminationCost.class);
+    /**
+     * Whether to apply {@link BoundedVariableElimination} before the SAT-based
+     * elimination of the remaining variables.
+     */
+    public static final Dependency<Boolean> BOUNDED_ELIMINATION = Dependency.newDependency(Boolean.class);
+    /**
+     * The number of clauses by which the formula may grow when a variable is
+     * eliminated by {@link BoundedVariableElimination}.
+     */
+    public static final Dependency<Integer> ELIMINATION_LIMIT = Dependency.newDependency(Integer.class);
+    /**
+     * Number of recent solutions that the redundancy solvers remember to detect
+     * non-redundant clauses without calling Sat4J. Solutions are not remembered
+     * per default.
+     */
+    public static final Dependency<Integer> SOLUTION_CACHE_CAPACITY = Dependency.newDependency(Integer.class);
+
+    private static final String SELECTOR_PREFIX = "__slicer_selector_";
 
     protected static final Comparator<BooleanAssignment> lengthComparator =
             Comparator.comparing(BooleanAssignment::size);
@@ -72,9 +95,17 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
     protected int[] helper;
     protected DirtyFeature[] map;
     protected MinimumClauseHeuristic heuristic;
+    protected IEliminationCost eliminationCost;
     private SAT4JSolutionSolver newSolver;
 
-    private boolean first = false;
+    private BooleanAssignmentList redundancyCNF;
+    private SAT4JSolutionSolver redundancySolver;
+    private int[] selectors;
+    private int[] selectorAssumptions;
+    private int solutionCacheCapacity;
+    private long solutionCacheHitCount;
+
+    protected boolean first = false;
 
     protected int globalMixedClauseCount = 0;
 
@@ -86,7 +117,11 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
         super(
                 clauseList,
                 new BooleanAssignmentListToVariables(clauseList),
-                new ComputeConstant<>(new BooleanAssignment()));
+                new ComputeConstant<>(new BooleanAssignment()),
+                new ComputeConstant<>(IEliminationCost.Default.CLAUSE_COUNT),
+                new ComputeConstant<>(Boolean.FALSE),
+                new ComputeConstant<>(0),
+                new ComputeConstant<>(0));
     }
 
     int cr = 0, cnr = 0, dr = 0, dnr = 0;
@@ -96,12 +131,23 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
         orgCNF = CNF.get(dependencyList);
         BooleanAssignment inlcude = VARIABLES_TO_KEEP.get(dependencyList);
         BooleanAssignment exclude = VARIABLES_TO_REMOVE.get(dependencyList);
+        eliminationCost = ELIMINATION_COST.get(dependencyList);
+        solutionCacheCapacity = SOLUTION_CACHE_CAPACITY.get(dependencyList);
+        solutionCacheHitCount = 0;
 
         dirtyVariables = orgCNF.getVariableMap()
                 .getVariables()
                 .removeAll(
                         inlcude.removeAllVariables(exclude.getAbsoluteValues()).getAbsoluteValues());
 
+        if (BOUNDED_ELIMINATION.get(dependencyList)) {
+            final BoundedVariableElimination elimination =
+                    new BoundedVariableElimination(orgCNF, dirtyVariables, ELIMINATION_LIMIT.get(dependencyList));
+            elimination.eliminate();
+            orgCNF = elimination.getClauses();
+            dirtyVariables = elimination.getRemainingVariables();
+        }
+
         cnfCopy = new BooleanAssignmentList(orgCNF.getVariableMap());
 
         map = new DirtyFeature[orgCNF.getVariableMap().size() + 1];
@@ -298,24 +344,85 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
         if (nextFeature.getClauseCount() > 0) {
             addCleanClauses();
 
-            final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnfCopy);
-            solver.getClauseList().addAll(cleanLiteralListIndexList);
-            solver.getClauseList().addAll(dirtyClauseList.subList(0, dirtyListPosIndex));
+            updateSelectorAssumptions(0);
 
             newDirtyClauseList.subList(0, newDirtyListDelIndex).sort(lengthComparator);
             for (int i = newDirtyListDelIndex - 1; i >= 0; --i) {
                 final DirtyClause curClause = newDirtyClauseList.get(i);
-                if (isRedundant(solver, curClause)) {
+                if (isRedundant(curClause)) {
                     dr++;
                     Collections.swap(newDirtyClauseList, i, --newDirtyListDelIndex);
                 } else {
                     dnr++;
-                    solver.getClauseList().add(curClause);
+                    addGuardedClause(curClause);
                 }
             }
         }
     }
 
+    /**
+     * Checks whether a clause is implied by all clauses in the redundancy solver
+     * that are currently active. A dirty clause is active, if none of its dirty
+     * variables has been eliminated yet.
+     */
+    private boolean isRedundant(BooleanClause clause) {
+        final int[] negatedClause = clause.negateInts();
+        final int[] assumptions = Arrays.copyOf(selectorAssumptions, selectorAssumptions.length + negatedClause.length);
+        System.arraycopy(negatedClause, 0, assumptions, selectorAssumptions.length, negatedClause.length);
+        return redundancySolver.hasSolution(assumptions).valueEquals(Boolean.FALSE);
+    }
+
+    /**
+     * Adds a clause to the redundancy solver. For each dirty variable in the
+     * clause, the negation of its selector is added to the clause, such that the
+     * clause is deactivated as soon as one of these variables is eliminated and
+     * its selector is assumed to be false.
+     */
+    private void addGuardedClause(BooleanClause clause) {
+        final int[] literals = clause.get();
+        int guardCount = 0;
+        for (final int literal : literals) {
+            if (selectors[Math.abs(literal)] != 0) {
+                guardCount++;
+            }
+        }
+        final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + guardCount);
+        int i = literals.length;
+        for (final int literal : literals) {
+            final int selector = selectors[Math.abs(literal)];
+            if (selector != 0) {
+                guardedLiterals[i++] = -selector;
+            }
+        }
+        redundancySolver.getClauseList().add(guardedLiterals);
+    }
+
+    /**
+     * Activates the selectors of all variables that are not eliminated yet and
+     * deactivates the selectors of all eliminated variables.
+     *
+     * @param activeVariable an eliminated variable whose selector should remain active, or {@code 0}
+     */
+    private void updateSelectorAssumptions(int activeVariable) {
+        int i = 0;
+        for (final int variable : dirtyVariables.get()) {
+            final int selector = selectors[variable];
+            selectorAssumptions[i++] = (map[variable] != null || variable == activeVariable) ? selector : -selector;
+        }
+    }
+
+    private void initializeRedundancySolver() {
+        final List<String> names = AuxiliaryVariables.copyVariableNames(
+                orgCNF.getVariableMap(), SELECTOR_PREFIX, numberOfDirtyFeatures);
+        selectors = new int[map.length];
+        for (final int variable : dirtyVariables.get()) {
+            names.add(SELECTOR_PREFIX + variable);
+            selectors[variable] = names.size();
+        }
+        selectorAssumptions = new int[dirtyVariables.size()];
+        redundancyCNF = new BooleanAssignmentList(new VariableMap(names));
+    }
+
     protected void addCleanClauses() {
         newCleanClauseList.sort(lengthComparator);
 
@@ -328,6 +435,9 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
             } else {
                 cnr++;
                 newSolver.getClauseList().add(clause);
+                if (redundancySolver != null) {
+                    redundancySolver.getClauseList().add(clause);
+                }
                 cleanLiteralListIndexList.add(new BooleanClause(clause));
             }
         }
@@ -341,18 +451,20 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
 
             addCleanClauses();
 
-            final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnfCopy);
-            solver.getClauseList().addAll(cleanLiteralListIndexList);
+            redundancySolver = new SAT4JSolutionSolver(redundancyCNF);
+            redundancySolver.setSolutionCacheCapacity(solutionCacheCapacity);
+            redundancySolver.getClauseList().addAll(cleanLiteralListIndexList);
+            updateSelectorAssumptions(nextFeature.getId());
 
             // SAT Relevant
             for (int i = dirtyListPosIndex - 1; i >= 0; --i) {
                 final DirtyClause mainClause = dirtyClauseList.get(i);
-                if (isRedundant(solver, mainClause)) {
+                if (isRedundant(mainClause)) {
                     dr++;
                     Collections.swap(dirtyClauseList, i, --dirtyListPosIndex);
                 } else {
                     dnr++;
-                    solver.getClauseList().add(mainClause);
+                    addGuardedClause(mainClause);
                 }
             }
             deleteOldDirtyClauses();
@@ -367,18 +479,38 @@ public class CNFSlicer extends AComputation<BooleanAssignmentList> {
     }
 
     protected boolean prepareHeuristics() {
-        heuristic = new MinimumClauseHeuristic(map, numberOfDirtyFeatures);
+        heuristic = new MinimumClauseHeuristic(map, numberOfDirtyFeatures, eliminationCost);
         first = true;
+        initializeRedundancySolver();
         newSolver = new SAT4JSolutionSolver(cnfCopy);
+        newSolver.setSolutionCacheCapacity(solutionCacheCapacity);
         return newSolver.hasSolution().valueEquals(Boolean.TRUE);
     }
 
+    /**
+     * Returns the number of redundancy checks of the last computation that were
+     * answered by a remembered solution.
+     *
+     * @return the number of cache hits
+     * @see #SOLUTION_CACHE_CAPACITY
+     */
+    long getSolutionCacheHitCount() {
+        return solutionCacheHitCount;
+    }
+
+    private static long getSolutionCacheHitCount(SAT4JSolutionSolver solver) {
+        return solver != null && solver.getSolutionCache() != null ? solver.getSolutionCache().getHitCount() : 0;
+    }
+
     protected void release() {
         newDirtyClauseList.clear();
         newCleanClauseList.clear();
         dirtyClauseSet.clear();
         cleanClauseSet.clear();
         dirtyClauseList.clear();
+        solutionCacheHitCount = getSolutionCacheHitCount(newSolver) + getSolutionCacheHitCount(redundancySolver);
+        redundancySolver = null;
+        redundancyCNF = null;
 
         //        if (newSolver != null) {
         //            newSolver.reset();
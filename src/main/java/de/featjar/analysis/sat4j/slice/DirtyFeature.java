@@ -34,6 +34,10 @@ public class DirtyFeature implements Comparable<DirtyFeature> {
     private long negativeCount;
     private long mixedCount;
 
+    MinimumClauseHeuristic heuristic;
+    int heapIndex = -1;
+    boolean changed;
+
     public DirtyFeature(int id) {
         this.id = id;
 
@@ -53,7 +57,7 @@ public class DirtyFeature implements Comparable<DirtyFeature> {
 
     public long getClauseCount() {
         try {
-            return ((positiveCount * negativeCount) - (positiveCount + negativeCount));
+            return Math.multiplyExact(positiveCount, negativeCount) - (positiveCount + negativeCount);
         } catch (final ArithmeticException e) {
             return Long.MAX_VALUE;
         }
@@ -81,26 +85,38 @@ public class DirtyFeature implements Comparable<DirtyFeature> {
 
     public void incPositive() {
         positiveCount++;
+        notifyHeuristic();
     }
 
     public void incNegative() {
         negativeCount++;
+        notifyHeuristic();
     }
 
     public void incMixed() {
         mixedCount++;
+        notifyHeuristic();
     }
 
     public void decPositive() {
         positiveCount--;
+        notifyHeuristic();
     }
 
     public void decNegative() {
         negativeCount--;
+        notifyHeuristic();
     }
 
     public void decMixed() {
         mixedCount--;
+        notifyHeuristic();
+    }
+
+    private void notifyHeuristic() {
+        if (heuristic != null) {
+            heuristic.changed(this);
+        }
     }
 
     @Override
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.slice;
+
+/**
+ * Estimates the cost of eliminating a {@link DirtyFeature} in the
+ * {@link CNFSlicer}. Features with lower cost are eliminated first.
+ *
+ * @author Sebastian Krieter
+ */
+public interface IEliminationCost {
+
+    enum Default implements IEliminationCost {
+        /**
+         * The change in the number of clauses, i.e., the number of resolvents minus
+         * the number of clauses containing the feature.
+         */
+        CLAUSE_COUNT {
+            @Override
+            public long getCost(DirtyFeature feature) {
+                return feature.getClauseCount();
+            }
+        },
+        /**
+         * The number of resolvents, i.e., the product of positive and negative
+         * occurrences of the feature.
+         */
+        RESOLVENT_COUNT {
+            @Override
+            public long getCost(DirtyFeature feature) {
+                try {
+                    return Math.multiplyExact(feature.getPositiveCount(), feature.getNegativeCount());
+                } catch (final ArithmeticException e) {
+                    return Long.MAX_VALUE;
+                }
+            }
+        },
+        /**
+         * The number of clauses containing the feature and other, non-dirty features.
+         */
+        MIXED_COUNT {
+            @Override
+            public long getCost(DirtyFeature feature) {
+                return feature.getMixedCount();
+            }
+        },
+    }
+
+    long getCost(DirtyFeature feature);
+}
@@ -20,28 +20,53 @@
  */
 package de.featjar.analysis.sat4j.slice;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 
 /**
- * Returns features dependent on the current clauses in the formula.
+ * Returns features dependent on the current clauses in the formula. Features
+ * are kept in an indexed binary min-heap ordered by their
+ * {@link IEliminationCost cost}. Changes of the occurrence counts of a feature
+ * are collected and the heap is repaired before the next feature is returned.
  *
  * @author Sebastian Krieter
  */
 public class MinimumClauseHeuristic implements Iterator<DirtyFeature> {
 
     protected final DirtyFeature[] map;
-    protected final int maxIndex;
-    protected int curIndex = 0;
-    protected int realCurIndex = 0;
+    protected final IEliminationCost cost;
+
+    private final DirtyFeature[] heap;
+    private final long[] keys;
+    private int heapSize;
+    private final ArrayList<DirtyFeature> changedFeatures = new ArrayList<>();
 
     public MinimumClauseHeuristic(DirtyFeature[] map, int length) {
+        this(map, length, IEliminationCost.Default.CLAUSE_COUNT);
+    }
+
+    public MinimumClauseHeuristic(DirtyFeature[] map, int length, IEliminationCost cost) {
         this.map = map;
-        maxIndex = length;
+        this.cost = cost;
+        heap = new DirtyFeature[length];
+        keys = new long[length];
+        for (int i = 1; i < map.length; i++) {
+            final DirtyFeature feature = map[i];
+            if (feature != null) {
+                feature.heuristic = this;
+                feature.heapIndex = heapSize;
+                heap[heapSize] = feature;
+                keys[heapSize++] = cost.getCost(feature);
+            }
+        }
+        for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
     }
 
     @Override
     public boolean hasNext() {
-        return maxIndex != curIndex;
+        return heapSize > 0;
     }
 
     @Override
@@ -49,10 +74,17 @@ public class MinimumClauseHeuristic implements Iterator<DirtyFeature> {
         if (!hasNext()) {
             return null;
         }
-        realCurIndex = getNextIndex();
-        final DirtyFeature ret = map[realCurIndex];
-        map[realCurIndex] = null;
-        curIndex++;
+        updateChangedFeatures();
+        final DirtyFeature ret = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            move(heapSize, 0);
+            siftDown(0);
+        }
+        heap[heapSize] = null;
+        ret.heuristic = null;
+        ret.heapIndex = -1;
+        map[ret.getId()] = null;
         return ret;
     }
 
@@ -62,20 +94,78 @@ public class MinimumClauseHeuristic implements Iterator<DirtyFeature> {
     }
 
     public int size() {
-        return maxIndex - curIndex;
+        return heapSize;
     }
 
-    protected int getNextIndex() {
-        DirtyFeature smallestFeature = map[1];
-        int minIndex = 1;
-        for (int i = 2; i < map.length; i++) {
-            final DirtyFeature next = map[i];
-            if ((smallestFeature == null)
-                    || ((next != null) && ((smallestFeature.getClauseCount() - next.getClauseCount()) > 0))) {
-                smallestFeature = next;
-                minIndex = i;
+    void changed(DirtyFeature feature) {
+        if (!feature.changed) {
+            feature.changed = true;
+            changedFeatures.add(feature);
+        }
+    }
+
+    private void updateChangedFeatures() {
+        for (final DirtyFeature feature : changedFeatures) {
+            feature.changed = false;
+            final int index = feature.heapIndex;
+            if (index >= 0) {
+                final long oldKey = keys[index];
+                final long newKey = cost.getCost(feature);
+                keys[index] = newKey;
+                if (newKey < oldKey) {
+                    siftUp(index);
+                } else if (newKey > oldKey) {
+                    siftDown(index);
+                }
             }
         }
-        return minIndex;
+        changedFeatures.clear();
+    }
+
+    private boolean less(int i, int j) {
+        return keys[i] < keys[j] || (keys[i] == keys[j] && heap[i].getId() < heap[j].getId());
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (!less(index, parent)) {
+                break;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final int left = (index << 1) + 1;
+            if (left >= heapSize) {
+                break;
+            }
+            final int right = left + 1;
+            final int child = right < heapSize && less(right, left) ? right : left;
+            if (!less(child, index)) {
+                break;
+            }
+            swap(index, child);
+            index = child;
+        }
+    }
+
+    private void swap(int i, int j) {
+        final DirtyFeature feature = heap[i];
+        final long key = keys[i];
+        move(j, i);
+        heap[j] = feature;
+        keys[j] = key;
+        feature.heapIndex = j;
+    }
+
+    private void move(int from, int to) {
+        final DirtyFeature feature = heap[from];
+        heap[to] = feature;
+        keys[to] = keys[from];
+        feature.heapIndex = to;
     }
 }
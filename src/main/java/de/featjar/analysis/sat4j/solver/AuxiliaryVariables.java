@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.formula.VariableMap;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helps to extend the variables of a CNF by auxiliary variables, such as
+ * selector or guard variables, which are appended after the original
+ * variables.
+ *
+ * @author Sebastian Krieter
+ */
+public final class AuxiliaryVariables {
+
+    private AuxiliaryVariables() {}
+
+    /**
+     * Returns a modifiable list of the names of all variables in the given map,
+     * ordered by their index. Auxiliary variables can be appended to the list,
+     * such that their index is the size of the list after adding them.
+     * Variables without a name get a name with the given prefix, which is
+     * reserved for auxiliary variables.
+     *
+     * @param variableMap    the variable map
+     * @param prefix         the prefix of the auxiliary variables
+     * @param auxiliaryCount the expected number of auxiliary variables
+     * @return the list of variable names
+     */
+    public static List<String> copyVariableNames(VariableMap variableMap, String prefix, int auxiliaryCount) {
+        final int variableCount = variableMap.size();
+        final List<String> names = new ArrayList<>(variableCount + auxiliaryCount);
+        for (int i = 1; i <= variableCount; i++) {
+            names.add(variableMap.getVariableName(i).orElse(prefix + "unnamed_" + i));
+        }
+        return names;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Integer array that is split into chunks, which are shared with a base array
+ * and with copies until they are modified. A chunk that was never modified is
+ * read directly from the base array. Copying only copies the chunk references
+ * and advances the generation of the copied array, which makes all of its
+ * chunks shared, such that both instances copy a chunk before their next
+ * modification of it.
+ * <p>
+ * A copy never writes to the fields of the copied array. Thus, an array may be
+ * copied by several threads at once, as long as it is not modified meanwhile.
+ *
+ * @author Sebastian Krieter
+ */
+final class CopyOnWriteIntArray {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int[] base;
+    private final int[][] chunks;
+    private final long[] chunkGenerations;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Creates an array with the content of the given base array. The base array
+     * is never modified.
+     *
+     * @param base the base array
+     */
+    CopyOnWriteIntArray(int[] base) {
+        this.base = base;
+        final int chunkCount = (base.length + CHUNK_MASK) >>> CHUNK_BITS;
+        chunks = new int[chunkCount][];
+        chunkGenerations = new long[chunkCount];
+        Arrays.fill(chunkGenerations, -1);
+    }
+
+    /**
+     * Creates a copy that shares all chunks with the given array.
+     *
+     * @param other the array to copy
+     */
+    CopyOnWriteIntArray(CopyOnWriteIntArray other) {
+        other.generation.incrementAndGet();
+        base = other.base;
+        chunks = other.chunks.clone();
+        chunkGenerations = new long[chunks.length];
+        Arrays.fill(chunkGenerations, -1);
+    }
+
+    int get(int index) {
+        final int[] chunk = chunks[index >>> CHUNK_BITS];
+        return chunk == null ? base[index] : chunk[index & CHUNK_MASK];
+    }
+
+    /**
+     * Adds a value to an element.
+     *
+     * @param index the index of the element
+     * @param delta the value to add
+     * @return the new value of the element
+     */
+    int add(int index, int delta) {
+        final int chunkIndex = index >>> CHUNK_BITS;
+        int[] chunk = chunks[chunkIndex];
+        final long currentGeneration = generation.get();
+        if (chunkGenerations[chunkIndex] != currentGeneration) {
+            if (chunk == null) {
+                final int from = chunkIndex << CHUNK_BITS;
+                chunk = Arrays.copyOfRange(base, from, Math.min(base.length, from + CHUNK_SIZE));
+            } else {
+                chunk = chunk.clone();
+            }
+            chunks[chunkIndex] = chunk;
+            chunkGenerations[chunkIndex] = currentGeneration;
+        }
+        return chunk[index & CHUNK_MASK] += delta;
+    }
+
+    /**
+     * Drops all modified chunks, such that the array has the content of the base
+     * array again.
+     */
+    void clear() {
+        Arrays.fill(chunks, null);
+        Arrays.fill(chunkGenerations, -1);
+    }
+
+    /**
+     * Returns the number of chunks that are not shared with the base array.
+     *
+     * @return the number of chunks
+     */
+    int getModifiedChunkCount() {
+        int count = 0;
+        for (int[] chunk : chunks) {
+            if (chunk != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -25,7 +25,6 @@ import de.featjar.formula.assignment.BooleanSolution;
 import java.util.*;
 
 public interface ISolutionHistory extends Iterable<BooleanSolution> {
-    // todo: store int[] instead of creating new solution instances
     List<BooleanSolution> getSolutionHistory();
 
     Result<BooleanSolution> getLastSolution();
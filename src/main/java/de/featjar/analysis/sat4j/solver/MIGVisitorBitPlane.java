@@ -0,0 +1,365 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.analysis.RuntimeContradictionException;
+import java.util.Arrays;
+
+/**
+ * Visitor that stores the current assignment in two bit planes of words, one
+ * for assigned variables and one for their values. Each decrement of a clause
+ * count is recorded on an undo trail, such that {@link #reset(int)} only
+ * reverts the work done after the kept literals were added.
+ * <p>
+ * {@link #reset(int)} expects a literal count that was returned by
+ * {@link #getAddedLiteralCount()} in between two calls of
+ * {@link #propagate(int...)}.
+ * <p>
+ * Clause counts are kept in a {@link CopyOnWriteIntArray} that is shared with
+ * the graph's clause lengths and with copies of this visitor, such that a
+ * visitor only holds the blocks of clause counts that it has changed itself.
+ * After {@link #clearUndoTrail()}, the added literals are permanent and the
+ * trail memory is released. For a complete assignment, the clause counts are
+ * released as well, because no further literal can be propagated.
+ *
+ * @author Sebastian Krieter
+ */
+public class MIGVisitorBitPlane implements IMIGVisitor {
+
+    private final ModalImplicationGraph mig;
+    private final long[] assigned;
+    private final long[] values;
+    private final CopyOnWriteIntArray clauseCounts;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
+
+    private int[] addedLiterals;
+    private int[] trailMarks;
+    private int addedLiteralCount;
+    private int permanentLiteralCount;
+
+    private int[] trail;
+    private int trailSize;
+
+    public MIGVisitorBitPlane(ModalImplicationGraph mig) {
+        this.mig = mig;
+        this.strongTraversal = mig.newStrongTraversal();
+        final int wordCount = (mig.size + 63) >>> 6;
+        assigned = new long[wordCount];
+        values = new long[wordCount];
+        for (int l : mig.core) {
+            final int index = Math.abs(l) - 1;
+            assigned[index >>> 6] |= 1L << index;
+            if (l > 0) {
+                values[index >>> 6] |= 1L << index;
+            }
+        }
+        final int capacity = (mig.size() - mig.core.length) / 8 + 1;
+        addedLiterals = new int[capacity];
+        trailMarks = new int[capacity];
+        trail = new int[capacity];
+        clauseCounts = new CopyOnWriteIntArray(mig.clauseLengths);
+    }
+
+    /**
+     * Creates a copy of the given visitor. The copy shares all unchanged blocks
+     * of clause counts with the given visitor and only copies a block before
+     * either of them changes it.
+     *
+     * @param other the visitor to copy
+     */
+    public MIGVisitorBitPlane(MIGVisitorBitPlane other) {
+        this.mig = other.mig;
+        this.strongTraversal = mig.newStrongTraversal();
+        assigned = Arrays.copyOf(other.assigned, other.assigned.length);
+        values = Arrays.copyOf(other.values, other.values.length);
+        clauseCounts = new CopyOnWriteIntArray(other.clauseCounts);
+        addedLiterals = Arrays.copyOf(other.addedLiterals, Math.max(other.addedLiteralCount, 1));
+        trailMarks = Arrays.copyOf(other.trailMarks, Math.max(other.addedLiteralCount, 1));
+        addedLiteralCount = other.addedLiteralCount;
+        permanentLiteralCount = other.permanentLiteralCount;
+        trail = Arrays.copyOf(other.trail, Math.max(other.trailSize, 1));
+        trailSize = other.trailSize;
+    }
+
+    @Override
+    public int[] getAddedLiterals() {
+        return addedLiterals;
+    }
+
+    @Override
+    public int getAddedLiteralCount() {
+        return addedLiteralCount;
+    }
+
+    @Override
+    public void propagate(int... literals) throws RuntimeContradictionException {
+        for (int l : literals) {
+            if (l != 0) {
+                processLiteral(l);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The literals are not propagated, but their clause counts are decremented,
+     * such that later propagation takes them into account.
+     *
+     * @throws RuntimeContradictionException if a literal contradicts an assigned
+     *                                       literal or falsifies a clause
+     */
+    @Override
+    public void setLiterals(int... literals) throws RuntimeContradictionException {
+        for (int l : literals) {
+            if (l != 0 && setLiteral(l)) {
+                for (int clauseCountIndex : mig.clauseLengthsIndices[ModalImplicationGraph.getVertexIndex(l)]) {
+                    if (decrementClauseCount(clauseCountIndex) == 0) {
+                        throw new RuntimeContradictionException();
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isContradiction(int... literals) {
+        final int oldModelCount = getAddedLiteralCount();
+        try {
+            propagate(literals);
+            return false;
+        } catch (RuntimeContradictionException e) {
+            return true;
+        } finally {
+            reset(oldModelCount);
+        }
+    }
+
+    @Override
+    public void reset() {
+        reset(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalStateException if {@code keep} is less than the number of
+     *                               literals made permanent by
+     *                               {@link #clearUndoTrail()}
+     */
+    @Override
+    public void reset(int keep) {
+        if (keep >= addedLiteralCount) {
+            return;
+        }
+        if (keep < permanentLiteralCount) {
+            throw new IllegalStateException(String.valueOf(keep));
+        }
+        final int mark = trailMarks[keep];
+        while (trailSize > mark) {
+            clauseCounts.add(trail[--trailSize], 1);
+        }
+        while (addedLiteralCount > keep) {
+            final int index = Math.abs(addedLiterals[--addedLiteralCount]) - 1;
+            final long mask = ~(1L << index);
+            assigned[index >>> 6] &= mask;
+            values[index >>> 6] &= mask;
+        }
+    }
+
+    /**
+     * Makes all currently added literals permanent, such that they can no longer
+     * be removed by {@link #reset(int)}, and releases the undo trail.
+     */
+    public void clearUndoTrail() {
+        permanentLiteralCount = addedLiteralCount;
+        trailSize = 0;
+        if (trail.length > addedLiterals.length) {
+            trail = new int[addedLiterals.length];
+        }
+        if (isComplete()) {
+            clauseCounts.clear();
+        }
+    }
+
+    /**
+     * Returns the number of literals that cannot be removed by
+     * {@link #reset(int)}.
+     *
+     * @return the number of permanent literals
+     */
+    public int getPermanentLiteralCount() {
+        return permanentLiteralCount;
+    }
+
+    /**
+     * Checks whether all variables are assigned.
+     *
+     * @return {@code true} if all variables are assigned, {@code false}
+     *         otherwise
+     */
+    public boolean isComplete() {
+        final int lastWord = assigned.length - 1;
+        for (int w = 0; w < lastWord; w++) {
+            if (assigned[w] != -1L) {
+                return false;
+            }
+        }
+        return lastWord < 0 || assigned[lastWord] == (-1L >>> (-mig.size & 63));
+    }
+
+    /**
+     * Returns the number of blocks of clause counts that this visitor holds
+     * instead of sharing them with the graph.
+     *
+     * @return the number of blocks
+     */
+    public int getClauseCountBlockCount() {
+        return clauseCounts.getModifiedChunkCount();
+    }
+
+    private void assign(int l, int index, long bit) {
+        assigned[index >>> 6] |= bit;
+        if (l > 0) {
+            values[index >>> 6] |= bit;
+        }
+        if (addedLiteralCount == addedLiterals.length) {
+            addedLiterals = Arrays.copyOf(addedLiterals, addedLiteralCount << 1);
+            trailMarks = Arrays.copyOf(trailMarks, addedLiteralCount << 1);
+        }
+        addedLiterals[addedLiteralCount] = l;
+        trailMarks[addedLiteralCount++] = trailSize;
+    }
+
+    /**
+     * Assigns a literal, if its variable is unassigned.
+     *
+     * @return {@code true} if the literal was assigned, {@code false} if it was
+     *         already set
+     * @throws RuntimeContradictionException if the complementary literal is set
+     */
+    private boolean setLiteral(int l) {
+        final int index = Math.abs(l) - 1;
+        final long bit = 1L << index;
+        if ((assigned[index >>> 6] & bit) == 0) {
+            assign(l, index, bit);
+            return true;
+        } else if (((values[index >>> 6] & bit) != 0) != (l > 0)) {
+            throw new RuntimeContradictionException();
+        }
+        return false;
+    }
+
+    private void processLiteral(int l) {
+        if (setLiteral(l)) {
+            final int i = ModalImplicationGraph.getVertexIndex(l);
+
+            if (mig.strong != null) {
+                for (int strongL : mig.strong[i]) {
+                    processStrong(strongL);
+                }
+            } else {
+                final int start = strongTraversal.push(l);
+                try {
+                    for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                        processStrong(strongTraversal.get(k));
+                    }
+                } finally {
+                    strongTraversal.pop(start);
+                }
+            }
+
+            processWeak(i);
+        }
+    }
+
+    private void processStrong(int strongL) {
+        if (setLiteral(strongL)) {
+            processWeak(ModalImplicationGraph.getVertexIndex(strongL));
+        }
+    }
+
+    private void processWeak(final int index) {
+        final int[] clauseCountIndexList = mig.clauseLengthsIndices[index];
+        weakLoop:
+        for (int j = 0; j < clauseCountIndexList.length; j++) {
+            final int clauseCountIndex = clauseCountIndexList[j];
+            final int count = decrementClauseCount(clauseCountIndex);
+            if (count <= 1) {
+                if (count == 1) {
+                    int clauseIndex = mig.clauseIndices[index][j];
+                    for (int end = clauseIndex + mig.clauseLengths[clauseCountIndex], k = clauseIndex; k < end; k++) {
+                        final int newL = mig.clauses[k];
+                        final int varIndex = Math.abs(newL) - 1;
+                        final long bit = 1L << varIndex;
+                        if ((assigned[varIndex >>> 6] & bit) == 0
+                                || ((values[varIndex >>> 6] & bit) != 0) == (newL > 0)) {
+                            processLiteral(newL);
+                            continue weakLoop;
+                        }
+                    }
+                }
+                throw new RuntimeContradictionException();
+            }
+        }
+    }
+
+    private int decrementClauseCount(int clauseCountIndex) {
+        final int count = clauseCounts.add(clauseCountIndex, -1);
+        if (trailSize == trail.length) {
+            trail = Arrays.copyOf(trail, trailSize << 1);
+        }
+        trail[trailSize++] = clauseCountIndex;
+        return count;
+    }
+
+    @Override
+    public boolean isUndefined(int literal) {
+        final int index = Math.abs(literal) - 1;
+        return (assigned[index >>> 6] & (1L << index)) == 0;
+    }
+
+    @Override
+    public int countUndefined(int[] literals) {
+        int count = 0;
+        for (int l : literals) {
+            final int index = Math.abs(l) - 1;
+            count += (int) (~assigned[index >>> 6] >>> index) & 1;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the undefined variables among the variables in the given mask,
+     * where bit {@code i} of word {@code i / 64} represents variable
+     * {@code i + 1}.
+     *
+     * @param variableMask the mask
+     * @return the number of undefined variables
+     */
+    public int countUndefined(long[] variableMask) {
+        int count = 0;
+        for (int w = 0, end = Math.min(variableMask.length, assigned.length); w < end; w++) {
+            count += Long.bitCount(variableMask[w] & ~assigned[w]);
+        }
+        return count;
+    }
+}
@@ -29,9 +29,11 @@ public class MIGVisitorBitSet implements IMIGVisitor {
     private final ModalImplicationGraph mig;
     private final BitSet model;
     private final ExpandableIntegerList addedLiterals;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
 
     public MIGVisitorBitSet(ModalImplicationGraph mig) {
         this.mig = mig;
+        this.strongTraversal = mig.newStrongTraversal();
         this.model = new BitSet();
         for (int l : mig.core) {
             model.set(encode(l));
@@ -41,6 +43,7 @@ public class MIGVisitorBitSet implements IMIGVisitor {
 
     public MIGVisitorBitSet(MIGVisitorBitSet other) {
         this.mig = other.mig;
+        this.strongTraversal = mig.newStrongTraversal();
         this.model = (BitSet) other.model.clone();
         this.addedLiterals = new ExpandableIntegerList(other.addedLiterals);
     }
@@ -118,8 +121,19 @@ public class MIGVisitorBitSet implements IMIGVisitor {
 
     private void processLiteral(int l) {
         if (setLiteral(l)) {
-            for (int strongL : mig.strong[ModalImplicationGraph.getVertexIndex(l)]) {
-                setLiteral(strongL);
+            if (mig.strong != null) {
+                for (int strongL : mig.strong[ModalImplicationGraph.getVertexIndex(l)]) {
+                    setLiteral(strongL);
+                }
+            } else {
+                final int start = strongTraversal.push(l);
+                try {
+                    for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                        setLiteral(strongTraversal.get(k));
+                    }
+                } finally {
+                    strongTraversal.pop(start);
+                }
             }
         }
     }
@@ -30,9 +30,11 @@ public class MIGVisitorByte implements IMIGVisitor {
     private final int[] clauseCounts;
     private final byte[] model;
     private final ExpandableIntegerList addedLiterals;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
 
     public MIGVisitorByte(ModalImplicationGraph mig) {
         this.mig = mig;
+        this.strongTraversal = mig.newStrongTraversal();
         this.model = new byte[mig.size];
         for (int l : mig.core) {
             model[Math.abs(l) - 1] = encode(l);
@@ -131,15 +133,18 @@ public class MIGVisitorByte implements IMIGVisitor {
 
             final int i = ModalImplicationGraph.getVertexIndex(l);
 
-            for (int strongL : mig.strong[i]) {
-                final int varIndex1 = Math.abs(strongL) - 1;
-                final int setL1 = model[varIndex1];
-                if (setL1 == 0) {
-                    model[varIndex1] = encode(strongL);
-                    addedLiterals.add(strongL);
-                    processWeak(ModalImplicationGraph.getVertexIndex(strongL));
-                } else if (setL1 != encode(strongL)) {
-                    throw new RuntimeContradictionException();
+            if (mig.strong != null) {
+                for (int strongL : mig.strong[i]) {
+                    processStrong(strongL);
+                }
+            } else {
+                final int start = strongTraversal.push(l);
+                try {
+                    for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                        processStrong(strongTraversal.get(k));
+                    }
+                } finally {
+                    strongTraversal.pop(start);
                 }
             }
 
@@ -149,6 +154,18 @@ public class MIGVisitorByte implements IMIGVisitor {
         }
     }
 
+    private void processStrong(int strongL) {
+        final int varIndex1 = Math.abs(strongL) - 1;
+        final int setL1 = model[varIndex1];
+        if (setL1 == 0) {
+            model[varIndex1] = encode(strongL);
+            addedLiterals.add(strongL);
+            processWeak(ModalImplicationGraph.getVertexIndex(strongL));
+        } else if (setL1 != encode(strongL)) {
+            throw new RuntimeContradictionException();
+        }
+    }
+
     private byte encode(int l) {
         return (byte) ((l >>> 31) | 2);
     }
@@ -30,9 +30,11 @@ public class MIGVisitorInt implements IMIGVisitor {
     private final int[] clauseCounts;
     private final int[] model;
     private final ExpandableIntegerList addedLiterals;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
 
     public MIGVisitorInt(ModalImplicationGraph mig, int[] model) {
         this.mig = mig;
+        this.strongTraversal = mig.newStrongTraversal();
         this.model = model;
         for (int l : mig.core) {
             model[Math.abs(l) - 1] = l;
@@ -138,15 +140,18 @@ public class MIGVisitorInt implements IMIGVisitor {
 
             final int i = ModalImplicationGraph.getVertexIndex(l);
 
-            for (int strongL : mig.strong[i]) {
-                final int varIndex1 = Math.abs(strongL) - 1;
-                final int setL1 = model[varIndex1];
-                if (setL1 == 0) {
-                    model[varIndex1] = strongL;
-                    addedLiterals.add(strongL);
-                    processWeak(ModalImplicationGraph.getVertexIndex(strongL));
-                } else if (setL1 != strongL) {
-                    throw new RuntimeContradictionException();
+            if (mig.strong != null) {
+                for (int strongL : mig.strong[i]) {
+                    processStrong(strongL);
+                }
+            } else {
+                final int start = strongTraversal.push(l);
+                try {
+                    for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                        processStrong(strongTraversal.get(k));
+                    }
+                } finally {
+                    strongTraversal.pop(start);
                 }
             }
 
@@ -156,6 +161,18 @@ public class MIGVisitorInt implements IMIGVisitor {
         }
     }
 
+    private void processStrong(int strongL) {
+        final int varIndex1 = Math.abs(strongL) - 1;
+        final int setL1 = model[varIndex1];
+        if (setL1 == 0) {
+            model[varIndex1] = strongL;
+            addedLiterals.add(strongL);
+            processWeak(ModalImplicationGraph.getVertexIndex(strongL));
+        } else if (setL1 != strongL) {
+            throw new RuntimeContradictionException();
+        }
+    }
+
     private void processWeak(final int index) {
         final int[] clauseCountIndexList = mig.clauseLengthsIndices[index];
         weakLoop:
@@ -28,9 +28,11 @@ public class MIGVisitorLight implements IMIGVisitor {
     private final ModalImplicationGraph mig;
     private final byte[] model;
     private final ExpandableIntegerList addedLiterals;
+    private final ModalImplicationGraph.StrongTraversal strongTraversal;
 
     public MIGVisitorLight(ModalImplicationGraph mig) {
         this.mig = mig;
+        this.strongTraversal = mig.newStrongTraversal();
         this.model = new byte[mig.size];
         for (int l : mig.core) {
             model[Math.abs(l) - 1] = encode(l);
@@ -114,14 +116,18 @@ public class MIGVisitorLight implements IMIGVisitor {
 
             final int i = ModalImplicationGraph.getVertexIndex(l);
 
-            for (int strongL : mig.strong[i]) {
-                final int varIndex1 = Math.abs(strongL) - 1;
-                final int setL1 = model[varIndex1];
-                if (setL1 == 0) {
-                    model[varIndex1] = encode(strongL);
-                    addedLiterals.add(strongL);
-                } else if (setL1 != encode(strongL)) {
-                    throw new RuntimeContradictionException();
+            if (mig.strong != null) {
+                for (int strongL : mig.strong[i]) {
+                    processStrong(strongL);
+                }
+            } else {
+                final int start = strongTraversal.push(l);
+                try {
+                    for (int k = start, end = strongTraversal.size(); k < end; k++) {
+                        processStrong(strongTraversal.get(k));
+                    }
+                } finally {
+                    strongTraversal.pop(start);
                 }
             }
         } else if (setL != encode(l)) {
@@ -129,6 +135,17 @@ public class MIGVisitorLight implements IMIGVisitor {
         }
     }
 
+    private void processStrong(int strongL) {
+        final int varIndex1 = Math.abs(strongL) - 1;
+        final int setL1 = model[varIndex1];
+        if (setL1 == 0) {
+            model[varIndex1] = encode(strongL);
+            addedLiterals.add(strongL);
+        } else if (setL1 != encode(strongL)) {
+            throw new RuntimeContradictionException();
+        }
+    }
+
     private byte encode(int l) {
         return (byte) ((l >>> 31) | 2);
     }
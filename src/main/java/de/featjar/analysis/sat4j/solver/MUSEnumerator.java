@@ -0,0 +1,398 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.analysis.ISolver;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Enumerates minimal unsatisfiable subsets (MUS) and minimal correction subsets
+ * (MCS) of a clause list following the MARCO algorithm.
+ * <p>
+ * Each clause is guarded by a selector variable, such that any subset of
+ * clauses can be checked by assuming the respective selectors. A map solver
+ * over the selectors keeps track of all subsets that are not yet explored and
+ * provides the next seed. Seeds are maximal, such that the first MUS is found
+ * after a single unsatisfiable check. An unsatisfiable seed is shrunk to a MUS
+ * using the unsatisfiable cores of the solver, a satisfiable seed is grown to a
+ * maximal satisfiable subset, whose complement is a MCS. Each MUS blocks all of
+ * its supersets and each MCS blocks all subsets of its complement in the map
+ * solver. Multiple threads explore seeds concurrently, each with its own
+ * solver, and share the map solver. In this case, each seed is blocked in the
+ * map solver as soon as it is handed out, such that threads do not explore the
+ * same seed. Seeds are then not necessarily maximal anymore. Results are
+ * passed to the given consumers as soon as they are found.
+ *
+ * @author Sebastian Krieter
+ */
+public class MUSEnumerator {
+
+    private static final String SELECTOR_PREFIX = "__mus_selector_";
+
+    private final BooleanAssignmentList clauseList;
+    private final List<BooleanAssignment> clauses;
+    private final int[] assumptions;
+    private final int variableCount;
+    private SAT4JSolutionSolver mapSolver;
+    private final Set<List<Integer>> foundSubsets = new HashSet<>();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+
+    private int threadCount = 1;
+    private int limit = Integer.MAX_VALUE;
+    private Duration timeout = Duration.ZERO;
+    private int musCount;
+
+    /**
+     * Creates a new enumerator for the given clauses.
+     *
+     * @param clauseList  the clauses that are part of the subsets
+     * @param assumptions literals that are assumed in every check, but are not part of any subset
+     */
+    public MUSEnumerator(BooleanAssignmentList clauseList, int... assumptions) {
+        this.clauseList = clauseList;
+        this.assumptions = Arrays.copyOf(assumptions, assumptions.length);
+        clauses = new ArrayList<>(clauseList.getAll());
+        variableCount = clauseList.getVariableMap().size();
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Sets the number of threads that explore seeds concurrently.
+     *
+     * @param threadCount the number of threads
+     */
+    public void setThreadCount(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException(String.valueOf(threadCount));
+        }
+        this.threadCount = threadCount;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Sets the maximum number of MUS to find. The enumeration stops as soon as
+     * this number is reached.
+     *
+     * @param limit the maximum number of MUS
+     */
+    public void setLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException(String.valueOf(limit));
+        }
+        this.limit = limit;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the timeout for each single check of a subset.
+     *
+     * @param timeout the timeout
+     */
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Enumerates MUS and MCS until all subsets are explored or the
+     * {@link #setLimit(int) limit} is reached. Each call starts a new
+     * enumeration, which finds the same subsets as any previous call.
+     *
+     * @param musConsumer receives each MUS as soon as it is found
+     * @param mcsConsumer receives each non-empty MCS as soon as it is found
+     * @return {@code true} if all MUS were found, {@code false} if the limit was reached, or an empty result if a
+     *         check timed out
+     */
+    public synchronized Result<Boolean> enumerate(
+            Consumer<List<BooleanAssignment>> musConsumer, Consumer<List<BooleanAssignment>> mcsConsumer) {
+        stopped.set(false);
+        mapSolver = newMapSolver();
+        foundSubsets.clear();
+        musCount = 0;
+        if (threadCount == 1) {
+            return explore(newCheckSolver(), musConsumer, mcsConsumer);
+        }
+        try (ParallelTasks parallelTasks = new ParallelTasks(threadCount, stopped)) {
+            final List<Callable<Result<Boolean>>> tasks = new ArrayList<>(threadCount);
+            for (int i = 0; i < threadCount; i++) {
+                tasks.add(() -> explore(newCheckSolver(), musConsumer, mcsConsumer));
+            }
+            final Result<List<Result<Boolean>>> threadResults = parallelTasks.run(tasks, () -> {});
+            if (threadResults.isEmpty()) {
+                return threadResults.nullify();
+            }
+            Result<Boolean> result = Result.of(Boolean.TRUE);
+            for (Result<Boolean> threadResult : threadResults.get()) {
+                if (result.valueEquals(Boolean.TRUE)) {
+                    result = threadResult;
+                }
+            }
+            return result;
+        }
+    }
+
+    private SAT4JSolutionSolver newMapSolver() {
+        final List<String> names = IntStream.range(0, clauses.size())
+                .mapToObj(i -> SELECTOR_PREFIX + i)
+                .collect(Collectors.toList());
+        final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(new BooleanAssignmentList(new VariableMap(names)));
+        solver.setSelectionStrategy(ISelectionStrategy.positive());
+        return solver;
+    }
+
+    private SAT4JSolutionSolver newCheckSolver() {
+        final List<String> names =
+                AuxiliaryVariables.copyVariableNames(clauseList.getVariableMap(), SELECTOR_PREFIX, clauses.size());
+        for (int i = 0; i < clauses.size(); i++) {
+            names.add(SELECTOR_PREFIX + i);
+        }
+        final BooleanAssignmentList guardedClauseList = new BooleanAssignmentList(new VariableMap(names));
+        for (int i = 0; i < clauses.size(); i++) {
+            final int[] literals = clauses.get(i).get();
+            final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+            guardedLiterals[literals.length] = -(variableCount + i + 1);
+            guardedClauseList.add(new BooleanClause(guardedLiterals));
+        }
+        final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(guardedClauseList);
+        solver.setTimeout(timeout);
+        return solver;
+    }
+
+    private Result<Boolean> explore(
+            SAT4JSolutionSolver solver,
+            Consumer<List<BooleanAssignment>> musConsumer,
+            Consumer<List<BooleanAssignment>> mcsConsumer) {
+        while (!stopped.get()) {
+            final int[] seed = nextSeed();
+            if (seed == null) {
+                return Result.of(Boolean.TRUE);
+            }
+            final Result<Boolean> hasSolution = check(solver, seed);
+            if (hasSolution.isEmpty()) {
+                stopped.set(true);
+                return hasSolution;
+            }
+            if (hasSolution.get()) {
+                final int[] mss = grow(solver, seed);
+                if (mss == null) {
+                    stopped.set(true);
+                    return Result.empty(ISolver.getTimeoutProblem(null));
+                }
+                reportMCS(complement(mss), mcsConsumer);
+            } else {
+                final int[] mus = shrink(solver, seed);
+                if (mus == null) {
+                    stopped.set(true);
+                    return Result.empty(ISolver.getTimeoutProblem(null));
+                }
+                reportMUS(mus, musConsumer);
+            }
+        }
+        return Result.of(Boolean.FALSE);
+    }
+
+    private int[] nextSeed() {
+        synchronized (mapSolver) {
+            if (!mapSolver.hasSolution().valueEquals(Boolean.TRUE)) {
+                return null;
+            }
+            final int[] model = mapSolver.getInternalSolution();
+            int seedSize = 0;
+            for (int i = 0; i < clauses.size(); i++) {
+                if (model[i] > 0) {
+                    seedSize++;
+                }
+            }
+            if (threadCount > 1) {
+                final int[] blockingClause = new int[clauses.size()];
+                for (int i = 0; i < blockingClause.length; i++) {
+                    blockingClause[i] = -model[i];
+                }
+                mapSolver.getClauseList().add(new BooleanClause(blockingClause));
+            }
+
+            final int[] seed = new int[seedSize];
+            for (int i = 0, j = 0; i < model.length && j < seedSize; i++) {
+                if (model[i] > 0) {
+                    seed[j++] = i;
+                }
+            }
+            return seed;
+        }
+    }
+
+    private Result<Boolean> check(SAT4JSolutionSolver solver, int[] subset) {
+        final int[] literals = Arrays.copyOf(assumptions, assumptions.length + subset.length);
+        for (int i = 0; i < subset.length; i++) {
+            literals[assumptions.length + i] = variableCount + subset[i] + 1;
+        }
+        return solver.hasSolution(literals);
+    }
+
+    private int[] grow(SAT4JSolutionSolver solver, int[] seed) {
+        final boolean[] included = new boolean[clauses.size()];
+        for (final int index : seed) {
+            included[index] = true;
+        }
+        includeSatisfied(solver.getInternalSolution(), included);
+        for (int i = 0; i < included.length; i++) {
+            if (!included[i]) {
+                included[i] = true;
+                final Result<Boolean> hasSolution = check(solver, toIndices(included, true));
+                if (hasSolution.isEmpty()) {
+                    return null;
+                } else if (hasSolution.get()) {
+                    includeSatisfied(solver.getInternalSolution(), included);
+                } else {
+                    included[i] = false;
+                }
+            }
+        }
+        return toIndices(included, true);
+    }
+
+    private void includeSatisfied(int[] model, boolean[] included) {
+        for (int i = 0; i < included.length; i++) {
+            if (!included[i]) {
+                for (final int literal : clauses.get(i).get()) {
+                    if (model[Math.abs(literal) - 1] == literal) {
+                        included[i] = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private int[] shrink(SAT4JSolutionSolver solver, int[] seed) {
+        int[] current = getCore(solver, seed);
+        for (int i = 0; i < current.length; ) {
+            final int[] candidate = new int[current.length - 1];
+            System.arraycopy(current, 0, candidate, 0, i);
+            System.arraycopy(current, i + 1, candidate, i, candidate.length - i);
+            final Result<Boolean> hasSolution = check(solver, candidate);
+            if (hasSolution.isEmpty()) {
+                return null;
+            } else if (hasSolution.get()) {
+                i++;
+            } else {
+                current = getCore(solver, candidate);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the clauses of the unsatisfiable core of the last check. As all
+     * critical clauses are part of every core, they keep their position in the
+     * sorted result.
+     */
+    private int[] getCore(SAT4JSolutionSolver solver, int[] subset) {
+        final IVecInt explanation = solver.internalSolver.unsatExplanation();
+        if (explanation == null) {
+            return subset;
+        }
+        final boolean[] included = new boolean[clauses.size()];
+        for (int i = 0; i < explanation.size(); i++) {
+            final int index = Math.abs(explanation.get(i)) - variableCount - 1;
+            if (index >= 0 && index < included.length) {
+                included[index] = true;
+            }
+        }
+        return toIndices(included, true);
+    }
+
+    private int[] complement(int[] subset) {
+        final boolean[] included = new boolean[clauses.size()];
+        for (final int index : subset) {
+            included[index] = true;
+        }
+        return toIndices(included, false);
+    }
+
+    private static int[] toIndices(boolean[] included, boolean value) {
+        return IntStream.range(0, included.length)
+                .filter(i -> included[i] == value)
+                .toArray();
+    }
+
+    private void reportMUS(int[] mus, Consumer<List<BooleanAssignment>> musConsumer) {
+        synchronized (mapSolver) {
+            mapSolver.getClauseList().add(new BooleanClause(IntStream.of(mus)
+                    .map(i -> -(i + 1))
+                    .toArray()));
+            if (foundSubsets.add(toKey(mus, true)) && !stopped.get()) {
+                musConsumer.accept(toClauses(mus));
+                if (++musCount >= limit) {
+                    stopped.set(true);
+                }
+            }
+        }
+    }
+
+    private void reportMCS(int[] mcs, Consumer<List<BooleanAssignment>> mcsConsumer) {
+        synchronized (mapSolver) {
+            mapSolver.getClauseList().add(new BooleanClause(IntStream.of(mcs)
+                    .map(i -> i + 1)
+                    .toArray()));
+            if (mcs.length > 0 && foundSubsets.add(toKey(mcs, false)) && !stopped.get()) {
+                mcsConsumer.accept(toClauses(mcs));
+            }
+        }
+    }
+
+    private static List<Integer> toKey(int[] subset, boolean mus) {
+        final List<Integer> key = new ArrayList<>(subset.length + 1);
+        key.add(mus ? 1 : 0);
+        for (final int index : subset) {
+            key.add(index);
+        }
+        return key;
+    }
+
+    private List<BooleanAssignment> toClauses(int[] subset) {
+        return IntStream.of(subset).mapToObj(clauses::get).collect(Collectors.toList());
+    }
+}
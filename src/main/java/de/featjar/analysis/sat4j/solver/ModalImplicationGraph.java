@@ -20,9 +20,18 @@
  */
 package de.featjar.analysis.sat4j.solver;
 
+import java.util.Arrays;
+
 /**
  * Adjacency list implementation based on arrays. Intended to use for faster
  * traversion.
+ * <p>
+ * Strong edges are stored in one of two forms. Either the full transitive
+ * closure is stored for each literal ({@link #getStrongEdges()}) or strongly
+ * connected components of equivalent literals are collapsed and only the
+ * condensed acyclic graph is stored ({@link #isCondensed()}). In the latter
+ * case, the implied literals are computed on demand using a
+ * {@link StrongTraversal}.
  *
  * @author Sebastian Krieter
  */
@@ -34,6 +43,10 @@ public class ModalImplicationGraph {
 
     final int[][] strong;
 
+    final int[] strongComponents;
+    final int[][] componentLiterals;
+    final int[][] componentEdges;
+
     final int[][] clauseIndices;
     final int[] clauses;
 
@@ -56,16 +69,157 @@ public class ModalImplicationGraph {
         this.size = size;
         this.core = core;
         this.strong = strong;
+        this.strongComponents = null;
+        this.componentLiterals = null;
+        this.componentEdges = null;
+        this.clauseIndices = clauseIndices;
+        this.clauses = clauses;
+        this.clauseLengthsIndices = clauseLengthIndices;
+        this.clauseLengths = clauseLength;
+    }
+
+    /**
+     * Creates a graph with condensed strong edges.
+     *
+     * @param size                the number of variables
+     * @param core                the core literals
+     * @param strongComponents    the component of each vertex
+     * @param componentLiterals   the literals of each component
+     * @param componentEdges      the successor components of each component
+     * @param clauseIndices       the start indices of the weak clauses for each vertex
+     * @param clauses             the literals of all weak clauses
+     * @param clauseLengthIndices the indices of the weak clauses for each vertex
+     * @param clauseLength        the length of each weak clause
+     */
+    public ModalImplicationGraph(
+            int size,
+            int[] core,
+            int[] strongComponents,
+            int[][] componentLiterals,
+            int[][] componentEdges,
+            int[][] clauseIndices,
+            int[] clauses,
+            int[][] clauseLengthIndices,
+            int[] clauseLength) {
+        this.size = size;
+        this.core = core;
+        this.strong = null;
+        this.strongComponents = strongComponents;
+        this.componentLiterals = componentLiterals;
+        this.componentEdges = componentEdges;
         this.clauseIndices = clauseIndices;
         this.clauses = clauses;
         this.clauseLengthsIndices = clauseLengthIndices;
         this.clauseLengths = clauseLength;
     }
 
+    public boolean isCondensed() {
+        return strong == null;
+    }
+
+    public StrongTraversal newStrongTraversal() {
+        return new StrongTraversal();
+    }
+
+    /**
+     * Collects the literals that are strongly implied by a literal on a stack.
+     * Calls of {@link #push(int)} may be nested, as long as each one is matched by
+     * a call of {@link #pop(int)} in reverse order. Instances are not thread-safe.
+     */
+    public final class StrongTraversal {
+
+        private final int[] componentMarks;
+        private final int[] componentStack;
+        private int[] literalStack = new int[16];
+        private int literalStackSize;
+        private int epoch;
+
+        private StrongTraversal() {
+            final int componentCount = componentLiterals == null ? 0 : componentLiterals.length;
+            componentMarks = new int[componentCount];
+            componentStack = new int[componentCount];
+        }
+
+        /**
+         * Pushes all literals that are strongly implied by the given literal onto the
+         * stack, excluding the literal itself.
+         *
+         * @param literal the literal
+         * @return the index of the first pushed literal
+         */
+        public int push(int literal) {
+            final int start = literalStackSize;
+            final int vertexIndex = getVertexIndex(literal);
+            if (strong != null) {
+                final int[] strongLiterals = strong[vertexIndex];
+                ensureCapacity(strongLiterals.length);
+                System.arraycopy(strongLiterals, 0, literalStack, literalStackSize, strongLiterals.length);
+                literalStackSize += strongLiterals.length;
+                return start;
+            }
+            if (++epoch == 0) {
+                Arrays.fill(componentMarks, 0);
+                epoch = 1;
+            }
+            final int variable = Math.abs(literal);
+            final int root = strongComponents[vertexIndex];
+            componentMarks[root] = epoch;
+            componentStack[0] = root;
+            int componentStackSize = 1;
+            while (componentStackSize > 0) {
+                final int component = componentStack[--componentStackSize];
+                final int[] literals = componentLiterals[component];
+                ensureCapacity(literals.length);
+                for (int l : literals) {
+                    if (Math.abs(l) != variable) {
+                        literalStack[literalStackSize++] = l;
+                    }
+                }
+                for (int successor : componentEdges[component]) {
+                    if (componentMarks[successor] != epoch) {
+                        componentMarks[successor] = epoch;
+                        componentStack[componentStackSize++] = successor;
+                    }
+                }
+            }
+            return start;
+        }
+
+        public int get(int index) {
+            return literalStack[index];
+        }
+
+        public int size() {
+            return literalStackSize;
+        }
+
+        /**
+         * Removes all literals from the stack that were pushed by the matching call of
+         * {@link #push(int)}.
+         *
+         * @param start the index returned by {@link #push(int)}
+         */
+        public void pop(int start) {
+            literalStackSize = start;
+        }
+
+        private void ensureCapacity(int additional) {
+            final int required = literalStackSize + additional;
+            if (required > literalStack.length) {
+                literalStack = Arrays.copyOf(literalStack, Math.max(required, literalStack.length << 1));
+            }
+        }
+    }
+
     public int[] getCore() {
         return core;
     }
 
+    /**
+     * Returns the transitive closure of strong edges for each vertex.
+     *
+     * @return the strong edges, or {@code null} if this graph is condensed
+     */
     public int[][] getStrongEdges() {
         return strong;
     }
@@ -73,4 +227,32 @@ public class ModalImplicationGraph {
     public int size() {
         return size;
     }
+
+    public int[] getStrongComponents() {
+        return strongComponents;
+    }
+
+    public int[][] getComponentLiterals() {
+        return componentLiterals;
+    }
+
+    public int[][] getComponentEdges() {
+        return componentEdges;
+    }
+
+    public int[][] getClauseIndices() {
+        return clauseIndices;
+    }
+
+    public int[] getClauses() {
+        return clauses;
+    }
+
+    public int[][] getClauseLengthIndices() {
+        return clauseLengthsIndices;
+    }
+
+    public int[] getClauseLengths() {
+        return clauseLengths;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.base.data.Result;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs tasks, such as independent solvers, in a fixed number of threads. While
+ * the tasks are running, the calling thread periodically runs a poll action,
+ * which can report progress and check for cancellation.
+ * <p>
+ * If a task or the poll action fails, the {@link #isStopped() stop flag} is
+ * set and all tasks that have not started yet are cancelled. Running tasks are
+ * expected to check the stop flag regularly. {@link #close()} sets the stop
+ * flag and waits until all tasks have terminated, such that their solvers can
+ * safely be released afterwards.
+ *
+ * @author Sebastian Krieter
+ */
+public final class ParallelTasks implements AutoCloseable {
+
+    private static final long POLL_INTERVAL_MILLIS = 10;
+
+    private final ExecutorService threadPool;
+    private final AtomicBoolean stopped;
+
+    /**
+     * Creates a new thread pool.
+     *
+     * @param threadCount the number of threads
+     */
+    public ParallelTasks(int threadCount) {
+        this(threadCount, new AtomicBoolean());
+    }
+
+    /**
+     * Creates a new thread pool that uses the given stop flag.
+     *
+     * @param threadCount the number of threads
+     * @param stopped     the stop flag, which may also be set by the tasks
+     */
+    public ParallelTasks(int threadCount, AtomicBoolean stopped) {
+        threadPool = Executors.newFixedThreadPool(threadCount);
+        this.stopped = stopped;
+    }
+
+    /**
+     * Checks whether the tasks should stop.
+     *
+     * @return {@code true} if the tasks should stop, {@code false} otherwise
+     */
+    public boolean isStopped() {
+        return stopped.get();
+    }
+
+    /**
+     * Runs the given tasks and waits until all of them have finished.
+     *
+     * @param <R>   the type of the results
+     * @param tasks the tasks
+     * @param poll  the action that is run periodically by the calling thread
+     * @return the results of the tasks in the order of the tasks, or an empty
+     *         result if the calling thread was interrupted or a task threw a
+     *         checked exception
+     * @throws RuntimeException if a task or the poll action threw it
+     */
+    public <R> Result<List<R>> run(List<? extends Callable<R>> tasks, Runnable poll) {
+        final List<Future<R>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<R> task : tasks) {
+                futures.add(threadPool.submit(task));
+            }
+            final List<R> results = new ArrayList<>(tasks.size());
+            for (Future<R> future : futures) {
+                results.add(await(future, poll));
+            }
+            poll.run();
+            return Result.of(results);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.empty(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            return Result.empty(e);
+        } finally {
+            if (futures.stream().anyMatch(future -> !future.isDone())) {
+                stopped.set(true);
+                futures.forEach(future -> future.cancel(false));
+            }
+        }
+    }
+
+    private static <R> R await(Future<R> future, Runnable poll) throws InterruptedException, ExecutionException {
+        while (true) {
+            try {
+                return future.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                poll.run();
+            }
+        }
+    }
+
+    /**
+     * Stops all tasks and waits until they have terminated.
+     */
+    @Override
+    public void close() {
+        stopped.set(true);
+        threadPool.shutdown();
+        boolean interrupted = false;
+        while (!threadPool.isTerminated()) {
+            try {
+                threadPool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
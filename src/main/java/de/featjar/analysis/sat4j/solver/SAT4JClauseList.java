@@ -43,6 +43,7 @@ import org.sat4j.specs.IConstr;
 public class SAT4JClauseList extends BooleanAssignmentList {
     protected final SAT4JSolver solver;
     protected final LinkedList<IConstr> addedConstraints = new LinkedList<>();
+    protected int contradictionIndex = -1;
 
     public SAT4JClauseList(SAT4JSolver solver, BooleanAssignmentList other) {
         super(other);
@@ -67,9 +68,14 @@ public class SAT4JClauseList extends BooleanAssignmentList {
     }
 
     protected void addConstraint(int... integers) {
+        solver.clauseAdded(integers);
         try {
             addedConstraints.add(solver.internalSolver.addClause(new VecInt(Arrays.copyOf(integers, integers.length))));
         } catch (ContradictionException e) {
+            if (contradictionIndex < 0) {
+                contradictionIndex = addedConstraints.size();
+            }
+            addedConstraints.add(null);
             solver.trivialContradictionFound = true;
         }
     }
@@ -88,6 +94,7 @@ public class SAT4JClauseList extends BooleanAssignmentList {
     public void addAll(Collection<? extends BooleanAssignment> clauses) {
         final ArrayList<IConstr> constraints = new ArrayList<>();
         for (final BooleanAssignment clause : clauses) {
+            solver.clauseAdded(clause.get());
             try {
                 constraints.add(
                         solver.internalSolver.addClause(new VecInt(Arrays.copyOf(clause.get(), clause.size()))));
@@ -105,8 +112,14 @@ public class SAT4JClauseList extends BooleanAssignmentList {
     @Override
     public Result<BooleanAssignment> remove() {
         if (addedConstraints.size() > 0) {
-            final IConstr lastConstraint = addedConstraints.pop();
-            solver.internalSolver.removeConstr(lastConstraint);
+            final IConstr lastConstraint = addedConstraints.removeLast();
+            if (lastConstraint != null) {
+                solver.internalSolver.removeConstr(lastConstraint);
+            }
+            if (addedConstraints.size() == contradictionIndex) {
+                contradictionIndex = -1;
+                solver.trivialContradictionFound = false;
+            }
         }
         return super.remove();
     }
@@ -25,6 +25,7 @@ import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.sat4j.minisat.SolverFactory;
@@ -37,8 +38,11 @@ import org.sat4j.tools.xplain.Xplain;
  *
  * <br>
  * <br>
- * Sat4J only support the extraction of one minimal unsatisfiable subset, thus
- * {@link #getAllMinimalUnsatisfiableSubsets()} only returns one solution.
+ * Sat4J only supports the extraction of one minimal unsatisfiable subset, thus
+ * {@link #getAllMinimalUnsatisfiableSubsets()} only returns one solution. Further
+ * subsets can be enumerated with a bounded
+ * {@link #getAllMinimalUnsatisfiableSubsets(int, int, Consumer)}, which uses a
+ * {@link MUSEnumerator} that works on separate solvers.
  *
  * <br>
  * <br>
@@ -78,4 +82,40 @@ public class SAT4JExplanationSolver extends SAT4JSolver {
         return Result.of(
                 Collections.singletonList(getMinimalUnsatisfiableSubset().get()));
     }
+
+    /**
+     * Enumerates minimal unsatisfiable subsets of the current clauses under the
+     * current assumptions and passes each one to the given consumer as soon as it
+     * is found.
+     *
+     * @param threadCount the number of threads that check subsets concurrently
+     * @param limit       the maximum number of subsets
+     * @param consumer    receives each minimal unsatisfiable subset
+     * @return {@code true} if all subsets were found, {@code false} if the limit was reached
+     */
+    public Result<Boolean> getAllMinimalUnsatisfiableSubsets(
+            int threadCount, int limit, Consumer<List<BooleanAssignment>> consumer) {
+        return newMUSEnumerator(threadCount, limit).enumerate(consumer, mcs -> {});
+    }
+
+    /**
+     * Enumerates minimal correction subsets of the current clauses under the
+     * current assumptions, i.e., minimal sets of clauses whose removal makes the
+     * clauses satisfiable.
+     *
+     * @param threadCount the number of threads that check subsets concurrently
+     * @param consumer    receives each minimal correction subset
+     * @return {@code true} if all subsets were found
+     */
+    public Result<Boolean> getAllMinimalCorrectionSubsets(int threadCount, Consumer<List<BooleanAssignment>> consumer) {
+        return newMUSEnumerator(threadCount, Integer.MAX_VALUE).enumerate(mus -> {}, consumer);
+    }
+
+    private MUSEnumerator newMUSEnumerator(int threadCount, int limit) {
+        final MUSEnumerator enumerator = new MUSEnumerator(getClauseList(), assignment.get());
+        enumerator.setThreadCount(threadCount);
+        enumerator.setLimit(limit);
+        enumerator.setTimeout(timeout);
+        return enumerator;
+    }
 }
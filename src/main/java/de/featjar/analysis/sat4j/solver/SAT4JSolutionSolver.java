@@ -96,6 +96,13 @@ public class SAT4JSolutionSolver extends SAT4JSolver {
         ((Solver<?>) internalSolver).getOrder().init();
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        setOrderFix();
+        setSelectionStrategy(ISelectionStrategy.original());
+    }
+
     @Override
     protected Solver<?> newInternalSolver() {
         return (Solver<?>) SolverFactory.newDefault();
@@ -29,6 +29,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.Objects;
 import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.ISolver;
 import org.sat4j.specs.TimeoutException;
 
@@ -42,11 +43,18 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     protected final ISolver internalSolver = newInternalSolver();
     protected final SAT4JClauseList clauseList;
     protected final SAT4JAssignment assignment = new SAT4JAssignment();
+    protected final boolean allowSimplification;
+    protected final int initialClauseCount;
     protected Duration timeout = Duration.ZERO;
     protected boolean globalTimeout;
 
     protected boolean isTimeoutOccurred;
     protected boolean trivialContradictionFound;
+    protected boolean initialContradictionFound;
+    protected boolean reusable = true;
+
+    protected SolutionCache solutionCache;
+    protected int[] cachedSolution;
 
     public static void initializeSolver(
             SAT4JSolver solver,
@@ -84,6 +92,7 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     }
 
     public SAT4JSolver(BooleanAssignmentList clauseList, boolean allowSimplification) {
+        this.allowSimplification = allowSimplification;
         internalSolver.setDBSimplificationAllowed(allowSimplification);
         internalSolver.setKeepSolverHot(false);
         internalSolver.setVerbose(false);
@@ -99,10 +108,98 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
                 internalSolver.registerLiteral(i);
             }
         }
+        initialClauseCount = this.clauseList.size();
+        initialContradictionFound = trivialContradictionFound;
+    }
+
+    /**
+     * Resets this solver to the state after its construction. Removes all
+     * assumptions, all clauses that were added afterwards, and all learned
+     * clauses.
+     */
+    public void reset() {
+        assignment.clear();
+        while (clauseList.size() > initialClauseCount) {
+            clauseList.remove();
+        }
+        internalSolver.clearLearntClauses();
+        solutionCache = null;
+        cachedSolution = null;
+        trivialContradictionFound = initialContradictionFound;
+        isTimeoutOccurred = false;
+        globalTimeout = false;
+        setTimeout(Duration.ZERO);
+    }
+
+    public boolean isSimplificationAllowed() {
+        return allowSimplification;
+    }
+
+    /**
+     * Checks whether {@link #reset()} restores the state after construction.
+     * This is not the case, if the solver is allowed to simplify its clause
+     * database, or if clauses or cardinality constraints were added after
+     * construction, as Sat4J may keep consequences of them on the root level.
+     *
+     * @return {@code true} if this solver can be reused after a reset, {@code false} otherwise
+     */
+    public boolean isReusable() {
+        return reusable && !allowSimplification;
     }
 
     protected abstract ISolver newInternalSolver();
 
+    /**
+     * Enables or disables the reuse of previously found solutions. If enabled,
+     * up to {@code capacity} recent solutions are remembered and a satisfiability
+     * query is answered without calling Sat4J whenever one of them already
+     * satisfies all assumptions. In this case, {@link #getInternalSolution()}
+     * returns the remembered solution. Note that this bypasses the solver's
+     * selection strategy for these queries.
+     *
+     * @param capacity the maximum number of remembered solutions, or {@code 0} to disable the cache
+     */
+    public void setSolutionCacheCapacity(int capacity) {
+        solutionCache = capacity > 0 ? new SolutionCache(internalSolver.nVars(), capacity) : null;
+        cachedSolution = null;
+    }
+
+    /**
+     * Adds a cardinality constraint that allows at most {@code degree} of the
+     * given literals to be true. In contrast to clauses, this constraint is
+     * permanent and is neither part of the {@link #getClauseList() clause list}
+     * nor removed by {@link #reset()}.
+     *
+     * @param degree   the maximum number of true literals
+     * @param literals the constrained literals
+     */
+    public void addAtMost(int degree, int... literals) {
+        reusable = false;
+        cachedSolution = null;
+        if (solutionCache != null) {
+            solutionCache.clear();
+        }
+        try {
+            internalSolver.addAtMost(new VecInt(Arrays.copyOf(literals, literals.length)), degree);
+        } catch (ContradictionException e) {
+            trivialContradictionFound = true;
+            initialContradictionFound = true;
+        }
+    }
+
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    void clauseAdded(int[] clause) {
+        if (clauseList != null) {
+            reusable = false;
+        }
+        if (solutionCache != null) {
+            solutionCache.removeViolating(clause);
+        }
+    }
+
     public SAT4JClauseList getClauseList() {
         return clauseList;
     }
@@ -153,21 +250,33 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
         if (trivialContradictionFound) {
             return Result.of(Boolean.FALSE);
         }
-        return callSat4J(new VecInt(integers));
+        return callSat4J(new VecInt(integers), integers, integers.length);
     }
 
     public Result<Boolean> hasSolution() {
         if (trivialContradictionFound) {
             return Result.of(Boolean.FALSE);
         }
-        return callSat4J(assignment.getIntegers());
+        final VecInt integers = assignment.getIntegers();
+        return callSat4J(integers, integers.toArray(), integers.size());
     }
 
-    private Result<Boolean> callSat4J(VecInt integers) {
+    private Result<Boolean> callSat4J(VecInt integers, int[] literals, int length) {
+        cachedSolution = null;
+        if (solutionCache != null) {
+            cachedSolution = solutionCache.find(literals, length);
+            if (cachedSolution != null) {
+                FeatJAR.log().debug("has cached solution");
+                return Result.of(Boolean.TRUE);
+            }
+        }
         try {
             FeatJAR.log().debug("calling SAT4J");
             if (internalSolver.isSatisfiable(integers, globalTimeout)) {
                 FeatJAR.log().debug("has solution");
+                if (solutionCache != null) {
+                    solutionCache.add(internalSolver.model());
+                }
                 return Result.of(Boolean.TRUE);
             } else {
                 FeatJAR.log().debug("no solution");
@@ -198,6 +307,6 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     }
 
     public int[] getInternalSolution() {
-        return internalSolver.model();
+        return cachedSolution != null ? cachedSolution : internalSolver.model();
     }
 }
@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+/**
+ * Caches solvers that already loaded a clause list, such that subsequent
+ * analyses on the same clause list do not have to load it again. Clause lists
+ * are identified by their identity and a hash of their content, which is
+ * computed when a solver is created. If a clause list was modified since then,
+ * its idle solvers are evicted instead of being lent, and lent solvers are not
+ * accepted back. Solvers are lent exclusively and are
+ * {@link SAT4JSolver#reset() reset} when they are given back. Only solvers that
+ * are {@link SAT4JSolver#isReusable() reusable} are accepted back. The cache
+ * holds a bounded number of idle solvers and evicts the least recently used
+ * ones. A cache with capacity {@code 0} never holds any solver.
+ *
+ * @author Sebastian Krieter
+ */
+public class SAT4JSolverCache {
+
+    /**
+     * A cache that never holds any solver.
+     */
+    public static final SAT4JSolverCache NONE = new SAT4JSolverCache(0);
+
+    private static final class Key {
+        private final BooleanAssignmentList clauseList;
+        private final Class<?> solverClass;
+        private final int contentHash;
+
+        private Key(BooleanAssignmentList clauseList, Class<?> solverClass) {
+            this.clauseList = clauseList;
+            this.solverClass = solverClass;
+            contentHash = computeContentHash(clauseList);
+        }
+
+        private boolean isSameClauseList(Key other) {
+            return clauseList == other.clauseList && solverClass == other.solverClass;
+        }
+
+        @Override
+        public int hashCode() {
+            return (31 * System.identityHashCode(clauseList) + solverClass.hashCode()) * 31 + contentHash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return isSameClauseList(other) && contentHash == other.contentHash;
+        }
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, ArrayDeque<SAT4JSolver>> idleSolvers = new LinkedHashMap<>(16, 0.75f, true);
+    private final IdentityHashMap<SAT4JSolver, Key> lentSolvers = new IdentityHashMap<>();
+    private int idleSolverCount;
+    private long hitCount, missCount;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param capacity the maximum number of idle solvers held by this cache
+     */
+    public SAT4JSolverCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative. Value was " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Lends a solver that has loaded the given clause list. If no such solver is
+     * idle, a new one is created using the given factory.
+     *
+     * @param clauseList  the clause list
+     * @param solverClass the type of solver
+     * @param factory     creates a new solver for the clause list
+     * @return a solver for the given clause list
+     */
+    public SAT4JSolver lend(
+            BooleanAssignmentList clauseList,
+            Class<? extends SAT4JSolver> solverClass,
+            Function<BooleanAssignmentList, ? extends SAT4JSolver> factory) {
+        if (capacity == 0) {
+            return factory.apply(clauseList);
+        }
+        final Key key = new Key(clauseList, solverClass);
+        synchronized (this) {
+            final ArrayDeque<SAT4JSolver> solvers = idleSolvers.get(key);
+            if (solvers != null) {
+                final SAT4JSolver solver = solvers.pop();
+                if (solvers.isEmpty()) {
+                    idleSolvers.remove(key);
+                }
+                idleSolverCount--;
+                hitCount++;
+                lentSolvers.put(solver, key);
+                return solver;
+            }
+            missCount++;
+            idleSolvers.entrySet().removeIf(entry -> {
+                if (entry.getKey().isSameClauseList(key)) {
+                    idleSolverCount -= entry.getValue().size();
+                    return true;
+                }
+                return false;
+            });
+        }
+        final SAT4JSolver solver = factory.apply(clauseList);
+        synchronized (this) {
+            lentSolvers.put(solver, key);
+        }
+        return solver;
+    }
+
+    /**
+     * Resets the given solver and returns it to this cache. Does nothing if the
+     * solver was not lent from this cache, is not
+     * {@link SAT4JSolver#isReusable() reusable}, or its clause list was modified
+     * since the solver was created.
+     *
+     * @param solver the solver
+     * @return {@code true} if the solver was returned to this cache, {@code false} otherwise
+     */
+    public boolean giveBack(SAT4JSolver solver) {
+        if (capacity == 0) {
+            return false;
+        }
+        final Key key;
+        synchronized (this) {
+            key = lentSolvers.remove(solver);
+        }
+        if (key == null || !solver.isReusable() || key.contentHash != computeContentHash(key.clauseList)) {
+            return false;
+        }
+        solver.reset();
+        synchronized (this) {
+            idleSolvers.computeIfAbsent(key, k -> new ArrayDeque<>()).push(solver);
+            idleSolverCount++;
+            final Iterator<Entry<Key, ArrayDeque<SAT4JSolver>>> iterator =
+                    idleSolvers.entrySet().iterator();
+            while (idleSolverCount > capacity) {
+                final ArrayDeque<SAT4JSolver> eldest = iterator.next().getValue();
+                while (!eldest.isEmpty() && idleSolverCount > capacity) {
+                    eldest.removeLast();
+                    idleSolverCount--;
+                }
+                if (eldest.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all idle solvers from this cache.
+     */
+    public synchronized void clear() {
+        idleSolvers.clear();
+        idleSolverCount = 0;
+    }
+
+    public synchronized int size() {
+        return idleSolverCount;
+    }
+
+    private static int computeContentHash(BooleanAssignmentList clauseList) {
+        int hash = clauseList.getVariableMap().size();
+        for (BooleanAssignment clause : clauseList) {
+            hash = 31 * hash + Arrays.hashCode(clause.get());
+        }
+        return hash;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Remembers a bounded number of solutions in a ring buffer. All solutions are
+ * stored consecutively in a single int array, such that adding a solution does
+ * not allocate any memory and replaces the oldest solution in constant time.
+ * <p>
+ * In addition, a bit index with one column per literal allows checking whether
+ * any remembered solution contains a set of literals by a bitwise conjunction
+ * of the respective columns.
+ *
+ * @author Sebastian Krieter
+ */
+public class SolutionCache implements ISolutionHistory {
+
+    private final int variableCount;
+    private final int capacity;
+    private final int wordCount;
+    private final long[][] literalColumns;
+    private final int[] solutions;
+    private final long[] validSlots;
+    private final int[] lastSolution;
+
+    private boolean hasLastSolution;
+    private int nextSlot;
+    private long hitCount, missCount;
+
+    public SolutionCache(int variableCount, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be greater than 0. Value was " + capacity);
+        }
+        if (variableCount < 0) {
+            throw new IllegalArgumentException("Variable count must not be negative. Value was " + variableCount);
+        }
+        this.variableCount = variableCount;
+        this.capacity = capacity;
+        wordCount = ((capacity - 1) >>> 6) + 1;
+        literalColumns = new long[2 * variableCount + 1][wordCount];
+        solutions = new int[Math.multiplyExact(capacity, variableCount)];
+        validSlots = new long[wordCount];
+        lastSolution = new int[variableCount];
+    }
+
+    /**
+     * Adds a copy of the given solution, replacing the oldest solution if the cache is full.
+     * Only the first {@code variableCount} entries of the array are considered.
+     *
+     * @param solution the solution, containing one literal per variable in ascending order
+     */
+    public void add(int[] solution) {
+        final int slot = nextSlot;
+        nextSlot = nextSlot + 1 == capacity ? 0 : nextSlot + 1;
+        final int word = slot >>> 6;
+        final long mask = 1L << slot;
+        for (int i = 0; i < variableCount; i++) {
+            final int l = solution[i];
+            literalColumns[variableCount + i + 1][word] &= ~mask;
+            literalColumns[variableCount - i - 1][word] &= ~mask;
+            if (l != 0) {
+                literalColumns[variableCount + l][word] |= mask;
+            }
+        }
+        System.arraycopy(solution, 0, solutions, slot * variableCount, variableCount);
+        validSlots[word] |= mask;
+        setLastSolution(solution);
+    }
+
+    /**
+     * Searches for a remembered solution that contains all given literals and
+     * updates the hit and miss counters accordingly. A literal of a variable that
+     * is not known to this cache is never contained.
+     *
+     * @param literals the literals
+     * @param length   the number of literals to consider
+     * @return a copy of a solution containing all literals, or {@code null} if there is none
+     * @throws IllegalArgumentException if one of the literals is {@code 0}
+     */
+    public int[] find(int[] literals, int length) {
+        final int slot = findSlot(literals, length);
+        if (slot < 0) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        final int offset = slot * variableCount;
+        return Arrays.copyOfRange(solutions, offset, offset + variableCount);
+    }
+
+    /**
+     * Checks whether any remembered solution contains all given literals. Does not
+     * update the hit and miss counters.
+     *
+     * @param literals the literals
+     * @return {@code true} if there is such a solution, {@code false} otherwise
+     * @throws IllegalArgumentException if one of the literals is {@code 0}
+     */
+    public boolean isSatisfied(int... literals) {
+        return findSlot(literals, literals.length) >= 0;
+    }
+
+    private int findSlot(int[] literals, int length) {
+        for (int i = 0; i < length; i++) {
+            final int l = literals[i];
+            if (l == 0) {
+                throw new IllegalArgumentException("Literal must not be 0");
+            }
+            if (Math.abs(l) > variableCount) {
+                return -1;
+            }
+        }
+        for (int w = 0; w < wordCount; w++) {
+            long bits = validSlots[w];
+            for (int i = 0; i < length && bits != 0; i++) {
+                bits &= literalColumns[variableCount + literals[i]][w];
+            }
+            if (bits != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes all remembered solutions that do not satisfy the given clause.
+     *
+     * @param clause the clause
+     */
+    public void removeViolating(int[] clause) {
+        for (int w = 0; w < wordCount; w++) {
+            long violating = validSlots[w];
+            for (int i = 0; i < clause.length && violating != 0; i++) {
+                final int l = clause[i];
+                if (l != 0 && Math.abs(l) <= variableCount) {
+                    violating &= ~literalColumns[variableCount + l][w];
+                }
+            }
+            validSlots[w] &= ~violating;
+        }
+    }
+
+    /**
+     * Returns copies of all remembered solutions, starting with the most recent
+     * one.
+     */
+    @Override
+    public List<BooleanSolution> getSolutionHistory() {
+        final ArrayList<BooleanSolution> solutionHistory = new ArrayList<>();
+        for (int i = 1; i <= capacity; i++) {
+            final int slot = nextSlot - i < 0 ? nextSlot - i + capacity : nextSlot - i;
+            if ((validSlots[slot >>> 6] & (1L << slot)) != 0) {
+                final int offset = slot * variableCount;
+                solutionHistory.add(
+                        new BooleanSolution(Arrays.copyOfRange(solutions, offset, offset + variableCount), false));
+            }
+        }
+        return solutionHistory;
+    }
+
+    @Override
+    public Result<BooleanSolution> getLastSolution() {
+        return hasLastSolution
+                ? Result.of(new BooleanSolution(Arrays.copyOf(lastSolution, variableCount), false))
+                : Result.empty();
+    }
+
+    @Override
+    public void setLastSolution(BooleanSolution solution) {
+        if (solution == null) {
+            hasLastSolution = false;
+        } else {
+            setLastSolution(solution.get());
+        }
+    }
+
+    private void setLastSolution(int[] solution) {
+        System.arraycopy(solution, 0, lastSolution, 0, variableCount);
+        hasLastSolution = true;
+    }
+
+    @Override
+    public void addNewSolution(BooleanSolution solution) {
+        add(solution.get());
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(validSlots, 0);
+        hasLastSolution = false;
+        nextSlot = 0;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : validSlots) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+}
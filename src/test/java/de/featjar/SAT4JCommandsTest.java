@@ -24,6 +24,7 @@ import de.featjar.base.FeatJAR;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -73,6 +74,51 @@ public class SAT4JCommandsTest {
         Assertions.assertEquals(6, output.split("\n")[0].split(";").length);
     }
 
+    @Test
+    void testProjectionCommandWithResolventCountCost() throws IOException {
+        Path tempFile = Files.createTempFile("featJarTest", ".txt");
+        int exitCode = FeatJAR.runTest(
+                "projection-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--project",
+                "DirectedOnlyVertices,UndirectedWithEdges,UndirectedWithNeighbors,UndirectedOnlyVertices",
+                "--elimination-cost",
+                "resolvent_count",
+                "--output",
+                tempFile.toString(),
+                "--overwrite");
+        Assertions.assertEquals(0, exitCode);
+        String output = Files.readString(tempFile);
+        Assertions.assertFalse(output.contains("DirectedWithEdges"));
+        Assertions.assertTrue(output.contains("DirectedOnlyVertices"));
+        Assertions.assertTrue(output.contains("UndirectedOnlyVertices"));
+    }
+
+    @Test
+    void testProjectionCommandWithBoundedElimination() throws IOException {
+        Path tempFile = Files.createTempFile("featJarTest", ".txt");
+        int exitCode = FeatJAR.runTest(
+                "projection-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--project",
+                "DirectedOnlyVertices,UndirectedWithEdges,UndirectedWithNeighbors,UndirectedOnlyVertices",
+                "--bounded-elimination",
+                "--elimination-limit",
+                "2",
+                "--output",
+                tempFile.toString(),
+                "--overwrite");
+        Assertions.assertEquals(0, exitCode);
+        String output = Files.readString(tempFile);
+        Assertions.assertFalse(output.contains("DirectedWithEdges"));
+        Assertions.assertFalse(output.contains("DirectedWithNeighbors"));
+        Assertions.assertTrue(output.contains("DirectedOnlyVertices"));
+        Assertions.assertTrue(output.contains("UndirectedOnlyVertices"));
+        Assertions.assertEquals(6, output.split("\n")[0].split(";").length);
+    }
+
     @Test
     void testProjectionCommand3() throws IOException {
         Path tempFile = Files.createTempFile("featJarTest", ".txt");
@@ -121,6 +167,13 @@ public class SAT4JCommandsTest {
         Assertions.assertEquals(0, exitCode);
     }
 
+    @Test
+    void testParallelCoreCommand() throws IOException {
+        int exitCode = FeatJAR.runTest(
+                "core-sat4j", "--input", "../formula/src/testFixtures/resources/GPL/model.xml", "--threads", "4");
+        Assertions.assertEquals(0, exitCode);
+    }
+
     @Test
     void testAtomicSetsCommand() throws IOException {
         int exitCode =
@@ -160,6 +213,41 @@ public class SAT4JCommandsTest {
                 "--timeout",
                 "10");
         Assertions.assertEquals(0, exitCode);
+
+        exitCode = FeatJAR.runTest(
+                "count-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--projection",
+                "DirectedWithEdges,DirectedWithNeighbors,DirectedOnlyVertices");
+        Assertions.assertEquals(0, exitCode);
+
+        exitCode = FeatJAR.runTest(
+                "count-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--projection",
+                "Unknown1,Unknown2");
+        Assertions.assertNotEquals(0, exitCode);
+    }
+
+    @Test
+    void testApproximateSolutionCountCommand() throws IOException {
+        int exitCode = FeatJAR.runTest(
+                "approximate-count-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--projection",
+                "DirectedWithEdges,DirectedWithNeighbors,DirectedOnlyVertices");
+        Assertions.assertEquals(0, exitCode);
+
+        exitCode = FeatJAR.runTest(
+                "approximate-count-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--projection",
+                "Unknown1,Unknown2");
+        Assertions.assertNotEquals(0, exitCode);
     }
 
     @Test
@@ -189,6 +277,53 @@ public class SAT4JCommandsTest {
         Assertions.assertEquals(0, exitCode);
     }
 
+    @Test
+    void testSolutionsCommandStream() throws IOException {
+        Path tempFile = Files.createTempFile("featJarTest", ".csv");
+        int exitCode = FeatJAR.runTest(
+                "solutions-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--limit",
+                "25",
+                "--no-duplicates",
+                "true",
+                "--stream",
+                "true",
+                "--batch-size",
+                "4",
+                "--output",
+                tempFile.toString(),
+                "--overwrite");
+        Assertions.assertEquals(0, exitCode);
+        List<String> lines = Files.readAllLines(tempFile);
+        Assertions.assertEquals(26, lines.size());
+        Assertions.assertTrue(lines.get(0).startsWith("ID;Group;"));
+        Assertions.assertEquals(
+                25,
+                lines.stream()
+                        .skip(1)
+                        .map(line -> line.substring(line.indexOf(';')))
+                        .distinct()
+                        .count());
+    }
+
+    @Test
+    void testSolutionsCommandStreamKeepsExistingOutput() throws IOException {
+        Path tempFile = Files.createTempFile("featJarTest", ".csv");
+        Files.writeString(tempFile, "existing");
+        int exitCode = FeatJAR.runTest(
+                "solutions-sat4j",
+                "--input",
+                "../formula/src/testFixtures/resources/GPL/model.xml",
+                "--stream",
+                "true",
+                "--output",
+                tempFile.toString());
+        Assertions.assertNotEquals(0, exitCode);
+        Assertions.assertEquals("existing", Files.readString(tempFile));
+    }
+
     @Test
     void testTWiseCommand() throws IOException {
         int exitCode = FeatJAR.runTest("yasa", "--input", "../formula/src/testFixtures/resources/GPL/model.xml");
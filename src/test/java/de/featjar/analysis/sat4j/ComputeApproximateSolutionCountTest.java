@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ApproximateCount;
+import de.featjar.analysis.sat4j.computation.ComputeApproximateSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionCountSAT4J;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeApproximateSolutionCountTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void smallFormulaIsCountedExactly() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C", "D"));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                variableMap,
+                new BooleanClause(new int[] {1, 2}),
+                new BooleanClause(new int[] {-1, -2}),
+                new BooleanClause(new int[] {-3, 1}));
+
+        ApproximateCount count = count(clauses, new BooleanAssignment(), 1);
+        assertTrue(count.isExact());
+        assertEquals(BigInteger.valueOf(6), count.getEstimate());
+        assertEquals(BigInteger.valueOf(3), count(clauses, new BooleanAssignment(new int[] {1, 3}), 1)
+                .getEstimate());
+    }
+
+    @Test
+    void freeVariablesAreEstimatedWithinBounds() {
+        List<String> names = IntStream.rangeClosed(1, 12).mapToObj(i -> "x" + i).collect(Collectors.toList());
+        BooleanAssignmentList clauses = new BooleanAssignmentList(new VariableMap(names));
+
+        ApproximateCount count = count(clauses, new BooleanAssignment(), 1);
+        assertFalse(count.isExact());
+        assertTrue(count.getLowerBound().compareTo(BigInteger.valueOf(4096)) <= 0);
+        assertTrue(count.getUpperBound().compareTo(BigInteger.valueOf(4096)) >= 0);
+        assertEquals(count, count(clauses, new BooleanAssignment(), 4));
+    }
+
+    @Test
+    void fewFreeVariablesAreEstimatedWithinBounds() {
+        List<String> names = IntStream.rangeClosed(1, 7).mapToObj(i -> "x" + i).collect(Collectors.toList());
+        BooleanAssignmentList clauses = new BooleanAssignmentList(new VariableMap(names));
+
+        for (long seed = 0; seed < 10; seed++) {
+            ApproximateCount count = Computations.of(clauses)
+                    .map(ComputeApproximateSolutionCountSAT4J::new)
+                    .set(ComputeApproximateSolutionCountSAT4J.RANDOM_SEED, seed)
+                    .compute();
+            assertTrue(count.getLowerBound().compareTo(BigInteger.valueOf(128)) <= 0);
+            assertTrue(count.getUpperBound().compareTo(BigInteger.valueOf(128)) >= 0);
+        }
+    }
+
+    @Test
+    void gplEstimateContainsExactCount() {
+        BooleanAssignmentList clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        BigInteger exactCount =
+                Computations.of(clauses).map(ComputeSolutionCountSAT4J::new).compute();
+
+        ApproximateCount count = count(clauses, new BooleanAssignment(), 2);
+        if (!count.isExact()) {
+            assertEquals(0.8, count.getConfidence(), 1e-9);
+            assertTrue(count.getLowerBound().compareTo(exactCount) <= 0);
+            assertTrue(count.getUpperBound().compareTo(exactCount) >= 0);
+        } else {
+            assertEquals(exactCount, count.getEstimate());
+        }
+    }
+
+    private static ApproximateCount count(BooleanAssignmentList clauses, BooleanAssignment projection, int threads) {
+        return Computations.of(clauses)
+                .map(ComputeApproximateSolutionCountSAT4J::new)
+                .set(ComputeApproximateSolutionCountSAT4J.VARIABLES_OF_INTEREST, projection)
+                .set(ComputeApproximateSolutionCountSAT4J.THREADS, threads)
+                .compute();
+    }
+}
@@ -26,11 +26,16 @@ import de.featjar.Common;
 import de.featjar.analysis.sat4j.computation.ComputeAtomicSetsSAT4J;
 import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
 import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
 import de.featjar.formula.computation.ComputeCNFFormula;
 import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -59,4 +64,30 @@ public class ComputeAtomicSetsTest extends Common {
 
         assertEquals(22, atomicSets.size());
     }
+
+    @Test
+    public void complementsAreGroupedUnlessOmitted() {
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C", "D", "E")),
+                new BooleanClause(new int[] {-1, 2}),
+                new BooleanClause(new int[] {1, -2}),
+                new BooleanClause(new int[] {1, 3}),
+                new BooleanClause(new int[] {-1, -3}),
+                new BooleanClause(new int[] {5}));
+
+        assertEquals(List.of("[5]", "[1, 2, -3]", "[4]"), compute(clauses, false, false));
+        assertEquals(List.of("[5]", "[1, 2]", "[3]", "[4]"), compute(clauses, true, false));
+        assertEquals(List.of("[5]", "[1, 2, -3]"), compute(clauses, false, true));
+    }
+
+    private static List<String> compute(BooleanAssignmentList clauses, boolean omitComplements, boolean omitSingles) {
+        return Computations.of(clauses)
+                .map(ComputeAtomicSetsSAT4J::new)
+                .set(ComputeAtomicSetsSAT4J.OMIT_COMPLEMENTS, omitComplements)
+                .set(ComputeAtomicSetsSAT4J.OMIT_SINGLE_SETS, omitSingles)
+                .compute()
+                .stream()
+                .map(atomicSet -> Arrays.toString(atomicSet.get()))
+                .collect(Collectors.toList());
+    }
 }
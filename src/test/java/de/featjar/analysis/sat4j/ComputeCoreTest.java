@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeCoreChunkedMIG;
+import de.featjar.analysis.sat4j.computation.ComputeCoreSAT4J;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeCoreTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplChunkedCoreEqualsSequentialCore() {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+
+        BooleanAssignmentList core = clauses.map(ComputeCoreSAT4J::new).compute();
+        BooleanAssignment chunkedCore = clauses.map(ComputeCoreChunkedMIG::new).compute();
+        BooleanAssignment smallChunkedCore = clauses.map(ComputeCoreChunkedMIG::new)
+                .set(ComputeCoreChunkedMIG.MAX_CHUNK_SIZE, 2)
+                .compute();
+
+        Set<Integer> expected = toSet(core.stream().findFirst().orElseThrow());
+        assertEquals(expected, toSet(chunkedCore));
+        assertEquals(expected, toSet(smallChunkedCore));
+    }
+
+    @Test
+    public void gplParallelCoreEqualsSequentialCore() {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+
+        BooleanAssignmentList core = clauses.map(ComputeCoreSAT4J::new).compute();
+        Set<Integer> expected = toSet(core.stream().findFirst().orElseThrow());
+        for (int threads = 2; threads <= 4; threads++) {
+            BooleanAssignmentList parallelCore = clauses.map(ComputeCoreSAT4J::new)
+                    .set(ComputeCoreSAT4J.THREADS, threads)
+                    .compute();
+            assertEquals(expected, toSet(parallelCore.stream().findFirst().orElseThrow()));
+        }
+    }
+
+    private static Set<Integer> toSet(BooleanAssignment assignment) {
+        return Arrays.stream(assignment.get()).boxed().collect(Collectors.toSet());
+    }
+}
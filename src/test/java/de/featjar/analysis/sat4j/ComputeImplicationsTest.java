@@ -0,0 +1,227 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeImplicationDAG;
+import de.featjar.analysis.sat4j.computation.ComputeImplicationsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ImplicationDAG;
+import de.featjar.analysis.sat4j.computation.Implications;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.io.binary.ImplicationDAGBinaryIO;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ComputeImplicationsTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void smallFormulaHasExpectedImplications() {
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C", "D", "E")),
+                new BooleanClause(new int[] {-1, 2}),
+                new BooleanClause(new int[] {-2, 3}),
+                new BooleanClause(new int[] {-3, -4}),
+                new BooleanClause(new int[] {1, 4, 5}),
+                new BooleanClause(new int[] {5}));
+
+        Implications implications = Computations.of(clauses)
+                .map(ComputeImplicationsSAT4J::new)
+                .compute();
+
+        assertArrayEquals(new int[] {5}, implications.getCore());
+        assertArrayEquals(new int[] {2, 3, -4}, implications.getImplied(1));
+        assertArrayEquals(new int[] {3, -4}, implications.getImplied(2));
+        assertArrayEquals(new int[] {-4}, implications.getImplied(3));
+        assertArrayEquals(new int[] {-1, -2, -3}, implications.getImplied(4));
+        assertArrayEquals(new int[0], implications.getImplied(5));
+
+        ImplicationDAG dag = Computations.of(implications)
+                .map(ComputeImplicationDAG::new)
+                .compute();
+        assertEquals(6, dag.getEdgeCount());
+        assertArrayEquals(new int[] {dag.getComponent(2)}, dag.getSuccessors(dag.getComponent(1)));
+        assertTrue(dag.implies(1, -4));
+        assertTrue(dag.implies(1, 5));
+        assertFalse(dag.implies(4, 1));
+        assertFalse(dag.implies(3, 1));
+        assertArrayEquals(new int[] {-4}, dag.getImplied(3));
+    }
+
+    @Test
+    void gplImplicationsMatchEnumeratedSolutions() {
+        IComputation<BooleanAssignmentList> cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        List<int[]> solutions = cnf.map(ComputeSolutionsSAT4J::new).compute().stream()
+                .map(BooleanAssignment::get)
+                .collect(Collectors.toList());
+        Implications implications = cnf.map(ComputeImplicationsSAT4J::new).compute();
+
+        int variableCount = implications.getVariableMap().size();
+        List<Integer> core = IntStream.rangeClosed(1, variableCount)
+                .filter(v -> solutions.stream().allMatch(s -> s[v - 1] > 0)
+                        || solutions.stream().allMatch(s -> s[v - 1] < 0))
+                .boxed()
+                .collect(Collectors.toList());
+        assertEquals(core.size(), implications.getCore().length);
+
+        for (int v = 1; v <= variableCount; v++) {
+            if (core.contains(v)) {
+                continue;
+            }
+            final int variable = v;
+            int[] expected = IntStream.rangeClosed(1, variableCount)
+                    .filter(u -> u != variable && !core.contains(u))
+                    .flatMap(u -> IntStream.of(u, -u))
+                    .filter(u -> solutions.stream()
+                            .filter(s -> s[variable - 1] > 0)
+                            .allMatch(s -> s[Math.abs(u) - 1] == u))
+                    .toArray();
+            assertArrayEquals(expected, implications.getImplied(v), "implications of " + v);
+        }
+    }
+
+    @Test
+    void gplImplicationsWithMIGEqualImplicationsWithoutMIG() {
+        IComputation<BooleanAssignmentList> cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        Implications withoutMIG = cnf.map(ComputeImplicationsSAT4J::new).compute();
+        Implications withMIG = cnf.map(ComputeImplicationsSAT4J::new)
+                .set(ComputeImplicationsSAT4J.MIG, new MIGBuilder(cnf))
+                .compute();
+        assertEquals(withoutMIG, withMIG);
+    }
+
+    @Test
+    void implicationsWithDifferentVariablesAreNotEqual() {
+        Implications implications1 =
+                new Implications(new VariableMap(Arrays.asList("A", "B")), new int[0], new int[3], new int[0]);
+        Implications implications2 =
+                new Implications(new VariableMap(Arrays.asList("A", "C")), new int[0], new int[3], new int[0]);
+        assertNotEquals(implications1, implications2);
+    }
+
+    @Test
+    void gplImplicationDAGIsTransitiveReduction(@TempDir Path directory) throws IOException {
+        Implications implications = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .map(ComputeImplicationsSAT4J::new)
+                .compute();
+        ImplicationDAG dag =
+                Computations.of(implications).map(ComputeImplicationDAG::new).compute();
+        assertTrue(dag.getEdgeCount() <= implications.size());
+
+        int variableCount = implications.getVariableMap().size();
+        List<Integer> coreVariables =
+                Arrays.stream(implications.getCore()).map(Math::abs).boxed().collect(Collectors.toList());
+        for (int v = 1; v <= variableCount; v++) {
+            if (coreVariables.contains(v)) {
+                continue;
+            }
+            for (int u = 1; u <= variableCount; u++) {
+                if (u != v && !coreVariables.contains(u)) {
+                    assertEquals(implications.implies(v, u), dag.implies(v, u), v + " => " + u);
+                    assertEquals(implications.implies(v, -u), dag.implies(v, -u), v + " => " + -u);
+                }
+            }
+            for (int c = dag.getComponent(v), i = 0; i < dag.getSuccessors(c).length; i++) {
+                assertTrue(dag.getSuccessors(c)[i] > c);
+            }
+        }
+
+        Path dagFile = directory.resolve("model.dag");
+        ImplicationDAGBinaryIO.write(dag, dagFile);
+        assertEquals(dag, ImplicationDAGBinaryIO.read(dagFile).orElseThrow());
+    }
+
+    @Test
+    void corruptImplicationDAGFileIsRejected(@TempDir Path directory) throws IOException {
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C")),
+                new BooleanClause(new int[] {-1, 2}),
+                new BooleanClause(new int[] {-2, 3}));
+        ImplicationDAG dag = Computations.of(clauses)
+                .map(ComputeImplicationsSAT4J::new)
+                .map(ComputeImplicationDAG::new)
+                .compute();
+        Path dagFile = directory.resolve("model.dag");
+        ImplicationDAGBinaryIO.write(dag, dagFile);
+        ImplicationDAGBinaryIO.write(dag, dagFile);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(dagFile), files.collect(Collectors.toList()));
+        }
+        assertEquals(dag, ImplicationDAGBinaryIO.read(dagFile).orElseThrow());
+
+        byte[] content = Files.readAllBytes(dagFile);
+        Files.write(dagFile, Arrays.copyOf(content, content.length - 1));
+        assertTrue(ImplicationDAGBinaryIO.read(dagFile).isEmpty());
+
+        content[12] = (byte) 0x7f;
+        Files.write(dagFile, content);
+        assertTrue(ImplicationDAGBinaryIO.read(dagFile).isEmpty());
+    }
+}
@@ -55,4 +55,25 @@ public class ComputeIndeterminateTest {
                 .collect(Collectors.toCollection(ArrayList::new));
         assertEquals(new ArrayList<>(Arrays.asList("+a", "+b")), indeterminate);
     }
+
+    @Test
+    void parallelBatchesFindSameIndeterminate() {
+        IFormula formula = Expressions.and(
+                Expressions.or(Expressions.literal("a"), Expressions.literal("b")),
+                Expressions.biImplies(Expressions.literal("x"), Expressions.literal("y")),
+                Expressions.or(
+                        Expressions.literal("c"),
+                        Expressions.or(Expressions.literal("d"), Expressions.literal("x"))));
+        ComputeBooleanClauseList cnf = Computations.of(formula)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignment sequential = cnf.map(ComputeIndeterminateSat4J::new).compute();
+        for (int threads = 2; threads <= 4; threads++) {
+            BooleanAssignment parallel = cnf.map(ComputeIndeterminateSat4J::new)
+                    .set(ComputeIndeterminateSat4J.THREADS, threads)
+                    .compute();
+            assertEquals(Arrays.toString(sequential.get()), Arrays.toString(parallel.get()));
+        }
+    }
 }
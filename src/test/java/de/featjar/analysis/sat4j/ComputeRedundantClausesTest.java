@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeRedundantClausesSat4J;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeRedundantClausesTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void redundantClausesDependOnClauseOrder() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C"));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                variableMap,
+                new BooleanClause(new int[] {1, 2}),
+                new BooleanClause(new int[] {1, 2, 3}),
+                new BooleanClause(new int[] {-1, 3}),
+                new BooleanClause(new int[] {-2, 3}),
+                new BooleanClause(new int[] {3}),
+                new BooleanClause(new int[] {1, 2}));
+
+        List<String> expected = List.of("[1, 2, 3]", "[3]", "[1, 2]");
+        for (int threads = 1; threads <= 4; threads++) {
+            BooleanAssignmentList redundant = Computations.of(clauses)
+                    .map(ComputeRedundantClausesSat4J::new)
+                    .set(ComputeRedundantClausesSat4J.THREADS, threads)
+                    .compute();
+            assertEquals(expected, toStrings(redundant));
+        }
+    }
+
+    @Test
+    public void gplParallelRedundantClausesEqualSequentialRedundantClauses() {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+
+        BooleanAssignmentList sequential =
+                clauses.map(ComputeRedundantClausesSat4J::new).compute();
+        BooleanAssignmentList parallel = clauses.map(ComputeRedundantClausesSat4J::new)
+                .set(ComputeRedundantClausesSat4J.THREADS, 4)
+                .compute();
+
+        assertEquals(toStrings(sequential), toStrings(parallel));
+    }
+
+    private static List<String> toStrings(BooleanAssignmentList clauses) {
+        return clauses.stream()
+                .map(BooleanAssignment::get)
+                .map(Arrays::toString)
+                .collect(Collectors.toList());
+    }
+}
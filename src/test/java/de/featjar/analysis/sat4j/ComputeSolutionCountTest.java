@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeVariablesByName;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Problem;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeSolutionCountTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void smallFormulaIsCountedWithAndWithoutProjection() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C", "D"));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                variableMap,
+                new BooleanClause(new int[] {1, 2}),
+                new BooleanClause(new int[] {-1, -2}),
+                new BooleanClause(new int[] {-3, 1}));
+
+        assertEquals(BigInteger.valueOf(6), count(clauses, new BooleanAssignment()));
+        assertEquals(BigInteger.valueOf(2), count(clauses, new BooleanAssignment(new int[] {1, 2})));
+        assertEquals(BigInteger.valueOf(3), count(clauses, new BooleanAssignment(new int[] {1, 3})));
+        assertEquals(BigInteger.valueOf(2), count(clauses, new BooleanAssignment(new int[] {4})));
+    }
+
+    @Test
+    void gplCountEqualsNumberOfEnumeratedSolutions() {
+        IComputation<BooleanAssignmentList> cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignmentList clauses = cnf.compute();
+        BooleanAssignmentList solutions = cnf.map(ComputeSolutionsSAT4J::new).compute();
+        assertEquals(BigInteger.valueOf(solutions.size()), count(clauses, new BooleanAssignment()));
+
+        int[] projection = IntStream.rangeClosed(1, 8).toArray();
+        long projectedCount = solutions.stream()
+                .map(solution -> Arrays.toString(Arrays.copyOf(solution.get(), projection.length)))
+                .distinct()
+                .count();
+        assertEquals(BigInteger.valueOf(projectedCount), count(clauses, new BooleanAssignment(projection)));
+    }
+
+    @Test
+    void unknownProjectionNamesAreReported() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B"));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(variableMap, new BooleanClause(new int[] {1, 2}));
+
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(clauses);
+        Result<BooleanAssignment> variables =
+                new ComputeVariablesByName(clauseList, Arrays.asList("A", "X", "B", "Y")).computeResult();
+        assertTrue(variables.isEmpty());
+        String problems = Problem.printProblems(variables.getProblems());
+        assertTrue(problems.contains("X, Y"), problems);
+
+        variables = new ComputeVariablesByName(clauseList, Arrays.asList("B", "A")).computeResult();
+        assertEquals(2, variables.get().size());
+    }
+
+    private static BigInteger count(BooleanAssignmentList clauses, BooleanAssignment projection) {
+        return Computations.of(clauses)
+                .map(ComputeSolutionCountSAT4J::new)
+                .set(ComputeSolutionCountSAT4J.VARIABLES_OF_INTEREST, projection)
+                .compute();
+    }
+}
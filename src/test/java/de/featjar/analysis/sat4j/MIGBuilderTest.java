@@ -0,0 +1,400 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.RuntimeContradictionException;
+import de.featjar.analysis.sat4j.computation.CachedMIGBuilder;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.io.binary.MIGBinaryIO;
+import de.featjar.analysis.sat4j.solver.IMIGVisitor;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitPlane;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitSet;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MIGBuilderTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void condensedMIGCollapsesEquivalentLiterals() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C", "D", "E"));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                variableMap,
+                new BooleanClause(new int[] {-1, 2}),
+                new BooleanClause(new int[] {-2, 3}),
+                new BooleanClause(new int[] {-3, 1}),
+                new BooleanClause(new int[] {-3, 4}),
+                new BooleanClause(new int[] {-4, 5, 1}));
+        ModalImplicationGraph mig = Computations.of(clauses)
+                .map(MIGBuilder::new)
+                .set(MIGBuilder.CONDENSE_STRONG_EDGES, Boolean.TRUE)
+                .compute();
+        assertTrue(mig.isCondensed());
+
+        IMIGVisitor visitor = new MIGVisitorByte(mig);
+        visitor.propagate(2);
+        assertEquals(Set.of(1, 2, 3, 4), getAddedLiterals(visitor));
+        visitor.reset();
+        visitor.propagate(-4);
+        assertEquals(Set.of(-1, -2, -3, -4), getAddedLiterals(visitor));
+    }
+
+    @Test
+    public void longImplicationChainIsClosedTransitively() {
+        int variableCount = 600;
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, variableCount).mapToObj(i -> "x" + i).collect(Collectors.toList()));
+        BooleanAssignmentList clauses = new BooleanAssignmentList(variableMap);
+        for (int i = 1; i < variableCount; i++) {
+            clauses.add(new BooleanClause(new int[] {-i, i + 1}));
+        }
+        ModalImplicationGraph mig = Computations.of(clauses).map(MIGBuilder::new).compute();
+
+        int[][] strongEdges = mig.getStrongEdges();
+        for (int i = 1; i <= variableCount; i++) {
+            assertEquals(
+                    IntStream.rangeClosed(i + 1, variableCount).boxed().collect(Collectors.toSet()),
+                    toSet(strongEdges[ModalImplicationGraph.getVertexIndex(i)]));
+            assertEquals(
+                    IntStream.range(1, i).map(j -> -j).boxed().collect(Collectors.toSet()),
+                    toSet(strongEdges[ModalImplicationGraph.getVertexIndex(-i)]));
+        }
+    }
+
+    @Test
+    public void weakClauseIndicesIncludeFirstClause() {
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C", "D", "E")),
+                new BooleanClause(new int[] {1, 2, 3}),
+                new BooleanClause(new int[] {1, 4, 5}));
+        ModalImplicationGraph mig = Computations.of(clauses).map(MIGBuilder::new).compute();
+
+        int vertexIndex = ModalImplicationGraph.getVertexIndex(-1);
+        assertEquals(Set.of(0, 3), toSet(mig.getClauseIndices()[vertexIndex]));
+        assertEquals(Set.of(0, 1), toSet(mig.getClauseLengthIndices()[vertexIndex]));
+
+        IMIGVisitor visitor = new MIGVisitorByte(mig);
+        visitor.propagate(-1, -2);
+        assertEquals(Set.of(-1, -2, 3), getAddedLiterals(visitor));
+        visitor.reset();
+        visitor.propagate(-1, -4);
+        assertEquals(Set.of(-1, -4, 5), getAddedLiterals(visitor));
+    }
+
+    @Test
+    public void gplCondensedMIGPropagatesLikeClosure() {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        ModalImplicationGraph closure = clauses.map(MIGBuilder::new).compute();
+        ModalImplicationGraph condensed = clauses.map(MIGBuilder::new)
+                .set(MIGBuilder.CONDENSE_STRONG_EDGES, Boolean.TRUE)
+                .compute();
+
+        assertPropagatesEqually(closure, condensed, MIGVisitorByte::new);
+        assertPropagatesEqually(closure, condensed, MIGVisitorBitSet::new);
+        assertPropagatesEqually(closure, condensed, MIGVisitorBitPlane::new);
+    }
+
+    @Test
+    public void gplBitPlaneVisitorPropagatesLikeByteVisitor() {
+        ModalImplicationGraph mig = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .map(MIGBuilder::new)
+                .compute();
+        IMIGVisitor byteVisitor = new MIGVisitorByte(mig);
+        MIGVisitorBitPlane bitPlaneVisitor = new MIGVisitorBitPlane(mig);
+        for (int first = -mig.size(); first <= mig.size(); first++) {
+            if (first == 0 || byteVisitor.isContradiction(first)) {
+                continue;
+            }
+            byteVisitor.propagate(first);
+            bitPlaneVisitor.propagate(first);
+            int keep = bitPlaneVisitor.getAddedLiteralCount();
+            assertEquals(getAddedLiterals(byteVisitor), getAddedLiterals(bitPlaneVisitor));
+            MIGVisitorBitPlane copy = new MIGVisitorBitPlane(bitPlaneVisitor);
+            for (int second = 1; second <= mig.size(); second++) {
+                assertEquals(byteVisitor.isContradiction(second), bitPlaneVisitor.isContradiction(second));
+                assertEquals(byteVisitor.isContradiction(-second), copy.isContradiction(-second));
+                assertEquals(
+                        byteVisitor.countUndefined(new int[] {second}),
+                        bitPlaneVisitor.countUndefined(new int[] {-second}));
+            }
+            assertEquals(keep, bitPlaneVisitor.getAddedLiteralCount());
+            byteVisitor.reset();
+            bitPlaneVisitor.reset();
+        }
+    }
+
+    @Test
+    public void bitPlaneVisitorCountsSetLiteralsForWeakPropagation() {
+        BooleanAssignmentList clauses = new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C")), new BooleanClause(new int[] {1, 2, 3}));
+        ModalImplicationGraph mig = Computations.of(clauses).map(MIGBuilder::new).compute();
+
+        MIGVisitorBitPlane visitor = new MIGVisitorBitPlane(mig);
+        visitor.setLiterals(-1);
+        assertEquals(Set.of(-1), getAddedLiterals(visitor));
+        visitor.propagate(-2);
+        assertEquals(Set.of(-1, -2, 3), getAddedLiterals(visitor));
+
+        visitor.reset();
+        visitor.propagate(-2);
+        assertEquals(Set.of(-2), getAddedLiterals(visitor));
+        assertThrows(RuntimeContradictionException.class, () -> visitor.setLiterals(-1, -3));
+    }
+
+    @Test
+    public void gplBitPlaneVisitorCopiesShareClauseCounts() {
+        ModalImplicationGraph mig = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .map(MIGBuilder::new)
+                .compute();
+        MIGVisitorBitPlane core = new MIGVisitorBitPlane(mig);
+        IMIGVisitor byteVisitor = new MIGVisitorByte(mig);
+        for (int first = -mig.size(); first <= mig.size(); first++) {
+            if (first == 0 || byteVisitor.isContradiction(first)) {
+                continue;
+            }
+            byteVisitor.propagate(first);
+            MIGVisitorBitPlane copy = new MIGVisitorBitPlane(core);
+            copy.propagate(first);
+            copy.clearUndoTrail();
+            assertEquals(copy.getAddedLiteralCount(), copy.getPermanentLiteralCount());
+            if (copy.getAddedLiteralCount() > 0) {
+                assertThrows(IllegalStateException.class, copy::reset);
+            }
+            MIGVisitorBitPlane secondCopy = new MIGVisitorBitPlane(copy);
+            for (int second = 1; second <= mig.size(); second++) {
+                assertEquals(byteVisitor.isContradiction(second), copy.isContradiction(second));
+                assertEquals(byteVisitor.isContradiction(-second), secondCopy.isContradiction(-second));
+            }
+            assertEquals(getAddedLiterals(byteVisitor), getAddedLiterals(secondCopy));
+            byteVisitor.reset();
+        }
+        assertEquals(0, core.getAddedLiteralCount());
+        assertEquals(0, core.getClauseCountBlockCount());
+    }
+
+    @Test
+    public void gplMIGIsWrittenAndReadInBinaryFormat(@TempDir Path directory) throws IOException {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignmentList cnf = clauses.compute();
+        ModalImplicationGraph mig = clauses.map(MIGBuilder::new).compute();
+        Path migFile = directory.resolve("model.mig");
+        MIGBinaryIO.write(mig, cnf, migFile);
+
+        ModalImplicationGraph loadedMIG = MIGBinaryIO.read(migFile, cnf).orElseThrow();
+        assertEquals(mig.size(), loadedMIG.size());
+        assertArrayEquals(mig.getCore(), loadedMIG.getCore());
+        assertArrayEquals(mig.getStrongEdges(), loadedMIG.getStrongEdges());
+        assertArrayEquals(mig.getClauseIndices(), loadedMIG.getClauseIndices());
+        assertArrayEquals(mig.getClauses(), loadedMIG.getClauses());
+        assertArrayEquals(mig.getClauseLengthIndices(), loadedMIG.getClauseLengthIndices());
+        assertArrayEquals(mig.getClauseLengths(), loadedMIG.getClauseLengths());
+
+        BooleanAssignmentList otherCNF = new BooleanAssignmentList(cnf.getVariableMap());
+        assertTrue(MIGBinaryIO.read(migFile, otherCNF).isEmpty());
+    }
+
+    @Test
+    public void gplCondensedMIGIsWrittenAndReadInBinaryFormat(@TempDir Path directory) throws IOException {
+        IComputation<BooleanAssignmentList> clauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignmentList cnf = clauses.compute();
+        ModalImplicationGraph mig = clauses.map(MIGBuilder::new)
+                .set(MIGBuilder.CONDENSE_STRONG_EDGES, Boolean.TRUE)
+                .compute();
+        Path migFile = directory.resolve("model.mig");
+        MIGBinaryIO.write(mig, cnf, migFile);
+        MIGBinaryIO.write(mig, cnf, migFile);
+
+        ModalImplicationGraph loadedMIG = MIGBinaryIO.read(migFile, cnf).orElseThrow();
+        assertTrue(loadedMIG.isCondensed());
+        assertEquals(mig.size(), loadedMIG.size());
+        assertArrayEquals(mig.getCore(), loadedMIG.getCore());
+        assertArrayEquals(mig.getStrongComponents(), loadedMIG.getStrongComponents());
+        assertArrayEquals(mig.getComponentLiterals(), loadedMIG.getComponentLiterals());
+        assertArrayEquals(mig.getComponentEdges(), loadedMIG.getComponentEdges());
+        assertArrayEquals(mig.getClauseIndices(), loadedMIG.getClauseIndices());
+        assertArrayEquals(mig.getClauses(), loadedMIG.getClauses());
+        assertArrayEquals(mig.getClauseLengthIndices(), loadedMIG.getClauseLengthIndices());
+        assertArrayEquals(mig.getClauseLengths(), loadedMIG.getClauseLengths());
+        assertPropagatesEqually(mig, loadedMIG, MIGVisitorByte::new);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(migFile), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void corruptMIGFileIsRejected(@TempDir Path directory) throws IOException {
+        BooleanAssignmentList cnf = createChainCNF();
+        ModalImplicationGraph mig = Computations.of(cnf).map(MIGBuilder::new).compute();
+        Path migFile = directory.resolve("model.mig");
+        MIGBinaryIO.write(mig, cnf, migFile);
+
+        byte[] content = Files.readAllBytes(migFile);
+        Files.write(migFile, Arrays.copyOf(content, content.length - 1));
+        assertTrue(MIGBinaryIO.read(migFile, cnf).isEmpty());
+
+        content[24] = (byte) 0x7f;
+        Files.write(migFile, content);
+        assertTrue(MIGBinaryIO.read(migFile, cnf).isEmpty());
+    }
+
+    @Test
+    public void cachedMIGBuilderReadsWrittenGraph(@TempDir Path directory) throws IOException {
+        BooleanAssignmentList cnf = createChainCNF();
+        Path migFile = directory.resolve("model.mig");
+
+        ModalImplicationGraph builtMIG = new CachedMIGBuilder(Computations.of(cnf), migFile).compute();
+        assertTrue(Files.exists(migFile));
+        assertTrue(MIGBinaryIO.read(migFile, cnf).isPresent());
+
+        Files.setLastModifiedTime(migFile, FileTime.fromMillis(0));
+        ModalImplicationGraph cachedMIG = new CachedMIGBuilder(Computations.of(cnf), migFile).compute();
+        assertEquals(FileTime.fromMillis(0), Files.getLastModifiedTime(migFile));
+        assertArrayEquals(builtMIG.getStrongEdges(), cachedMIG.getStrongEdges());
+        assertArrayEquals(builtMIG.getClauses(), cachedMIG.getClauses());
+    }
+
+    @Test
+    public void cachedMIGBuilderRebuildsOutdatedGraph(@TempDir Path directory) throws IOException {
+        BooleanAssignmentList cnf = createChainCNF();
+        Path migFile = directory.resolve("model.mig");
+        new CachedMIGBuilder(Computations.of(cnf), migFile).compute();
+
+        BooleanAssignmentList changedCNF = createChainCNF();
+        changedCNF.add(new BooleanClause(new int[] {-3, 1}));
+        Files.setLastModifiedTime(migFile, FileTime.fromMillis(0));
+        ModalImplicationGraph changedMIG = new CachedMIGBuilder(Computations.of(changedCNF), migFile).compute();
+        assertTrue(Files.getLastModifiedTime(migFile).toMillis() > 0);
+        assertTrue(MIGBinaryIO.read(migFile, cnf).isEmpty());
+        assertArrayEquals(
+                changedMIG.getStrongEdges(),
+                MIGBinaryIO.read(migFile, changedCNF).orElseThrow().getStrongEdges());
+
+        Files.setLastModifiedTime(migFile, FileTime.fromMillis(0));
+        ModalImplicationGraph condensedMIG = new CachedMIGBuilder(Computations.of(changedCNF), migFile)
+                .set(CachedMIGBuilder.CONDENSE_STRONG_EDGES, Boolean.TRUE)
+                .compute();
+        assertTrue(condensedMIG.isCondensed());
+        assertTrue(Files.getLastModifiedTime(migFile).toMillis() > 0);
+        assertTrue(MIGBinaryIO.read(migFile, changedCNF).orElseThrow().isCondensed());
+    }
+
+    private static BooleanAssignmentList createChainCNF() {
+        return new BooleanAssignmentList(
+                new VariableMap(Arrays.asList("A", "B", "C", "D")),
+                new BooleanClause(new int[] {-1, 2}),
+                new BooleanClause(new int[] {-2, 3}),
+                new BooleanClause(new int[] {-3, 4, -1}));
+    }
+
+    private static void assertPropagatesEqually(
+            ModalImplicationGraph closure,
+            ModalImplicationGraph condensed,
+            Function<ModalImplicationGraph, IMIGVisitor> visitorFactory) {
+        IMIGVisitor closureVisitor = visitorFactory.apply(closure);
+        IMIGVisitor condensedVisitor = visitorFactory.apply(condensed);
+        for (int variable = 1; variable <= closure.size(); variable++) {
+            for (int literal : new int[] {variable, -variable}) {
+                assertEquals(propagate(closureVisitor, literal), propagate(condensedVisitor, literal));
+            }
+        }
+    }
+
+    private static Set<Integer> propagate(IMIGVisitor visitor, int literal) {
+        try {
+            visitor.propagate(literal);
+            return getAddedLiterals(visitor);
+        } catch (RuntimeContradictionException e) {
+            return null;
+        } finally {
+            visitor.reset();
+        }
+    }
+
+    private static Set<Integer> getAddedLiterals(IMIGVisitor visitor) {
+        return Arrays.stream(visitor.getAddedLiterals(), 0, visitor.getAddedLiteralCount())
+                .boxed()
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<Integer> toSet(int[] values) {
+        return Arrays.stream(values).boxed().collect(Collectors.toSet());
+    }
+}
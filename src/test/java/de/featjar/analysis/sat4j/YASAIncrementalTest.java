@@ -24,6 +24,7 @@ import static de.featjar.base.computation.Computations.async;
 import static de.featjar.formula.structure.Expressions.literal;
 import static de.featjar.formula.structure.Expressions.or;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import de.featjar.Common;
 import de.featjar.analysis.sat4j.computation.ComputeConstraintedTWiseCoverage;
@@ -34,6 +35,7 @@ import de.featjar.base.FeatJAR;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.IComputation;
 import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
 import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
@@ -42,6 +44,9 @@ import de.featjar.formula.computation.ComputeNNFFormula;
 import de.featjar.formula.computation.ComputeRelativeTWiseCoverage;
 import de.featjar.formula.structure.IFormula;
 import java.time.Duration;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -123,6 +128,63 @@ public class YASAIncrementalTest extends Common {
         testConfigurationLimit(loadFormula("GPL/model.xml"), 100, 48);
     }
 
+    @Test
+    void gplHas2WiseCoverageWithParallelSolvers() {
+        IComputation<BooleanAssignmentList> clauses = getClauses(loadFormula("GPL/model.xml"));
+        BooleanAssignmentList sample1 = computeParallelSample(2, 4, clauses);
+        BooleanAssignmentList sample2 = computeParallelSample(2, 4, clauses);
+
+        assertEquals(1.0, computeCoverageNew(2, clauses, sample1).coverage());
+        assertEquals(
+                sample1.stream().collect(Collectors.toList()),
+                sample2.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    void gplSamplesWithAndWithoutWeakPropagationAreComparable() {
+        IComputation<BooleanAssignmentList> clauses = getClauses(loadFormula("GPL/model.xml"));
+        BooleanAssignmentList weakSample = computeSample(3, clauses, true);
+        BooleanAssignmentList strongSample = computeSample(3, clauses, false);
+
+        assertEquals(1.0, computeCoverageNew(3, clauses, weakSample).coverage());
+        assertEquals(1.0, computeCoverageNew(3, clauses, strongSample).coverage());
+        assertValid(clauses.compute(), weakSample);
+        assertValid(clauses.compute(), strongSample);
+        assertTrue(Math.abs(weakSample.size() - strongSample.size()) <= Math.max(2, strongSample.size() / 10));
+    }
+
+    private BooleanAssignmentList computeSample(
+            int t, IComputation<BooleanAssignmentList> clauses, boolean weakPropagation) {
+        return clauses.map(YASA::new)
+                .set(
+                        YASA.COMBINATION_SET,
+                        clauses.map(VariableCombinationSpecificationComputation::new)
+                                .set(VariableCombinationSpecificationComputation.T, t))
+                .set(YASA.WEAK_PROPAGATION, weakPropagation)
+                .compute();
+    }
+
+    private void assertValid(BooleanAssignmentList clauseList, BooleanAssignmentList sample) {
+        for (BooleanAssignment configuration : sample) {
+            Set<Integer> literals = IntStream.of(configuration.get()).boxed().collect(Collectors.toSet());
+            for (BooleanAssignment clause : clauseList) {
+                assertTrue(IntStream.of(clause.get()).anyMatch(literals::contains), clause::toString);
+            }
+        }
+    }
+
+    private BooleanAssignmentList computeParallelSample(
+            int t, int threads, IComputation<BooleanAssignmentList> clauses) {
+        return clauses.map(YASA::new)
+                .set(
+                        YASA.COMBINATION_SET,
+                        clauses.map(VariableCombinationSpecificationComputation::new)
+                                .set(VariableCombinationSpecificationComputation.T, t))
+                .set(YASA.ITERATIONS, 2)
+                .set(YASA.THREADS, threads)
+                .compute();
+    }
+
     private void testTimeout(IFormula formula, int timeoutSeconds) {
         IComputation<BooleanAssignmentList> clauses = getClauses(formula);
         BooleanAssignmentList sample = clauses.map(YASA::new)
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.slice;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import de.featjar.Common;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class BoundedVariableEliminationTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void variableIsPostponedIfResolventsExceedBound() {
+        BooleanAssignmentList cnf = createCNF(
+                new int[] {1, 2}, new int[] {1, 3}, new int[] {1, 4}, //
+                new int[] {-1, 5}, new int[] {-1, 6}, new int[] {-1, 7});
+
+        BoundedVariableElimination postponed = eliminate(cnf, 0, 1);
+        assertEquals(0, postponed.getEliminatedCount());
+        assertArrayEquals(new int[] {1}, postponed.getRemainingVariables().get());
+        assertEquals(CNFSlicerTest.toSet(cnf), CNFSlicerTest.toSet(postponed.getClauses()));
+
+        BoundedVariableElimination eliminated = eliminate(cnf, 3, 1);
+        assertEquals(1, eliminated.getEliminatedCount());
+        assertEquals(0, eliminated.getRemainingVariables().size());
+        assertEquals(
+                Set.of(
+                        "[2, 5]", "[2, 6]", "[2, 7]", //
+                        "[3, 5]", "[3, 6]", "[3, 7]", //
+                        "[4, 5]", "[4, 6]", "[4, 7]"),
+                CNFSlicerTest.toSet(eliminated.getClauses()));
+    }
+
+    @Test
+    void tautologicalResolventsAreNotCounted() {
+        BooleanAssignmentList cnf = createCNF(
+                new int[] {1, 2}, new int[] {1, 3}, new int[] {1, 4}, //
+                new int[] {-1, -2}, new int[] {-1, -3}, new int[] {-1, -4});
+
+        BoundedVariableElimination elimination = eliminate(cnf, 0, 1);
+        assertEquals(1, elimination.getEliminatedCount());
+        assertEquals(
+                Set.of("[-3, 2]", "[-4, 2]", "[-2, 3]", "[-4, 3]", "[-2, 4]", "[-3, 4]"),
+                CNFSlicerTest.toSet(elimination.getClauses()));
+    }
+
+    @Test
+    void subsumedClausesAreRemoved() {
+        BooleanAssignmentList cnf =
+                createCNF(new int[] {1, 2}, new int[] {1, 2, 3}, new int[] {2, 1, 4}, new int[] {3, 4});
+
+        BoundedVariableElimination elimination = eliminate(cnf, 0);
+        assertEquals(Set.of("[1, 2]", "[3, 4]"), CNFSlicerTest.toSet(elimination.getClauses()));
+    }
+
+    @Test
+    void clausesAreStrengthenedBySelfSubsumingResolution() {
+        BooleanAssignmentList cnf = createCNF(new int[] {1, 2}, new int[] {-1, 2, 3}, new int[] {4, -3});
+
+        BoundedVariableElimination elimination = eliminate(cnf, 0);
+        assertEquals(Set.of("[1, 2]", "[2, 3]", "[-3, 4]"), CNFSlicerTest.toSet(elimination.getClauses()));
+    }
+
+    @Test
+    void postponedVariablesAreEliminatedBySlicer() {
+        BooleanAssignmentList cnf = createCNF(
+                new int[] {1, 2}, new int[] {1, 3}, new int[] {1, 4}, //
+                new int[] {-1, 5}, new int[] {-1, 6}, new int[] {-1, 7}, //
+                new int[] {8, 2}, new int[] {-8, 5});
+        BooleanAssignment removed = new BooleanAssignment(new int[] {1, 8});
+
+        BooleanAssignmentList sliced = new CNFSlicer(Computations.of(cnf))
+                .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                .compute();
+        BooleanAssignmentList bveSliced = new CNFSlicer(Computations.of(cnf))
+                .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                .set(CNFSlicer.BOUNDED_ELIMINATION, Boolean.TRUE)
+                .compute();
+
+        assertContainsNone(bveSliced, removed);
+        CNFSlicerTest.assertEquivalent(sliced, bveSliced);
+    }
+
+    @Test
+    void gplProjectionEqualsSlicerProjection() {
+        BooleanAssignmentList cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        for (int divisor = 2; divisor <= 4; divisor++) {
+            final int d = divisor;
+            BooleanAssignment removed = new BooleanAssignment(IntStream.rangeClosed(1, cnf.getVariableMap().size())
+                    .filter(v -> v % d == 0)
+                    .toArray());
+            BooleanAssignmentList sliced = new CNFSlicer(Computations.of(cnf))
+                    .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                    .compute();
+            for (int limit : new int[] {0, 16}) {
+                BooleanAssignmentList bveSliced = new CNFSlicer(Computations.of(cnf))
+                        .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                        .set(CNFSlicer.BOUNDED_ELIMINATION, Boolean.TRUE)
+                        .set(CNFSlicer.ELIMINATION_LIMIT, limit)
+                        .compute();
+                assertContainsNone(bveSliced, removed);
+                CNFSlicerTest.assertEquivalent(sliced, bveSliced);
+            }
+        }
+    }
+
+    private static BoundedVariableElimination eliminate(BooleanAssignmentList cnf, int limit, int... variables) {
+        BoundedVariableElimination elimination =
+                new BoundedVariableElimination(cnf, new BooleanAssignment(variables), limit);
+        elimination.eliminate();
+        return elimination;
+    }
+
+    private static BooleanAssignmentList createCNF(int[]... clauses) {
+        int variableCount = Arrays.stream(clauses)
+                .flatMapToInt(Arrays::stream)
+                .map(Math::abs)
+                .max()
+                .orElse(0);
+        VariableMap variableMap = new VariableMap(IntStream.rangeClosed(1, variableCount)
+                .mapToObj(i -> "x" + i)
+                .collect(Collectors.toList()));
+        BooleanAssignmentList cnf = new BooleanAssignmentList(variableMap);
+        for (int[] clause : clauses) {
+            cnf.add(new BooleanClause(clause));
+        }
+        return cnf;
+    }
+
+    private static void assertContainsNone(BooleanAssignmentList cnf, BooleanAssignment variables) {
+        Set<Integer> removed = IntStream.of(variables.get()).map(Math::abs).boxed().collect(Collectors.toSet());
+        for (BooleanAssignment clause : cnf) {
+            for (int l : clause.get()) {
+                assertFalse(removed.contains(Math.abs(l)), clause::toString);
+            }
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.slice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.conversion.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class CNFSlicerTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    void gplSolutionCacheAnswersRedundancyChecks() {
+        BooleanAssignmentList cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        BooleanAssignment removed = new BooleanAssignment(IntStream.rangeClosed(1, cnf.getVariableMap().size())
+                .filter(v -> v % 3 == 0)
+                .toArray());
+
+        CNFSlicer slicer = new CNFSlicer(Computations.of(cnf));
+        slicer.set(CNFSlicer.VARIABLES_TO_REMOVE, removed);
+        BooleanAssignmentList sliced = slicer.compute();
+
+        CNFSlicer cachedSlicer = new CNFSlicer(Computations.of(cnf));
+        cachedSlicer.set(CNFSlicer.VARIABLES_TO_REMOVE, removed);
+        cachedSlicer.set(CNFSlicer.SOLUTION_CACHE_CAPACITY, 16);
+        BooleanAssignmentList cachedSliced = cachedSlicer.compute();
+
+        assertEquals(0, slicer.getSolutionCacheHitCount());
+        assertTrue(cachedSlicer.getSolutionCacheHitCount() > 0);
+        assertEquals(toSet(sliced), toSet(cachedSliced));
+    }
+
+    @Test
+    void gplProjectionIsEquivalentForAllEliminationCosts() {
+        BooleanAssignmentList cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        BooleanAssignment removed = new BooleanAssignment(IntStream.rangeClosed(1, cnf.getVariableMap().size())
+                .filter(v -> v % 2 == 0)
+                .toArray());
+
+        BooleanAssignmentList sliced = new CNFSlicer(Computations.of(cnf))
+                .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                .compute();
+        for (IEliminationCost cost : IEliminationCost.Default.values()) {
+            BooleanAssignmentList costSliced = new CNFSlicer(Computations.of(cnf))
+                    .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                    .set(CNFSlicer.ELIMINATION_COST, cost)
+                    .compute();
+            assertEquivalent(sliced, costSliced);
+        }
+    }
+
+    @Test
+    void gplIncrementalRedundancyCheckEqualsFreshSolvers() {
+        BooleanAssignmentList cnf = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        for (int divisor = 2; divisor <= 5; divisor++) {
+            final int d = divisor;
+            BooleanAssignment removed = new BooleanAssignment(IntStream.rangeClosed(1, cnf.getVariableMap().size())
+                    .filter(v -> v % d == 0)
+                    .toArray());
+            BooleanAssignmentList incremental = new CNFSlicer(Computations.of(cnf))
+                    .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                    .compute();
+            BooleanAssignmentList fresh = new FreshSolverCNFSlicer(Computations.of(cnf))
+                    .set(CNFSlicer.VARIABLES_TO_REMOVE, removed)
+                    .compute();
+            assertEquals(toSet(fresh), toSet(incremental));
+        }
+    }
+
+    /**
+     * Checks redundancy with a new solver for each eliminated variable, as the
+     * slicer did before it kept a single incremental solver.
+     */
+    private static class FreshSolverCNFSlicer extends CNFSlicer {
+
+        FreshSolverCNFSlicer(IComputation<BooleanAssignmentList> clauseList) {
+            super(clauseList);
+        }
+
+        @Override
+        protected void detectRedundancy(DirtyFeature nextFeature) {
+            if (nextFeature.getClauseCount() > 0) {
+                addCleanClauses();
+
+                final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnfCopy);
+                solver.getClauseList().addAll(cleanLiteralListIndexList);
+                solver.getClauseList().addAll(dirtyClauseList.subList(0, dirtyListPosIndex));
+
+                newDirtyClauseList.subList(0, newDirtyListDelIndex).sort(lengthComparator);
+                for (int i = newDirtyListDelIndex - 1; i >= 0; --i) {
+                    final DirtyClause curClause = newDirtyClauseList.get(i);
+                    if (isRedundant(solver, curClause)) {
+                        Collections.swap(newDirtyClauseList, i, --newDirtyListDelIndex);
+                    } else {
+                        solver.getClauseList().add(curClause);
+                    }
+                }
+            }
+        }
+
+        @Override
+        protected void firstRedundancyCheck(DirtyFeature nextFeature) {
+            if (first && (nextFeature.getClauseCount() > 0)) {
+                first = false;
+                Collections.sort(dirtyClauseList.subList(0, dirtyListPosIndex), lengthComparator);
+
+                addCleanClauses();
+
+                final SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnfCopy);
+                solver.getClauseList().addAll(cleanLiteralListIndexList);
+
+                for (int i = dirtyListPosIndex - 1; i >= 0; --i) {
+                    final DirtyClause mainClause = dirtyClauseList.get(i);
+                    if (isRedundant(solver, mainClause)) {
+                        Collections.swap(dirtyClauseList, i, --dirtyListPosIndex);
+                    } else {
+                        solver.getClauseList().add(mainClause);
+                    }
+                }
+                deleteOldDirtyClauses();
+
+                dirtyListPosIndex = dirtyClauseList.size();
+                dirtyListNegIndex = dirtyClauseList.size();
+            }
+        }
+    }
+
+    /**
+     * Asserts that two CNFs over the same variable map have the same models, by
+     * checking that each clause of one CNF is implied by the other.
+     */
+    static void assertEquivalent(BooleanAssignmentList cnf1, BooleanAssignmentList cnf2) {
+        assertImplies(cnf1, cnf2);
+        assertImplies(cnf2, cnf1);
+    }
+
+    private static void assertImplies(BooleanAssignmentList cnf, BooleanAssignmentList clauses) {
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(cnf, false);
+        for (BooleanAssignment clause : clauses) {
+            int[] negatedClause = IntStream.of(clause.get()).map(l -> -l).toArray();
+            assertEquals(Boolean.FALSE, solver.hasSolution(negatedClause).get(), clause::toString);
+        }
+    }
+
+    static Set<String> toSet(BooleanAssignmentList clauses) {
+        return clauses.stream()
+                .map(clause -> Arrays.toString(Arrays.stream(clause.get()).sorted().toArray()))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.slice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class MinimumClauseHeuristicTest {
+
+    private static final int FEATURE_COUNT = 200;
+
+    @Test
+    void featuresArePoppedInOrderOfCostAndId() {
+        for (IEliminationCost cost : IEliminationCost.Default.values()) {
+            Random random = new Random(0);
+            DirtyFeature[] map = createFeatures(random);
+            List<DirtyFeature> expected = new ArrayList<>();
+            for (int i = 1; i < map.length; i++) {
+                if (map[i] != null) {
+                    expected.add(map[i]);
+                }
+            }
+            expected.sort(Comparator.<DirtyFeature>comparingLong(cost::getCost).thenComparingInt(DirtyFeature::getId));
+
+            MinimumClauseHeuristic heuristic = new MinimumClauseHeuristic(map, expected.size(), cost);
+            for (DirtyFeature feature : expected) {
+                assertEquals(feature, heuristic.next());
+            }
+            assertFalse(heuristic.hasNext());
+            assertNull(heuristic.next());
+        }
+    }
+
+    @Test
+    void changedFeaturesAreReordered() {
+        for (IEliminationCost cost : IEliminationCost.Default.values()) {
+            Random random = new Random(1);
+            DirtyFeature[] map = createFeatures(random);
+            List<DirtyFeature> remaining = new ArrayList<>();
+            for (int i = 1; i < map.length; i++) {
+                if (map[i] != null) {
+                    remaining.add(map[i]);
+                }
+            }
+            MinimumClauseHeuristic heuristic = new MinimumClauseHeuristic(map, remaining.size(), cost);
+            while (!remaining.isEmpty()) {
+                for (int i = 0; i < 5; i++) {
+                    change(remaining.get(random.nextInt(remaining.size())), random);
+                }
+                DirtyFeature minimum = remaining.stream()
+                        .min(Comparator.<DirtyFeature>comparingLong(cost::getCost)
+                                .thenComparingInt(DirtyFeature::getId))
+                        .get();
+                DirtyFeature next = heuristic.next();
+                assertEquals(minimum, next);
+                assertNull(map[next.getId()]);
+                remaining.remove(next);
+                assertEquals(remaining.size(), heuristic.size());
+            }
+            assertFalse(heuristic.hasNext());
+        }
+    }
+
+    private static DirtyFeature[] createFeatures(Random random) {
+        DirtyFeature[] map = new DirtyFeature[FEATURE_COUNT + 1];
+        for (int i = 1; i <= FEATURE_COUNT; i++) {
+            if (random.nextInt(4) != 0) {
+                DirtyFeature feature = new DirtyFeature(i);
+                for (int j = random.nextInt(6); j > 0; j--) {
+                    feature.incPositive();
+                }
+                for (int j = random.nextInt(6); j > 0; j--) {
+                    feature.incNegative();
+                }
+                for (int j = random.nextInt(6); j > 0; j--) {
+                    feature.incMixed();
+                }
+                map[i] = feature;
+            }
+        }
+        return map;
+    }
+
+    private static void change(DirtyFeature feature, Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                feature.incPositive();
+                break;
+            case 1:
+                feature.incNegative();
+                break;
+            case 2:
+                feature.incMixed();
+                break;
+            case 3:
+                if (feature.getPositiveCount() > 0) {
+                    feature.decPositive();
+                }
+                break;
+            case 4:
+                if (feature.getNegativeCount() > 0) {
+                    feature.decNegative();
+                }
+                break;
+            default:
+                if (feature.getMixedCount() > 0) {
+                    feature.decMixed();
+                }
+                break;
+        }
+    }
+}
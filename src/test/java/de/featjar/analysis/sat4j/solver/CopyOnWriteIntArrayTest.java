@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class CopyOnWriteIntArrayTest {
+
+    private static final int SIZE = 5000;
+
+    @Test
+    void modificationsAreNotVisibleInCopies() {
+        int[] base = IntStream.range(0, SIZE).toArray();
+        CopyOnWriteIntArray array = new CopyOnWriteIntArray(base);
+        array.add(0, 10);
+        array.add(3000, 10);
+        assertEquals(2, array.getModifiedChunkCount());
+
+        CopyOnWriteIntArray copy = new CopyOnWriteIntArray(array);
+        assertEquals(2, array.getModifiedChunkCount());
+        assertEquals(10, copy.get(0));
+
+        array.add(0, 1);
+        copy.add(3000, 1);
+        assertEquals(11, array.get(0));
+        assertEquals(3010, array.get(3000));
+        assertEquals(10, copy.get(0));
+        assertEquals(3011, copy.get(3000));
+
+        array.clear();
+        assertEquals(0, array.get(0));
+        assertEquals(10, copy.get(0));
+        assertEquals(0, base[0]);
+        assertEquals(3000, base[3000]);
+    }
+
+    @Test
+    void concurrentCopiesSeeSameContent() {
+        CopyOnWriteIntArray array = new CopyOnWriteIntArray(new int[SIZE]);
+        for (int i = 0; i < SIZE; i += 7) {
+            array.add(i, i);
+        }
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int delta = t + 1;
+            tasks.add(() -> {
+                for (int k = 0; k < 50; k++) {
+                    CopyOnWriteIntArray copy = new CopyOnWriteIntArray(array);
+                    for (int i = 0; i < SIZE; i += 7) {
+                        assertEquals(i + delta, copy.add(i, delta));
+                    }
+                }
+                return null;
+            });
+        }
+        try (ParallelTasks parallelTasks = new ParallelTasks(4)) {
+            parallelTasks.run(tasks, () -> {}).orElseThrow();
+        }
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(i % 7 == 0 ? i : 0, array.get(i));
+        }
+    }
+}
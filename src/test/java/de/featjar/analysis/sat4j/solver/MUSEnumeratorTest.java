@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class MUSEnumeratorTest {
+
+    private static BooleanAssignmentList createClauses() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C"));
+        return new BooleanAssignmentList(
+                variableMap,
+                new BooleanClause(new int[] {1}),
+                new BooleanClause(new int[] {-1}),
+                new BooleanClause(new int[] {2}),
+                new BooleanClause(new int[] {-2, 3}),
+                new BooleanClause(new int[] {-3}));
+    }
+
+    @Test
+    void allMinimalSubsetsAreEnumerated() {
+        for (int threads = 1; threads <= 3; threads++) {
+            MUSEnumerator enumerator = new MUSEnumerator(createClauses());
+            enumerator.setThreadCount(threads);
+            List<List<BooleanAssignment>> muses = Collections.synchronizedList(new ArrayList<>());
+            List<List<BooleanAssignment>> mcses = Collections.synchronizedList(new ArrayList<>());
+            Result<Boolean> result = enumerator.enumerate(muses::add, mcses::add);
+
+            assertTrue(result.valueEquals(Boolean.TRUE));
+            assertEquals(Set.of("[[1], [-1]]", "[[2], [-2, 3], [-3]]"), toStrings(muses));
+            assertEquals(6, mcses.size());
+        }
+    }
+
+    @Test
+    void enumerationStopsAtLimit() {
+        MUSEnumerator enumerator = new MUSEnumerator(createClauses());
+        enumerator.setLimit(1);
+        List<List<BooleanAssignment>> muses = new ArrayList<>();
+        Result<Boolean> result = enumerator.enumerate(muses::add, mcs -> {});
+
+        assertTrue(result.valueEquals(Boolean.FALSE));
+        assertEquals(1, muses.size());
+    }
+
+    @Test
+    void repeatedEnumerationFindsSameSubsets() {
+        MUSEnumerator enumerator = new MUSEnumerator(createClauses());
+        enumerator.setThreadCount(2);
+        for (int i = 0; i < 3; i++) {
+            List<List<BooleanAssignment>> muses = Collections.synchronizedList(new ArrayList<>());
+            Result<Boolean> result = enumerator.enumerate(muses::add, mcs -> {});
+
+            assertTrue(result.valueEquals(Boolean.TRUE));
+            assertEquals(Set.of("[[1], [-1]]", "[[2], [-2, 3], [-3]]"), toStrings(muses));
+        }
+    }
+
+    @Test
+    void explanationSolverReturnsSingleSubsetByDefault() {
+        SAT4JExplanationSolver solver = new SAT4JExplanationSolver(createClauses());
+        List<List<BooleanAssignment>> subsets = solver.getAllMinimalUnsatisfiableSubsets().orElseThrow();
+        assertEquals(1, subsets.size());
+
+        List<List<BooleanAssignment>> muses = new ArrayList<>();
+        Result<Boolean> result = solver.getAllMinimalUnsatisfiableSubsets(1, 1, muses::add);
+        assertTrue(result.valueEquals(Boolean.FALSE));
+        assertEquals(1, muses.size());
+    }
+
+    @Test
+    void assumptionsAreNotPartOfSubsets() {
+        MUSEnumerator enumerator = new MUSEnumerator(createClauses(), -2);
+        List<List<BooleanAssignment>> muses = new ArrayList<>();
+        enumerator.enumerate(muses::add, mcs -> {});
+
+        assertEquals(Set.of("[[1], [-1]]", "[[2]]"), toStrings(muses));
+    }
+
+    private static Set<String> toStrings(List<List<BooleanAssignment>> subsets) {
+        return subsets.stream()
+                .map(subset -> subset.stream()
+                        .map(clause -> Arrays.toString(clause.get()))
+                        .collect(Collectors.toList())
+                        .toString())
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class ParallelTasksTest {
+
+    @Test
+    void resultsAreReturnedInOrderOfTasks() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            tasks.add(() -> {
+                Thread.sleep(20 - value);
+                return value;
+            });
+        }
+        AtomicInteger pollCount = new AtomicInteger();
+        try (ParallelTasks parallelTasks = new ParallelTasks(4)) {
+            List<Integer> results = parallelTasks.run(tasks, pollCount::incrementAndGet).orElseThrow();
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i, results.get(i));
+            }
+            assertFalse(parallelTasks.isStopped());
+        }
+        assertTrue(pollCount.get() > 0);
+    }
+
+    @Test
+    void failingTaskStopsOtherTasks() {
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicBoolean otherTaskStopped = new AtomicBoolean();
+        List<Callable<Void>> tasks = List.of(
+                () -> {
+                    throw new IllegalStateException();
+                },
+                () -> {
+                    while (!stopped.get()) {
+                        Thread.sleep(1);
+                    }
+                    otherTaskStopped.set(true);
+                    return null;
+                });
+        try (ParallelTasks parallelTasks = new ParallelTasks(2, stopped)) {
+            assertThrows(IllegalStateException.class, () -> parallelTasks.run(tasks, () -> {}));
+            assertTrue(parallelTasks.isStopped());
+        }
+        assertTrue(otherTaskStopped.get());
+    }
+
+    @Test
+    void failingPollStopsTasks() {
+        AtomicBoolean stopped = new AtomicBoolean();
+        List<Callable<Void>> tasks = List.of(() -> {
+            while (!stopped.get()) {
+                Thread.sleep(1);
+            }
+            return null;
+        });
+        try (ParallelTasks parallelTasks = new ParallelTasks(1, stopped)) {
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> parallelTasks.run(tasks, () -> {
+                        throw new UnsupportedOperationException();
+                    }));
+        }
+        assertTrue(stopped.get());
+    }
+}
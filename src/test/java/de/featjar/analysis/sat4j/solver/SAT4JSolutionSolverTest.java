@@ -21,13 +21,21 @@
 package de.featjar.analysis.sat4j.solver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import de.featjar.analysis.sat4j.computation.ASAT4JAnalysis;
+import de.featjar.analysis.sat4j.computation.ComputeSatisfiableSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionSAT4J;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.data.Problem;
 import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
 import de.featjar.formula.assignment.BooleanSolution;
 import java.util.Arrays;
 import org.junit.jupiter.api.Test;
@@ -56,4 +64,124 @@ public class SAT4JSolutionSolverTest {
         BooleanSolution negativeAssignment = new BooleanSolution(new int[] {1, 2, -3});
         assertEquals(negativeAssignment, negativeSolution.get());
     }
+
+    @Test
+    void cachedSolverIsResetAndReused() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B"));
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(
+                variableMap, variableMap.getVariables(Arrays.asList("A", "B")).toClause());
+        SAT4JSolverCache cache = new SAT4JSolverCache(1);
+
+        SAT4JSolver solver = cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        solver.getAssignment().add(-1);
+        solver.getAssignment().add(-2);
+        assertEquals(Boolean.FALSE, solver.hasSolution().get());
+        assertTrue(cache.giveBack(solver));
+
+        SAT4JSolver cachedSolver =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        assertSame(solver, cachedSolver);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cachedSolver.getAssignment().size());
+        assertEquals(Boolean.TRUE, cachedSolver.hasSolution().get());
+    }
+
+    @Test
+    void modifiedSolverIsNotCached() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B"));
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(
+                variableMap, variableMap.getVariables(Arrays.asList("A", "B")).toClause());
+        SAT4JSolverCache cache = new SAT4JSolverCache(2);
+
+        SAT4JSolver solverWithClause =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        solverWithClause.getClauseList().add(-1);
+        assertFalse(solverWithClause.isReusable());
+        assertFalse(cache.giveBack(solverWithClause));
+
+        SAT4JSolver solverWithCardinality =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        solverWithCardinality.addAtMost(1, 1, 2);
+        assertFalse(cache.giveBack(solverWithCardinality));
+
+        SAT4JSolver simplifyingSolver =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, true));
+        assertFalse(cache.giveBack(simplifyingSolver));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void solversOfModifiedClauseListAreEvicted() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B"));
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(
+                variableMap, variableMap.getVariables(Arrays.asList("A", "B")).toClause());
+        SAT4JSolverCache cache = new SAT4JSolverCache(2);
+
+        SAT4JSolver solver = cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        SAT4JSolver lentSolver =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        assertTrue(cache.giveBack(solver));
+        assertEquals(1, cache.size());
+
+        clauseList.add(new BooleanClause(new int[] {-1}));
+        assertFalse(cache.giveBack(lentSolver));
+
+        SAT4JSolver newSolver =
+                cache.lend(clauseList, SAT4JSolutionSolver.class, c -> new SAT4JSolutionSolver(c, false));
+        assertNotSame(solver, newSolver);
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.size());
+        newSolver.getAssignment().add(-2);
+        assertEquals(Boolean.FALSE, newSolver.hasSolution().get());
+    }
+
+    @Test
+    void analysesShareSolversOfTheirCache() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B"));
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(
+                variableMap, variableMap.getVariables(Arrays.asList("A", "B")).toClause());
+        SAT4JSolverCache cache = new SAT4JSolverCache(1);
+
+        assertEquals(Boolean.TRUE, Computations.of(clauseList)
+                .map(ComputeSatisfiableSAT4J::new)
+                .set(ASAT4JAnalysis.SOLVER_CACHE, cache)
+                .compute());
+        assertEquals(1, cache.size());
+        assertTrue(Computations.of(clauseList)
+                .map(ComputeSolutionSAT4J::new)
+                .set(ASAT4JAnalysis.SOLVER_CACHE, cache)
+                .computeResult()
+                .isPresent());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(Boolean.TRUE, Computations.of(clauseList).map(ComputeSatisfiableSAT4J::new).compute());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void solutionCacheAnswersSatisfiedAssumptions() {
+        VariableMap variableMap = new VariableMap(Arrays.asList("A", "B", "C"));
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(
+                new BooleanAssignmentList(
+                        variableMap, variableMap.getVariables(Arrays.asList("A", "B")).toClause()),
+                false);
+        solver.setSelectionStrategy(ISelectionStrategy.positive());
+        solver.setSolutionCacheCapacity(4);
+        SolutionCache cache = solver.getSolutionCache();
+
+        assertEquals(Boolean.TRUE, solver.hasSolution().get());
+        assertEquals(Boolean.TRUE, solver.hasSolution(1, 3).get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(new BooleanSolution(new int[] {1, 2, 3}), solver.getSolution());
+
+        assertEquals(Boolean.TRUE, solver.hasSolution(-3).get());
+        assertEquals(new BooleanSolution(new int[] {1, 2, -3}), solver.getSolution());
+        assertEquals(Boolean.TRUE, solver.hasSolution(2, -3).get());
+        assertEquals(2, cache.getHitCount());
+
+        solver.getClauseList().add(-1);
+        assertEquals(Boolean.TRUE, solver.hasSolution(2).get());
+        assertEquals(-1, solver.getSolution().get()[0]);
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
 }
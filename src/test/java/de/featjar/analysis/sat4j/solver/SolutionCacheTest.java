@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SolutionCacheTest {
+
+    @Test
+    void cacheEvictsOldestSolution() {
+        SolutionCache cache = new SolutionCache(3, 2);
+        cache.add(new int[] {1, 2, 3});
+        cache.add(new int[] {-1, 2, 3});
+        assertTrue(cache.isSatisfied(1, 3));
+        assertTrue(cache.isSatisfied(-1, 2));
+        assertFalse(cache.isSatisfied(-2));
+
+        cache.add(new int[] {-1, -2, -3});
+        assertFalse(cache.isSatisfied(1));
+        assertTrue(cache.isSatisfied(-2, -3));
+
+        List<BooleanSolution> solutions = cache.getSolutionHistory();
+        assertEquals(2, solutions.size());
+        assertEquals(new BooleanSolution(new int[] {-1, -2, -3}), solutions.get(0));
+        assertEquals(new BooleanSolution(new int[] {-1, 2, 3}), solutions.get(1));
+        assertEquals(solutions.get(0), cache.getLastSolution().get());
+
+        cache.clear();
+        assertFalse(cache.isSatisfied(-1));
+        assertTrue(cache.getLastSolution().isEmpty());
+    }
+
+    @Test
+    void violatingSolutionsAreRemoved() {
+        SolutionCache cache = new SolutionCache(2, 4);
+        cache.add(new int[] {1, 2});
+        cache.add(new int[] {-1, 2});
+        cache.removeViolating(new int[] {-1, -2});
+        assertEquals(1, cache.size());
+        assertEquals(List.of(new BooleanSolution(new int[] {-1, 2})), cache.getSolutionHistory());
+    }
+
+    @Test
+    void literalsOutOfRangeAreNeverSatisfied() {
+        SolutionCache cache = new SolutionCache(2, 2);
+        cache.add(new int[] {1, 2});
+        assertNull(cache.find(new int[] {1, 3}, 2));
+        assertFalse(cache.isSatisfied(-3));
+        assertThrows(IllegalArgumentException.class, () -> cache.isSatisfied(1, 0));
+        assertEquals(1, cache.getMissCount());
+    }
+}